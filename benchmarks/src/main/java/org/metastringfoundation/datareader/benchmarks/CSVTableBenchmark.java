@@ -0,0 +1,72 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.benchmarks;
+
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.table.CellVisitor;
+import org.metastringfoundation.datareader.dataset.table.TableCell;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Parsing a CSV and reading cells back out of it
+ */
+public class CSVTableBenchmark extends TableShape {
+    private String csv;
+    private CSVTable table;
+    private TableRangeReference valueRange;
+
+    @Setup
+    public void setUp() throws IOException, DatasetIntegrityError {
+        csv = SyntheticTables.csv(width, height);
+        table = new CSVTable(csv);
+        valueRange = new TableRangeReference("C2:");
+    }
+
+    @Benchmark
+    public CSVTable construct() throws IOException, DatasetIntegrityError {
+        return new CSVTable(csv);
+    }
+
+    @Benchmark
+    public List<TableCell> getRange() {
+        return table.getRange(valueRange);
+    }
+
+    @Benchmark
+    public void forEachCell(Blackhole blackhole) {
+        CellVisitor visitor = (row, column, value) -> blackhole.consume(value);
+        table.forEachCell(valueRange, visitor);
+    }
+
+    @Benchmark
+    public void getCell(Blackhole blackhole) {
+        int rows = table.getNumberOfRows();
+        int columns = table.getNumberOfColumns();
+        for (int row = 1; row < rows; row++) {
+            for (int column = 2; column < columns; column++) {
+                blackhole.consume(table.getCell(row, column));
+            }
+        }
+    }
+}
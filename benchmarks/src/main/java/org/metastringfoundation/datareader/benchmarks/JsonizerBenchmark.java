@@ -0,0 +1,54 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.metastringfoundation.datareader.helpers.Jsonizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Serializing extracted data points
+ */
+public class JsonizerBenchmark extends TableShape {
+    private List<DataPoint> dataPoints;
+    private TableDescription description;
+
+    @Setup
+    public void setUp() throws IOException, DatasetIntegrityError {
+        description = TableDescription.fromString(SyntheticTables.description(patternMix));
+        dataPoints = new TableToDatasetAdapter(new CSVTable(SyntheticTables.csv(width, height)), description).getData();
+    }
+
+    @Benchmark
+    public String dataPointsAsJSON() throws JsonProcessingException {
+        return Jsonizer.asJSON(dataPoints);
+    }
+
+    @Benchmark
+    public String descriptionAsJSON() throws JsonProcessingException {
+        return Jsonizer.asJSON(description);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.benchmarks;
+
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.table.DataPointCursor;
+import org.metastringfoundation.datareader.dataset.table.ExtractionPlan;
+import org.metastringfoundation.datareader.dataset.table.QueryableFields;
+import org.metastringfoundation.datareader.dataset.table.TableCell;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.function.BiConsumer;
+
+/**
+ * Evaluating a description against a table, and then asking for the fields of every value cell,
+ * either as maps or through a cursor
+ */
+public class QueryableFieldsBenchmark extends TableShape {
+    private CSVTable table;
+    private ExtractionPlan plan;
+    private QueryableFields queryableFields;
+    private TableToDatasetAdapter adapter;
+
+    @Setup
+    public void setUp() throws IOException, DatasetIntegrityError {
+        table = new CSVTable(SyntheticTables.csv(width, height));
+        plan = TableDescription.fromString(SyntheticTables.description(patternMix)).getExtractionPlan();
+        queryableFields = new QueryableFields(plan, table);
+        adapter = new TableToDatasetAdapter(table, TableDescription.fromString(SyntheticTables.description(patternMix)));
+    }
+
+    /**
+     * A description compiled afresh for every invocation, so that every pattern starts with an empty extraction cache,
+     * as it does for the first table read with a description
+     */
+    @State(Scope.Thread)
+    public static class FreshPlan {
+        private ExtractionPlan plan;
+
+        @Setup(Level.Invocation)
+        public void compile(QueryableFieldsBenchmark benchmark) throws IOException, DatasetIntegrityError {
+            plan = TableDescription.fromString(SyntheticTables.description(benchmark.patternMix)).getExtractionPlan();
+        }
+    }
+
+    @Benchmark
+    public QueryableFields construct(FreshPlan freshPlan) {
+        return new QueryableFields(freshPlan.plan, table);
+    }
+
+    /**
+     * The same plan every time, so that extractions are answered from the caches of the previous invocations,
+     * as they are for later tables read with a description
+     */
+    @Benchmark
+    public QueryableFields constructWithWarmCaches() {
+        return new QueryableFields(plan, table);
+    }
+
+    @Benchmark
+    public void queryFieldsAt(Blackhole blackhole) {
+        for (TableCell cell : queryableFields.getValueCells()) {
+            blackhole.consume(queryableFields.queryFieldsAt(cell.getRow(), cell.getColumn()));
+        }
+    }
+
+    @Benchmark
+    public void cursor(Blackhole blackhole) {
+        DataPointCursor cursor = adapter.cursor();
+        BiConsumer<String, String> consume = (field, value) -> blackhole.consume(value);
+        while (cursor.next()) {
+            cursor.forEachField(consume);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.benchmarks;
+
+import org.metastringfoundation.datareader.dataset.table.TableCellReference;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+import org.metastringfoundation.datareader.dataset.utils.RegexHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.regex.Pattern;
+
+/**
+ * The small pieces of description handling that run once per header cell or reference
+ */
+public class ReferenceAndPatternBenchmark extends TableShape {
+    private static final String[] CELL_REFERENCES = {"A1", "C2", "AB1234", "XFD1048576"};
+    private static final String[] RANGE_REFERENCES = {"A2:A", "C1:1", "C2:", "B3:AZ900"};
+
+    private final Pattern splitPattern = Pattern.compile("(.*) - .*");
+    private final Pattern numberPattern = Pattern.compile("Indicator ([0-9]+) .*");
+    private String[] headers;
+
+    @Setup
+    public void setUp() {
+        headers = new String[width];
+        for (int column = 0; column < width; column++) {
+            headers[column] = SyntheticTables.header(column);
+        }
+    }
+
+    @Benchmark
+    public void parseCellReferences(Blackhole blackhole) {
+        for (String reference : CELL_REFERENCES) {
+            blackhole.consume(new TableCellReference(reference));
+        }
+    }
+
+    @Benchmark
+    public void parseRangeReferences(Blackhole blackhole) {
+        for (String reference : RANGE_REFERENCES) {
+            blackhole.consume(new TableRangeReference(reference));
+        }
+    }
+
+    @Benchmark
+    public void getFirstMatchOrNull(Blackhole blackhole) {
+        Pattern pattern = patternMix == SyntheticTables.PatternMix.MIXED ? numberPattern : splitPattern;
+        for (String header : headers) {
+            blackhole.consume(RegexHelper.getFirstMatchOrNull(header, pattern));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.benchmarks;
+
+/**
+ * Small in-memory tables shaped like real indicator sheets: two entity columns with heavy repetition,
+ * a header row of "Indicator - Settlement" splits and a block of values sprinkled with NA.
+ */
+public class SyntheticTables {
+    public enum PatternMix {
+        /** indicator taken verbatim from the header, no patterns */
+        NONE,
+        /** indicator and settlement split out of the header with the usual "X - Y" patterns */
+        SPLIT,
+        /** the splits plus a regex that no delimiter shortcut can handle and a prefixed field */
+        MIXED
+    }
+
+    private static final String[] SETTLEMENTS = {"Urban", "Rural", "Total"};
+
+    public static String csv(int width, int height) {
+        StringBuilder csv = new StringBuilder();
+        csv.append("State,District");
+        for (int column = 0; column < width; column++) {
+            csv.append(',').append(header(column));
+        }
+        csv.append('\n');
+        for (int row = 0; row < height; row++) {
+            csv.append("State ").append(row % 30).append(',').append("District ").append(row % 700);
+            for (int column = 0; column < width; column++) {
+                csv.append(',');
+                if ((row * 31 + column) % 17 == 0) {
+                    csv.append("NA");
+                } else {
+                    csv.append((row * 7 + column) % 1000).append('.').append(column % 10);
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    public static String header(int column) {
+        return "Indicator " + (column / SETTLEMENTS.length) + " - " + SETTLEMENTS[column % SETTLEMENTS.length];
+    }
+
+    public static String description(PatternMix patternMix) {
+        StringBuilder fields = new StringBuilder();
+        fields.append(field("entity.state", "A2:A", null, null)).append(',');
+        fields.append(field("entity.district", "B2:B", null, null)).append(',');
+        switch (patternMix) {
+            case NONE:
+                fields.append(field("indicator", "C1:1", null, null)).append(',');
+                break;
+            case SPLIT:
+                fields.append(field("indicator", "C1:1", "(.*) - .*", null)).append(',');
+                fields.append(field("settlement", "C1:1", ".* - (.*)", null)).append(',');
+                break;
+            case MIXED:
+                fields.append(field("indicator", "C1:1", "(.*) - .*", null)).append(',');
+                fields.append(field("settlement", "C1:1", ".* - (.*)", null)).append(',');
+                fields.append(field("indicator.number", "C1:1", "Indicator ([0-9]+) .*", "I")).append(',');
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown pattern mix " + patternMix);
+        }
+        fields.append(field("value", "C2:", null, null));
+        return "{\"fields\": [" + fields + "]}";
+    }
+
+    private static String field(String name, String range, String pattern, String prefix) {
+        StringBuilder field = new StringBuilder();
+        field.append("{\"field\": \"").append(name).append("\", \"range\": \"").append(range).append('"');
+        if (pattern != null) {
+            field.append(", \"pattern\": \"").append(pattern).append('"');
+        }
+        if (prefix != null) {
+            field.append(", \"prefix\": \"").append(prefix).append('"');
+        }
+        return field.append('}').toString();
+    }
+}
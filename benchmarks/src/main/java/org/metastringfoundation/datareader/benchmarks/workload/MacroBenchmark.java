@@ -0,0 +1,247 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.benchmarks.workload;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.io.output.NullOutputStream;
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.cli.BatchConversion;
+import org.metastringfoundation.datareader.cli.InputFiles;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableDescriptionRegistry;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.metastringfoundation.datareader.ingest.DescriptionResolver;
+import org.metastringfoundation.datareader.output.DataPointWriter;
+import org.metastringfoundation.datareader.output.OutputFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Runs the whole read, extract and write path over a set of files and reports how fast it went
+ * and what it cost. Results can be saved, and compared against a saved baseline so that regressions
+ * fail the run:
+ *
+ * <pre>
+ *     java -cp benchmarks.jar org.metastringfoundation.datareader.benchmarks.workload.MacroBenchmark \
+ *         --path workload/ --iterations 5 --baseline baseline.properties --save results.properties
+ * </pre>
+ *
+ * Peak RSS comes from /proc/self/status where there is one, and from the peak of the heap pools elsewhere,
+ * so it is only comparable between runs on the same kind of machine.
+ */
+public class MacroBenchmark {
+    static final String ROWS_PER_SECOND = "rowsPerSecond";
+    static final String POINTS_PER_SECOND = "pointsPerSecond";
+    static final String PEAK_RSS_BYTES = "peakRssBytes";
+    static final String GC_MILLIS = "gcMillis";
+    /** changes in GC time smaller than this are noise, however large they are relative to a quiet baseline */
+    static final long GC_MILLIS_FLOOR = 100;
+
+    private final List<Path> dataFiles;
+    private final DescriptionResolver descriptionResolver;
+    private final OutputFormat format;
+
+    public MacroBenchmark(List<Path> dataFiles, DescriptionResolver descriptionResolver, OutputFormat format) {
+        this.dataFiles = dataFiles;
+        this.descriptionResolver = descriptionResolver;
+        this.format = format;
+    }
+
+    /**
+     * Runs the warmup iterations, then the measured ones
+     * @return the measurements of the measured iterations, added up
+     */
+    public Properties run(int warmupIterations, int iterations) throws IOException, DatasetIntegrityError {
+        for (int i = 0; i < warmupIterations; i++) {
+            runOnce();
+        }
+        long gcMillisBefore = totalGcMillis();
+        long rows = 0;
+        long points = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long[] counts = runOnce();
+            rows += counts[0];
+            points += counts[1];
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Properties results = new Properties();
+        results.setProperty(ROWS_PER_SECOND, String.valueOf(Math.round(rows / seconds)));
+        results.setProperty(POINTS_PER_SECOND, String.valueOf(Math.round(points / seconds)));
+        results.setProperty(PEAK_RSS_BYTES, String.valueOf(peakRssBytes()));
+        results.setProperty(GC_MILLIS, String.valueOf(totalGcMillis() - gcMillisBefore));
+        return results;
+    }
+
+    /**
+     * @return rows read and data points written
+     */
+    private long[] runOnce() throws IOException, DatasetIntegrityError {
+        long rows = 0;
+        long points = 0;
+        try (OutputStream output = new NullOutputStream();
+             DataPointWriter writer = format.newWriter(output, null)) {
+            for (Path dataFile : dataFiles) {
+                Table table = CSVTable.fromPath(dataFile);
+                rows += table.getNumberOfRows();
+                for (DataPoint dataPoint : new TableToDatasetAdapter(table, descriptionResolver.resolve(dataFile))) {
+                    writer.write(dataPoint);
+                    points++;
+                }
+            }
+        }
+        return new long[]{rows, points};
+    }
+
+    private static long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    static long peakRssBytes() throws IOException {
+        Path status = Paths.get("/proc/self/status");
+        if (Files.isReadable(status)) {
+            for (String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmHWM:")) {
+                    // reported in kB
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        }
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Throughput may not fall, and peak RSS and GC time may not rise, by more than the tolerance.
+     * GC time may also always rise by up to {@link #GC_MILLIS_FLOOR}, so that a baseline without collections
+     * does not turn the first short one into a regression.
+     * @return one line per regression; empty if there are none
+     */
+    static List<String> regressions(Properties baseline, Properties results, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        checkNotLower(regressions, ROWS_PER_SECOND, baseline, results, tolerance);
+        checkNotLower(regressions, POINTS_PER_SECOND, baseline, results, tolerance);
+        checkNotHigher(regressions, PEAK_RSS_BYTES, baseline, results, tolerance, 0);
+        checkNotHigher(regressions, GC_MILLIS, baseline, results, tolerance, GC_MILLIS_FLOOR);
+        return regressions;
+    }
+
+    private static void checkNotLower(List<String> regressions, String key, Properties baseline, Properties results, double tolerance) {
+        if (baseline.getProperty(key) == null) {
+            return;
+        }
+        double expected = Double.parseDouble(baseline.getProperty(key));
+        double actual = Double.parseDouble(results.getProperty(key));
+        if (actual < expected * (1 - tolerance)) {
+            regressions.add(key + " fell from " + baseline.getProperty(key) + " to " + results.getProperty(key));
+        }
+    }
+
+    private static void checkNotHigher(List<String> regressions, String key, Properties baseline, Properties results, double tolerance, double floor) {
+        if (baseline.getProperty(key) == null) {
+            return;
+        }
+        double expected = Double.parseDouble(baseline.getProperty(key));
+        double actual = Double.parseDouble(results.getProperty(key));
+        if (actual > expected * (1 + tolerance) && actual - expected > floor) {
+            regressions.add(key + " rose from " + baseline.getProperty(key) + " to " + results.getProperty(key));
+        }
+    }
+
+    public static void main(String[] args) throws IOException, DatasetIntegrityError {
+        Options options = new Options()
+                .addOption(Option.builder().longOpt("path").hasArgs().required().desc("Data files, directories or globs").build())
+                .addOption(Option.builder().longOpt("description").hasArg().desc("Description for all files (default: the one next to each file)").build())
+                .addOption(Option.builder().longOpt("format").hasArg().desc("Output format (default ndjson)").build())
+                .addOption(Option.builder().longOpt("warmup").hasArg().desc("Warmup iterations (default 2)").build())
+                .addOption(Option.builder().longOpt("iterations").hasArg().desc("Measured iterations (default 5)").build())
+                .addOption(Option.builder().longOpt("save").hasArg().desc("Save the results to this file").build())
+                .addOption(Option.builder().longOpt("baseline").hasArg().desc("Compare against results saved earlier").build())
+                .addOption(Option.builder().longOpt("tolerance").hasArg().desc("Allowed change against the baseline (default 0.1)").build());
+        CommandLine commandLine;
+        try {
+            commandLine = new DefaultParser().parse(options, args);
+        } catch (ParseException e) {
+            System.err.println(e.getMessage());
+            new HelpFormatter().printHelp("macro-benchmark", options);
+            System.exit(1);
+            return;
+        }
+
+        TableDescriptionRegistry registry = new TableDescriptionRegistry();
+        DescriptionResolver descriptionResolver = commandLine.hasOption("description")
+                ? BatchConversion.fixedDescription(registry, Paths.get(commandLine.getOptionValue("description")))
+                : BatchConversion.siblingDescriptions(registry);
+        MacroBenchmark benchmark = new MacroBenchmark(
+                InputFiles.expand(commandLine.getOptionValues("path")),
+                descriptionResolver,
+                OutputFormat.fromName(commandLine.getOptionValue("format", "ndjson")));
+        Properties results = benchmark.run(
+                Integer.parseInt(commandLine.getOptionValue("warmup", "2")),
+                Integer.parseInt(commandLine.getOptionValue("iterations", "5")));
+        results.list(System.out);
+
+        if (commandLine.hasOption("save")) {
+            try (OutputStream output = Files.newOutputStream(Paths.get(commandLine.getOptionValue("save")))) {
+                results.store(output, "data-reader macro benchmark");
+            }
+        }
+        if (commandLine.hasOption("baseline")) {
+            Properties baseline = new Properties();
+            try (InputStream input = Files.newInputStream(Paths.get(commandLine.getOptionValue("baseline")))) {
+                baseline.load(input);
+            }
+            List<String> regressions = regressions(baseline, results, Double.parseDouble(commandLine.getOptionValue("tolerance", "0.1")));
+            for (String regression : regressions) {
+                System.err.println("Regression: " + regression);
+            }
+            if (!regressions.isEmpty()) {
+                System.exit(2);
+            }
+        }
+    }
+}
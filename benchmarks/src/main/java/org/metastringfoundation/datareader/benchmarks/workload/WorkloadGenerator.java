@@ -0,0 +1,191 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.benchmarks.workload;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.metastringfoundation.datareader.ingest.ExecutionPlanner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Writes CSVs that look like the indicator sheets we read, together with the descriptions that read them.
+ *
+ * Every file has two header rows: "Indicator k - Settlement" on the first (read with the usual "X - Y" patterns)
+ * and a gender under it. Then come rows of state and district, sorted so that both repeat heavily, and a block of
+ * values with NA sprinkled in. Output is deterministic for a seed, and rows are written as they are made,
+ * so files of any size can be generated.
+ */
+public class WorkloadGenerator {
+    private static final String[] SETTLEMENTS = {"Urban", "Rural", "Total"};
+    private static final String[] GENDERS = {"Male", "Female", "Total"};
+    private static final int DISTRICTS = 1000;
+    private static final int DISTRICTS_PER_STATE = 25;
+
+    private final int indicators;
+    private final double naRatio;
+    private final long seed;
+
+    /**
+     * @param indicators number of indicators; each gets a value column for every settlement and gender
+     * @param naRatio share of values written as NA
+     * @param seed the same seed always gives the same files
+     */
+    public WorkloadGenerator(int indicators, double naRatio, long seed) {
+        this.indicators = indicators;
+        this.naRatio = naRatio;
+        this.seed = seed;
+    }
+
+    public int getNumberOfValueColumns() {
+        return indicators * SETTLEMENTS.length * GENDERS.length;
+    }
+
+    /**
+     * Writes data rows until there are the given number of rows, or the given number of bytes, whichever comes first
+     * @return number of data rows written
+     */
+    public long writeCsv(Writer writer, long maxRows, long maxBytes) throws IOException {
+        StringBuilder line = new StringBuilder();
+        line.append("State,District");
+        for (int column = 0; column < getNumberOfValueColumns(); column++) {
+            line.append(",Indicator ").append(indicatorOf(column)).append(" - ").append(SETTLEMENTS[settlementOf(column)]);
+        }
+        line.append('\n').append(',');
+        for (int column = 0; column < getNumberOfValueColumns(); column++) {
+            line.append(',').append(GENDERS[genderOf(column)]);
+        }
+        line.append('\n');
+        writer.write(line.toString());
+        long bytes = line.length();
+
+        SplittableRandom random = new SplittableRandom(seed);
+        long rows = 0;
+        while (rows < maxRows && bytes < maxBytes) {
+            line.setLength(0);
+            long district = rows % DISTRICTS;
+            line.append("State ").append(district / DISTRICTS_PER_STATE)
+                    .append(",District ").append(district);
+            for (int column = 0; column < getNumberOfValueColumns(); column++) {
+                line.append(',');
+                if (random.nextDouble() < naRatio) {
+                    line.append("NA");
+                } else {
+                    line.append(random.nextInt(100000) / 100.0);
+                }
+            }
+            line.append('\n');
+            writer.write(line.toString());
+            bytes += line.length();
+            rows++;
+        }
+        return rows;
+    }
+
+    public String description() {
+        return "{\n" +
+                "  \"fields\": [\n" +
+                "    {\"field\": \"entity.state\", \"range\": \"A3:A\"},\n" +
+                "    {\"field\": \"entity.district\", \"range\": \"B3:B\"},\n" +
+                "    {\"field\": \"indicator\", \"range\": \"C1:1\", \"pattern\": \"(.*) - .*\"},\n" +
+                "    {\"field\": \"settlement\", \"range\": \"C1:1\", \"pattern\": \".* - (.*)\"},\n" +
+                "    {\"field\": \"gender\", \"range\": \"C2:2\"},\n" +
+                "    {\"field\": \"value\", \"range\": \"C3:\"}\n" +
+                "  ]\n" +
+                "}\n";
+    }
+
+    /**
+     * Writes workload-N.csv and workload-N.description.json for each file into the directory
+     * @return the CSV files written
+     */
+    public List<Path> writeFiles(Path directory, int files, long rowsPerFile, long bytesPerFile) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> written = new ArrayList<>();
+        for (int file = 0; file < files; file++) {
+            Path csv = directory.resolve("workload-" + file + ".csv");
+            WorkloadGenerator generator = new WorkloadGenerator(indicators, naRatio, seed + file);
+            try (Writer writer = new BufferedWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8), 1 << 16)) {
+                generator.writeCsv(writer, rowsPerFile, bytesPerFile);
+            }
+            Files.write(directory.resolve("workload-" + file + ".description.json"), description().getBytes(StandardCharsets.UTF_8));
+            written.add(csv);
+        }
+        return written;
+    }
+
+    private int indicatorOf(int column) {
+        return column / (SETTLEMENTS.length * GENDERS.length);
+    }
+
+    private int settlementOf(int column) {
+        return column / GENDERS.length % SETTLEMENTS.length;
+    }
+
+    private int genderOf(int column) {
+        return column % GENDERS.length;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options = new Options()
+                .addOption(Option.builder().longOpt("output-dir").hasArg().required().desc("Directory to write into").build())
+                .addOption(Option.builder().longOpt("files").hasArg().desc("Number of files (default 1)").build())
+                .addOption(Option.builder().longOpt("rows").hasArg().desc("Data rows per file").build())
+                .addOption(Option.builder().longOpt("size").hasArg().desc("Size per file, such as 64M or 10G").build())
+                .addOption(Option.builder().longOpt("indicators").hasArg().desc("Indicators per file; 9 value columns each (default 20)").build())
+                .addOption(Option.builder().longOpt("na-ratio").hasArg().desc("Share of NA values (default 0.05)").build())
+                .addOption(Option.builder().longOpt("seed").hasArg().desc("Random seed (default 42)").build());
+        CommandLine commandLine;
+        try {
+            commandLine = new DefaultParser().parse(options, args);
+            if (!commandLine.hasOption("rows") && !commandLine.hasOption("size")) {
+                throw new ParseException("Give --rows, --size or both");
+            }
+        } catch (ParseException e) {
+            System.err.println(e.getMessage());
+            new HelpFormatter().printHelp("workload-generator", options);
+            System.exit(1);
+            return;
+        }
+
+        WorkloadGenerator generator = new WorkloadGenerator(
+                Integer.parseInt(commandLine.getOptionValue("indicators", "20")),
+                Double.parseDouble(commandLine.getOptionValue("na-ratio", "0.05")),
+                Long.parseLong(commandLine.getOptionValue("seed", "42")));
+        List<Path> files = generator.writeFiles(
+                Paths.get(commandLine.getOptionValue("output-dir")),
+                Integer.parseInt(commandLine.getOptionValue("files", "1")),
+                commandLine.hasOption("rows") ? Long.parseLong(commandLine.getOptionValue("rows")) : Long.MAX_VALUE,
+                commandLine.hasOption("size") ? ExecutionPlanner.parseSize(commandLine.getOptionValue("size")) : Long.MAX_VALUE);
+        for (Path file : files) {
+            System.out.println(file);
+        }
+    }
+}
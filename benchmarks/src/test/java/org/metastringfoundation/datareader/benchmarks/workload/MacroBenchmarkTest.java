@@ -0,0 +1,69 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.benchmarks.workload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MacroBenchmarkTest {
+
+    private static Properties results(long rowsPerSecond, long peakRssBytes, long gcMillis) {
+        Properties results = new Properties();
+        results.setProperty(MacroBenchmark.ROWS_PER_SECOND, String.valueOf(rowsPerSecond));
+        results.setProperty(MacroBenchmark.POINTS_PER_SECOND, String.valueOf(rowsPerSecond * 10));
+        results.setProperty(MacroBenchmark.PEAK_RSS_BYTES, String.valueOf(peakRssBytes));
+        results.setProperty(MacroBenchmark.GC_MILLIS, String.valueOf(gcMillis));
+        return results;
+    }
+
+    @Test
+    void changesWithinTheToleranceAreNotRegressions() {
+        Properties baseline = results(1000, 1000, 1000);
+
+        assertEquals(0, MacroBenchmark.regressions(baseline, results(910, 1090, 1090), 0.1).size());
+        assertEquals(0, MacroBenchmark.regressions(baseline, results(5000, 10, 0), 0.1).size());
+    }
+
+    @Test
+    void reportsEachMeasurementBeyondTheTolerance() {
+        List<String> regressions = MacroBenchmark.regressions(results(1000, 1000, 1000), results(800, 1200, 1200), 0.1);
+
+        assertEquals(4, regressions.size());
+        assertTrue(regressions.get(0).startsWith(MacroBenchmark.ROWS_PER_SECOND + " fell from 1000 to 800"));
+        assertTrue(regressions.get(3).startsWith(MacroBenchmark.GC_MILLIS + " rose from 1000 to 1200"));
+    }
+
+    @Test
+    void smallGcTimesAreNoiseEvenAgainstABaselineWithoutCollections() {
+        Properties baseline = results(1000, 1000, 0);
+
+        assertTrue(MacroBenchmark.regressions(baseline, results(1000, 1000, MacroBenchmark.GC_MILLIS_FLOOR), 0.1).isEmpty());
+        assertEquals(1, MacroBenchmark.regressions(baseline, results(1000, 1000, MacroBenchmark.GC_MILLIS_FLOOR + 1), 0.1).size());
+    }
+
+    @Test
+    void ignoresMeasurementsMissingFromTheBaseline() {
+        Properties baseline = new Properties();
+        baseline.setProperty(MacroBenchmark.ROWS_PER_SECOND, "1000");
+
+        assertTrue(MacroBenchmark.regressions(baseline, results(1000, Long.MAX_VALUE, Long.MAX_VALUE), 0.1).isEmpty());
+    }
+}
@@ -24,8 +24,24 @@ import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+/**
+ * The fields of one data point, as a map from field name to value.
+ *
+ * A data point can also know where in its data file it came from. The type of the file and the row and column of
+ * the cell are kept as a shared string and a packed long rather than as strings in the map, because every point
+ * has them. They still show through the map as {@link #DATA_FILE_TYPE_FIELD}, {@link #ROW_FIELD} and
+ * {@link #COLUMN_FIELD}, written out only when read that way; writing any of them turns the address into ordinary
+ * fields.
+ */
 public class DataPoint implements Map<String, String> {
+    public static final String DATA_FILE_TYPE_FIELD = "meta.dataFileType";
+    public static final String ROW_FIELD = "meta.addressInDataFile.row";
+    public static final String COLUMN_FIELD = "meta.addressInDataFile.column";
+    private static final long NO_ADDRESS = -1;
+
     private final Map<String, String> fields;
+    private String dataFileType;
+    private long address = NO_ADDRESS;
 
     public DataPoint(Map<String, String> fields) {
         this.fields = fields;
@@ -35,6 +51,18 @@ public class DataPoint implements Map<String, String> {
         this.fields = new HashMap<>();
     }
 
+    /**
+     * @param fields fields other than the address ones
+     */
+    public DataPoint(Map<String, String> fields, String dataFileType, int row, int column) {
+        if (row < 0 || column < 0) {
+            throw new IllegalArgumentException("Row and column should not be negative");
+        }
+        this.fields = fields;
+        this.dataFileType = dataFileType;
+        this.address = ((long) row << 32) | column;
+    }
+
     public static DataPoint of(String... args) {
         DataPoint dataPoint = new DataPoint();
         ListToMap.load(Arrays.asList(args), dataPoint);
@@ -46,18 +74,82 @@ public class DataPoint implements Map<String, String> {
         return new DataPoint(fieldsDelegate);
     }
 
+    /**
+     * @return whether the point keeps its address packed, rather than as fields
+     */
+    public boolean hasAddress() {
+        return address != NO_ADDRESS;
+    }
+
+    public String getDataFileType() {
+        return hasAddress() ? dataFileType : fields.get(DATA_FILE_TYPE_FIELD);
+    }
+
+    /**
+     * @return the row of the packed address; only meaningful if {@link #hasAddress()}
+     */
+    public int getRow() {
+        return (int) (address >>> 32);
+    }
+
+    /**
+     * @return the column of the packed address; only meaningful if {@link #hasAddress()}
+     */
+    public int getColumn() {
+        return (int) address;
+    }
+
+    /**
+     * @return the fields that are not part of the packed address, for writers that store the address themselves
+     */
+    public Map<String, String> getFieldsExceptAddress() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * @return all the fields as one map, with the address among them
+     */
     public Map<String, String> getAsMap() {
+        unpackAddress();
         return fields;
     }
 
+    private void unpackAddress() {
+        if (hasAddress()) {
+            fields.put(DATA_FILE_TYPE_FIELD, dataFileType);
+            fields.put(ROW_FIELD, String.valueOf(getRow()));
+            fields.put(COLUMN_FIELD, String.valueOf(getColumn()));
+            address = NO_ADDRESS;
+            dataFileType = null;
+        }
+    }
+
+    private static boolean isAddressField(Object key) {
+        return DATA_FILE_TYPE_FIELD.equals(key) || ROW_FIELD.equals(key) || COLUMN_FIELD.equals(key);
+    }
+
+    private String getAddressField(Object key) {
+        if (DATA_FILE_TYPE_FIELD.equals(key)) {
+            return dataFileType;
+        }
+        return String.valueOf(ROW_FIELD.equals(key) ? getRow() : getColumn());
+    }
+
+    private List<Map.Entry<String, String>> addressEntries() {
+        return Arrays.asList(
+                new AbstractMap.SimpleImmutableEntry<>(DATA_FILE_TYPE_FIELD, dataFileType),
+                new AbstractMap.SimpleImmutableEntry<>(ROW_FIELD, String.valueOf(getRow())),
+                new AbstractMap.SimpleImmutableEntry<>(COLUMN_FIELD, String.valueOf(getColumn())));
+    }
+
     @Override
     public int size() {
-        return fields.size();
+        return fields.size() + (hasAddress() ? 3 : 0);
     }
 
     @Override
     public boolean isEmpty() {
-        return fields.isEmpty();
+        return !hasAddress() && fields.isEmpty();
     }
 
     @Override
@@ -70,7 +162,7 @@ public class DataPoint implements Map<String, String> {
 
     @Override
     public boolean containsValue(Object value) {
-        if (value instanceof String) {
+        if (value == null || value instanceof String) {
             return containsValue((String) value);
         }
         return false;
@@ -78,23 +170,32 @@ public class DataPoint implements Map<String, String> {
 
     @Override
     public String get(Object key) {
+        if (hasAddress() && isAddressField(key)) {
+            return getAddressField(key);
+        }
         return fields.get(key);
     }
 
     public boolean containsKey(String key) {
-        return fields.containsKey(key);
+        return (hasAddress() && isAddressField(key)) || fields.containsKey(key);
     }
 
     public boolean containsValue(String value) {
+        if (value != null && hasAddress() && (value.equals(dataFileType) || value.equals(String.valueOf(getRow())) || value.equals(String.valueOf(getColumn())))) {
+            return true;
+        }
         return fields.containsValue(value);
     }
 
     public String get(String key) {
-        return fields.get(key);
+        return get((Object) key);
     }
 
     @Override
     public String put(String key, String value) {
+        if (hasAddress() && isAddressField(key)) {
+            unpackAddress();
+        }
         return fields.put(key, value);
     }
 
@@ -104,87 +205,162 @@ public class DataPoint implements Map<String, String> {
     }
 
     public String remove(String key) {
+        if (hasAddress() && isAddressField(key)) {
+            unpackAddress();
+        }
         return fields.remove(key);
     }
 
     @Override
     public void putAll(@Nonnull Map<? extends String, ? extends String> m) {
-        fields.putAll(m);
+        m.forEach(this::put);
     }
 
     @Override
     public void clear() {
+        address = NO_ADDRESS;
+        dataFileType = null;
         fields.clear();
     }
 
     @Override
     @Nonnull
     public Set<String> keySet() {
-        return fields.keySet();
+        if (!hasAddress()) {
+            return fields.keySet();
+        }
+        Set<String> keys = new LinkedHashSet<>(fields.keySet());
+        keys.add(DATA_FILE_TYPE_FIELD);
+        keys.add(ROW_FIELD);
+        keys.add(COLUMN_FIELD);
+        return Collections.unmodifiableSet(keys);
     }
 
     @Override
     @Nonnull
     public Collection<String> values() {
-        return fields.values();
+        if (!hasAddress()) {
+            return fields.values();
+        }
+        List<String> values = new ArrayList<>(fields.values());
+        addressEntries().forEach(entry -> values.add(entry.getValue()));
+        return Collections.unmodifiableList(values);
     }
 
+    /**
+     * With a packed address, the set is a read-only view that writes the address fields out as it is iterated
+     */
     @Override
     @Nonnull
     public Set<Map.Entry<String, String>> entrySet() {
-        return fields.entrySet();
+        if (!hasAddress()) {
+            return fields.entrySet();
+        }
+        return new AbstractSet<Map.Entry<String, String>>() {
+            @Override
+            @Nonnull
+            public Iterator<Map.Entry<String, String>> iterator() {
+                Iterator<Map.Entry<String, String>> own = Collections.unmodifiableSet(fields.entrySet()).iterator();
+                Iterator<Map.Entry<String, String>> packed = addressEntries().iterator();
+                return new Iterator<Map.Entry<String, String>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return own.hasNext() || packed.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, String> next() {
+                        return own.hasNext() ? own.next() : packed.next();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return DataPoint.this.size();
+            }
+        };
     }
 
     public String getOrDefault(String key, String defaultValue) {
-        return fields.getOrDefault(key, defaultValue);
+        String value = get(key);
+        return value != null || containsKey(key) ? value : defaultValue;
     }
 
     @Override
     public void forEach(BiConsumer<? super String, ? super String> action) {
         fields.forEach(action);
+        if (hasAddress()) {
+            action.accept(DATA_FILE_TYPE_FIELD, dataFileType);
+            action.accept(ROW_FIELD, String.valueOf(getRow()));
+            action.accept(COLUMN_FIELD, String.valueOf(getColumn()));
+        }
     }
 
     @Override
     public void replaceAll(BiFunction<? super String, ? super String, ? extends String> function) {
+        unpackAddress();
         fields.replaceAll(function);
     }
 
     @Override
     public String putIfAbsent(String key, String value) {
-        return fields.putIfAbsent(key, value);
+        String current = get(key);
+        return current == null ? put(key, value) : current;
     }
 
     public boolean remove(String key, String value) {
+        if (hasAddress() && isAddressField(key)) {
+            unpackAddress();
+        }
         return fields.remove(key, value);
     }
 
     @Override
     public boolean replace(String key, String oldValue, String newValue) {
+        if (hasAddress() && isAddressField(key)) {
+            unpackAddress();
+        }
         return fields.replace(key, oldValue, newValue);
     }
 
     @Override
     public String replace(String key, String value) {
+        if (hasAddress() && isAddressField(key)) {
+            unpackAddress();
+        }
         return fields.replace(key, value);
     }
 
     @Override
     public String computeIfAbsent(String key, @Nonnull Function<? super String, ? extends String> mappingFunction) {
+        if (hasAddress() && isAddressField(key)) {
+            unpackAddress();
+        }
         return fields.computeIfAbsent(key, mappingFunction);
     }
 
     @Override
     public String computeIfPresent(String key, @Nonnull BiFunction<? super String, ? super String, ? extends String> remappingFunction) {
+        if (hasAddress() && isAddressField(key)) {
+            unpackAddress();
+        }
         return fields.computeIfPresent(key, remappingFunction);
     }
 
     @Override
     public String compute(String key, @Nonnull BiFunction<? super String, ? super String, ? extends String> remappingFunction) {
+        if (hasAddress() && isAddressField(key)) {
+            unpackAddress();
+        }
         return fields.compute(key, remappingFunction);
     }
 
     @Override
     public String merge(String key, @Nonnull String value, @Nonnull BiFunction<? super String, ? super String, ? extends String> remappingFunction) {
+        if (hasAddress() && isAddressField(key)) {
+            unpackAddress();
+        }
         return fields.merge(key, value, remappingFunction);
     }
 
@@ -193,18 +369,35 @@ public class DataPoint implements Map<String, String> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DataPoint dataPoint = (DataPoint) o;
-        return fields.equals(dataPoint.fields);
+        if (!hasAddress() && !dataPoint.hasAddress()) {
+            return fields.equals(dataPoint.fields);
+        }
+        if (hasAddress() && dataPoint.hasAddress()) {
+            return address == dataPoint.address
+                    && Objects.equals(dataFileType, dataPoint.dataFileType)
+                    && fields.equals(dataPoint.fields);
+        }
+        return entrySet().equals(dataPoint.entrySet());
     }
 
+    /**
+     * The same as for the map of all the fields, whether the address is packed or not
+     */
     @Override
     public int hashCode() {
-        return fields.hashCode();
+        int hashCode = fields.hashCode();
+        if (hasAddress()) {
+            for (Map.Entry<String, String> entry : addressEntries()) {
+                hashCode += entry.hashCode();
+            }
+        }
+        return hashCode;
     }
 
     @Override
     public String toString() {
         return "DataPoint{" +
-                "fields=" + fields +
+                "fields=" + (hasAddress() ? new HashMap<>(this) : fields) +
                 '}';
     }
 }
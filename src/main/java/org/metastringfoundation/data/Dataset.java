@@ -16,8 +16,18 @@
 
 package org.metastringfoundation.data;
 
+import java.util.Iterator;
 import java.util.List;
 
-public interface Dataset {
+public interface Dataset extends Iterable<DataPoint> {
     List<DataPoint> getData();
+
+    /**
+     * Goes over the data points one by one. Datasets that are not held in memory override this,
+     * so that iterating over them does not require loading all of them.
+     */
+    @Override
+    default Iterator<DataPoint> iterator() {
+        return getData().iterator();
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.data;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The fields of a data point as layers shared with other points, rather than a map of its own.
+ *
+ * Every point of a table row has the same row fields and every point of a column the same column fields, so those
+ * maps are made once and shared, along with the fields of the whole table. Only a small overlay, such as the value,
+ * belongs to the point. A field is looked up in the overlay first, then the column, the row and the whole table,
+ * which is the order in which they override each other.
+ *
+ * The shared layers must not change. The first write to the fields copies them all into a map of the point's own,
+ * so writing to one point never shows in another.
+ */
+public class LayeredFields extends AbstractMap<String, String> {
+    private final Map<String, String> universal;
+    private final Map<String, String> row;
+    private final Map<String, String> column;
+    private final String[] overlayKeys;
+    private final String[] overlayValues;
+    private Map<String, String> copy;
+    private int size = -1;
+
+    /**
+     * @param overlayKeys   names of the point's own fields, which can be shared between points
+     * @param overlayValues values of the point's own fields, in the same order as the names
+     */
+    public LayeredFields(Map<String, String> universal, Map<String, String> row, Map<String, String> column,
+                         String[] overlayKeys, String[] overlayValues) {
+        if (overlayKeys.length != overlayValues.length) {
+            throw new IllegalArgumentException("Every overlay field needs a value");
+        }
+        this.universal = universal;
+        this.row = row;
+        this.column = column;
+        this.overlayKeys = overlayKeys;
+        this.overlayValues = overlayValues;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (copy != null) {
+            return copy.get(key);
+        }
+        for (int i = 0; i < overlayKeys.length; i++) {
+            if (overlayKeys[i].equals(key)) {
+                return overlayValues[i];
+            }
+        }
+        String value = column.get(key);
+        if (value == null) {
+            value = row.get(key);
+        }
+        return value == null ? universal.get(key) : value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (copy != null) {
+            return copy.containsKey(key);
+        }
+        return inOverlay(key, overlayKeys.length) || column.containsKey(key) || row.containsKey(key) || universal.containsKey(key);
+    }
+
+    private boolean inOverlay(Object key, int before) {
+        for (int i = 0; i < before; i++) {
+            if (overlayKeys[i].equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        if (copy != null) {
+            return copy.size();
+        }
+        if (size < 0) {
+            int counted = 0;
+            for (Iterator<Entry<String, String>> entries = new LayerIterator(); entries.hasNext(); entries.next()) {
+                counted++;
+            }
+            size = counted;
+        }
+        return size;
+    }
+
+    @Override
+    public String put(String key, String value) {
+        return ownCopy().put(key, value);
+    }
+
+    @Override
+    public String remove(Object key) {
+        return ownCopy().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        ownCopy().clear();
+    }
+
+    private Map<String, String> ownCopy() {
+        if (copy == null) {
+            Map<String, String> fields = new HashMap<>(universal);
+            fields.putAll(row);
+            fields.putAll(column);
+            for (int i = 0; i < overlayKeys.length; i++) {
+                fields.put(overlayKeys[i], overlayValues[i]);
+            }
+            copy = fields;
+        }
+        return copy;
+    }
+
+    @Override
+    @Nonnull
+    public Set<Entry<String, String>> entrySet() {
+        if (copy != null) {
+            return copy.entrySet();
+        }
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            @Nonnull
+            public Iterator<Entry<String, String>> iterator() {
+                return copy != null ? copy.entrySet().iterator() : new LayerIterator();
+            }
+
+            @Override
+            public int size() {
+                return LayeredFields.this.size();
+            }
+        };
+    }
+
+    /**
+     * Goes over the layers from the overlay down, skipping fields a layer above overrides
+     */
+    private class LayerIterator implements Iterator<Entry<String, String>> {
+        private int overlayIndex = 0;
+        private int layer = 0;
+        private Iterator<Entry<String, String>> layerEntries;
+        private Entry<String, String> next;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = findNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, String> current = next;
+            next = null;
+            return current;
+        }
+
+        private Entry<String, String> findNext() {
+            while (overlayIndex < overlayKeys.length) {
+                int index = overlayIndex++;
+                if (!inOverlay(overlayKeys[index], index)) {
+                    return new SimpleImmutableEntry<>(overlayKeys[index], overlayValues[index]);
+                }
+            }
+            while (layer < 3) {
+                if (layerEntries == null) {
+                    layerEntries = (layer == 0 ? column : layer == 1 ? row : universal).entrySet().iterator();
+                }
+                while (layerEntries.hasNext()) {
+                    Entry<String, String> entry = layerEntries.next();
+                    if (!overriddenAbove(entry.getKey())) {
+                        return entry;
+                    }
+                }
+                layer++;
+                layerEntries = null;
+            }
+            return null;
+        }
+
+        private boolean overriddenAbove(String key) {
+            return inOverlay(key, overlayKeys.length)
+                    || (layer > 0 && column.containsKey(key))
+                    || (layer > 1 && row.containsKey(key));
+        }
+    }
+}
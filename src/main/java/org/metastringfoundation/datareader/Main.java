@@ -18,22 +18,139 @@ package org.metastringfoundation.datareader;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.ParseException;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.cli.BatchConversion;
 import org.metastringfoundation.datareader.cli.CLI;
+import org.metastringfoundation.datareader.cli.InputFiles;
+import org.metastringfoundation.datareader.dataset.cache.DatasetCache;
+import org.metastringfoundation.datareader.dataset.table.DescriptionExplainer;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableDescriptionRegistry;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.metastringfoundation.datareader.ingest.DescriptionResolver;
+import org.metastringfoundation.datareader.ingest.ExecutionPlanner;
+import org.metastringfoundation.datareader.ingest.IngestionResult;
+import org.metastringfoundation.datareader.metrics.MetricsReporter;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+import org.metastringfoundation.datareader.output.OutputFormat;
+import org.metastringfoundation.datareader.server.ExtractionServer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
+    private static final String DEFAULT_CACHE_SIZE = "1g";
 
     public static void main(String[] args) throws IllegalArgumentException {
         try {
             CommandLine commandLine = new CLI().parse(args);
 
-            String path = commandLine.getOptionValue("path");
+            PipelineMetrics.registerMBean();
+            if (commandLine.hasOption("report-metrics")) {
+                MetricsReporter reporter = MetricsReporter.start(PipelineMetrics.get(), Long.parseLong(commandLine.getOptionValue("report-metrics")), TimeUnit.SECONDS);
+                Runtime.getRuntime().addShutdownHook(new Thread(reporter::close));
+            }
 
-            System.out.println("Command line usage not supported right now.");
+            if (commandLine.hasOption("server")) {
+                startServer(commandLine);
+                return;
+            }
 
-        } catch (ParseException e) {
+            if (!commandLine.hasOption("path")) {
+                CLI.printHelp();
+                System.exit(1);
+            }
+            if (commandLine.hasOption("explain") || commandLine.hasOption("explain-analyze")) {
+                explain(commandLine, commandLine.hasOption("explain-analyze"));
+                return;
+            }
+            if (!convert(commandLine)) {
+                System.exit(2);
+            }
+        } catch (ParseException | IllegalArgumentException e) {
+            System.err.println(e.getMessage());
             CLI.printHelp();
             System.exit(1);
+        } catch (IOException | DatasetIntegrityError e) {
+            e.printStackTrace();
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+
+    private static DescriptionResolver descriptionResolverFor(CommandLine commandLine) {
+        TableDescriptionRegistry registry = new TableDescriptionRegistry();
+        return commandLine.hasOption("description")
+                ? BatchConversion.fixedDescription(registry, Paths.get(commandLine.getOptionValue("description")))
+                : BatchConversion.siblingDescriptions(registry);
+    }
+
+    private static void explain(CommandLine commandLine, boolean analyze) throws IOException, DatasetIntegrityError {
+        DescriptionResolver descriptionResolver = descriptionResolverFor(commandLine);
+        for (Path dataFile : InputFiles.expand(commandLine.getOptionValues("path"))) {
+            TableDescription tableDescription = descriptionResolver.resolve(dataFile);
+            Table table = commandLine.hasOption("snapshots") ? CSVTable.load(dataFile) : CSVTable.fromPath(dataFile);
+            System.out.println(dataFile);
+            System.out.println(analyze
+                    ? DescriptionExplainer.analyze(tableDescription, table)
+                    : DescriptionExplainer.explain(tableDescription, table));
+        }
+    }
+
+    /**
+     * @return whether every file was converted
+     */
+    private static boolean convert(CommandLine commandLine) throws IOException, InterruptedException {
+        List<Path> dataFiles = InputFiles.expand(commandLine.getOptionValues("path"));
+        DescriptionResolver descriptionResolver = descriptionResolverFor(commandLine);
+        int threads = Integer.parseInt(commandLine.getOptionValue("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        if (threads < 1) {
+            throw new IllegalArgumentException("--threads should be at least 1");
+        }
+        OutputFormat format = OutputFormat.fromName(commandLine.getOptionValue("format", "ndjson"));
+        ExecutionPlanner planner = commandLine.hasOption("memory-budget")
+                ? new ExecutionPlanner(ExecutionPlanner.parseSize(commandLine.getOptionValue("memory-budget")) / threads)
+                : null;
+        DatasetCache cache = commandLine.hasOption("cache-dir")
+                ? new DatasetCache(Paths.get(commandLine.getOptionValue("cache-dir")), ExecutionPlanner.parseSize(commandLine.getOptionValue("cache-size", DEFAULT_CACHE_SIZE)))
+                : null;
+        BatchConversion conversion = new BatchConversion(dataFiles, descriptionResolver, format, threads, commandLine.hasOption("with-address"), planner, commandLine.hasOption("snapshots"), cache);
+
+        List<IngestionResult> results;
+        try (OutputStream output = new BufferedOutputStream(commandLine.hasOption("output")
+                ? Files.newOutputStream(Paths.get(commandLine.getOptionValue("output")))
+                : System.out)) {
+            results = conversion.run(output);
+        }
+
+        long failures = results.stream().filter(result -> !result.isSuccessful()).count();
+        long dataPoints = results.stream().mapToLong(IngestionResult::getNumberOfDataPoints).sum();
+        System.err.println("Converted " + (results.size() - failures) + " of " + results.size() + " files into " + dataPoints + " data points");
+        for (IngestionResult result : results) {
+            if (!result.isSuccessful()) {
+                System.err.println("Failed: " + result.getDataFile() + ": " + result.getError());
+            }
+        }
+        return failures == 0;
+    }
+
+    private static void startServer(CommandLine commandLine) throws IOException, DatasetIntegrityError {
+        int port = Integer.parseInt(commandLine.getOptionValue("port", String.valueOf(ExtractionServer.DEFAULT_PORT)));
+        ExtractionServer server = new ExtractionServer(port);
+        if (commandLine.hasOption("descriptions")) {
+            server.registerDescriptionsFrom(Paths.get(commandLine.getOptionValue("descriptions")));
         }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
     }
 
 }
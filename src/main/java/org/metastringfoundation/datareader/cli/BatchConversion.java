@@ -0,0 +1,174 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.cli;
+
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.cache.DatasetCache;
+import org.metastringfoundation.datareader.dataset.table.FieldDescription;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableDescriptionRegistry;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.events.ExtractionEvents;
+import org.metastringfoundation.datareader.ingest.BulkIngestion;
+import org.metastringfoundation.datareader.ingest.DescriptionResolver;
+import org.metastringfoundation.datareader.ingest.ExecutionPlanner;
+import org.metastringfoundation.datareader.ingest.IngestionResult;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+import org.metastringfoundation.datareader.metrics.Stage;
+import org.metastringfoundation.datareader.output.DataPointWriter;
+import org.metastringfoundation.datareader.output.OutputFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Converts many data files into one output, the way the command line does it.
+ *
+ * Files are read concurrently, but each file's data points are written out together, so the output of one file
+ * is never interleaved with another's. The order of files in the output is the order in which they finish.
+ * Every data point of a file is made before any of them is written (see {@link BulkIngestion}), so only writing
+ * waits on the other files, and a file that fails part way through leaves nothing in the output.
+ */
+public class BatchConversion {
+    private static final String[] DESCRIPTION_SUFFIXES = {".description.json", ".metadata.json"};
+
+    private final List<Path> dataFiles;
+    private final DescriptionResolver descriptionResolver;
+    private final OutputFormat format;
+    private final int threads;
+    private final boolean shouldAddAddressToDatapoint;
+    private final ExecutionPlanner planner;
+    private final boolean useSnapshots;
+    private final DatasetCache cache;
+
+    public BatchConversion(List<Path> dataFiles, DescriptionResolver descriptionResolver, OutputFormat format, int threads, boolean shouldAddAddressToDatapoint) {
+        this(dataFiles, descriptionResolver, format, threads, shouldAddAddressToDatapoint, null);
+    }
+
+    /**
+     * @param planner picks how each file is read, see {@link BulkIngestion}; null to parse every file into the heap
+     */
+    public BatchConversion(List<Path> dataFiles, DescriptionResolver descriptionResolver, OutputFormat format, int threads, boolean shouldAddAddressToDatapoint, ExecutionPlanner planner) {
+        this(dataFiles, descriptionResolver, format, threads, shouldAddAddressToDatapoint, planner, false);
+    }
+
+    /**
+     * @param useSnapshots whether files parsed into the heap are reloaded from snapshots while unchanged, see {@link BulkIngestion}
+     */
+    public BatchConversion(List<Path> dataFiles, DescriptionResolver descriptionResolver, OutputFormat format, int threads, boolean shouldAddAddressToDatapoint, ExecutionPlanner planner, boolean useSnapshots) {
+        this(dataFiles, descriptionResolver, format, threads, shouldAddAddressToDatapoint, planner, useSnapshots, null);
+    }
+
+    /**
+     * @param cache where extracted datasets are kept between runs, see {@link BulkIngestion}; null to extract every file
+     */
+    public BatchConversion(List<Path> dataFiles, DescriptionResolver descriptionResolver, OutputFormat format, int threads, boolean shouldAddAddressToDatapoint, ExecutionPlanner planner, boolean useSnapshots, DatasetCache cache) {
+        this.dataFiles = dataFiles;
+        this.descriptionResolver = descriptionResolver;
+        this.format = format;
+        this.threads = threads;
+        this.shouldAddAddressToDatapoint = shouldAddAddressToDatapoint;
+        this.planner = planner;
+        this.useSnapshots = useSnapshots;
+        this.cache = cache;
+    }
+
+    /**
+     * Uses the same description for every data file
+     */
+    public static DescriptionResolver fixedDescription(TableDescriptionRegistry registry, Path description) {
+        return dataFile -> registry.get(description);
+    }
+
+    /**
+     * Uses the description next to each data file: data.description.json or data.metadata.json for data.csv
+     */
+    public static DescriptionResolver siblingDescriptions(TableDescriptionRegistry registry) {
+        return dataFile -> {
+            String fileName = dataFile.getFileName().toString();
+            int extension = fileName.lastIndexOf('.');
+            String baseName = extension > 0 ? fileName.substring(0, extension) : fileName;
+            for (String suffix : DESCRIPTION_SUFFIXES) {
+                Path description = dataFile.resolveSibling(baseName + suffix);
+                if (Files.exists(description)) {
+                    return registry.get(description);
+                }
+            }
+            throw new IOException("No " + String.join(" or ", DESCRIPTION_SUFFIXES) + " description next to " + dataFile);
+        };
+    }
+
+    /**
+     * Writes every data point into the output and closes it
+     * @return what happened to each file, in the order the files were given
+     */
+    public List<IngestionResult> run(OutputStream output) throws IOException, InterruptedException {
+        DataPointWriter writer = format.newWriter(output, format.needsColumns() ? columns() : null);
+        List<IngestionResult> results;
+        try (BulkIngestion ingestion = new BulkIngestion(threads, descriptionResolver, (dataFile, dataset) -> {
+            synchronized (writer) {
+                Object event = ExtractionEvents.beginDatasetEmit();
+                long start = System.nanoTime();
+                long dataPoints = 0;
+                for (DataPoint dataPoint : dataset) {
+                    writer.write(dataPoint);
+                    dataPoints++;
+                }
+                writer.flush();
+                PipelineMetrics.get().recordSince(Stage.OUTPUT, start);
+                ExtractionEvents.endDatasetEmit(event, dataFile.toString(), dataPoints);
+            }
+        }, shouldAddAddressToDatapoint, planner, useSnapshots, true, cache)) {
+            results = ingestion.ingest(dataFiles);
+        }
+        writer.close();
+        return results;
+    }
+
+    /**
+     * Every field any of the descriptions can produce, for formats that need a fixed header
+     */
+    private List<String> columns() {
+        Set<String> columns = new LinkedHashSet<>();
+        for (Path dataFile : dataFiles) {
+            TableDescription description;
+            try {
+                description = descriptionResolver.resolve(dataFile);
+            } catch (IOException | DatasetIntegrityError e) {
+                // reported when the file itself is ingested
+                continue;
+            }
+            for (FieldDescription field : description.getFieldDescriptionList()) {
+                columns.add(field.getField());
+            }
+        }
+        columns.add("value");
+        if (shouldAddAddressToDatapoint) {
+            columns.add(TableToDatasetAdapter.DATA_FILE_TYPE_FIELD);
+            columns.add(TableToDatasetAdapter.ROW_FIELD);
+            columns.add(TableToDatasetAdapter.COLUMN_FIELD);
+        }
+        return new ArrayList<>(columns);
+    }
+}
@@ -26,13 +26,138 @@ public class CLI {
      * Path to a file that needs to be uploaded to the dataset
      */
     final static Option path = Option.builder("p")
-            .hasArg()
+            .hasArgs()
             .longOpt("path")
-            .desc("Path to the file")
+            .desc("Data file, directory of CSV files or glob; can be repeated")
+            .build();
+
+    /**
+     * Description used for every file; without it, each file uses the description next to it
+     */
+    final static Option description = Option.builder("d")
+            .hasArg()
+            .longOpt("description")
+            .desc("Description for all the files (default: <name>.description.json or <name>.metadata.json next to each file)")
+            .build();
+
+    final static Option threads = Option.builder("t")
+            .hasArg()
+            .longOpt("threads")
+            .desc("Number of files read at once (default: number of processors)")
+            .build();
+
+    final static Option format = Option.builder("f")
+            .hasArg()
+            .longOpt("format")
+            .desc("Output format: json, ndjson, csv or binary (default: ndjson)")
+            .build();
+
+    final static Option output = Option.builder("o")
+            .hasArg()
+            .longOpt("output")
+            .desc("Output file (default: standard output)")
+            .build();
+
+    final static Option withAddress = Option.builder()
+            .longOpt("with-address")
+            .desc("Add the row and column each data point came from")
+            .build();
+
+    /**
+     * Run as a long lived HTTP extraction server instead of reading a file
+     */
+    final static Option server = Option.builder()
+            .longOpt("server")
+            .desc("Run the HTTP extraction server")
+            .build();
+
+    final static Option port = Option.builder()
+            .hasArg()
+            .longOpt("port")
+            .desc("Port for the server (default 8080)")
+            .build();
+
+    /**
+     * Directory whose *.json descriptions the server registers on startup
+     */
+    final static Option descriptions = Option.builder()
+            .hasArg()
+            .longOpt("descriptions")
+            .desc("Directory of descriptions to register with the server")
+            .build();
+
+    /**
+     * Instead of converting, show how each file would be read
+     */
+    final static Option explain = Option.builder()
+            .longOpt("explain")
+            .desc("Show how the description would be applied to each file instead of converting it")
+            .build();
+
+    final static Option explainAnalyze = Option.builder()
+            .longOpt("explain-analyze")
+            .desc("Like --explain, but also run the extraction and show what each field cost")
+            .build();
+
+    /**
+     * Log a summary of the pipeline metrics every so many seconds; they are always available over JMX
+     */
+    final static Option reportMetrics = Option.builder()
+            .hasArg()
+            .longOpt("report-metrics")
+            .desc("Log pipeline metrics every this many seconds")
+            .build();
+
+    /**
+     * Heap the conversion may use; each file gets its share and is read in whichever mode fits in it
+     */
+    final static Option memoryBudget = Option.builder()
+            .hasArg()
+            .longOpt("memory-budget")
+            .desc("Heap for reading files, such as 2g; the data points of files that would not fit are spilled to temporary files")
+            .build();
+
+    /**
+     * Parse each file once and reload it from a snapshot next to it while the file is unchanged, see {@link org.metastringfoundation.datareader.dataset.table.snapshot.TableSnapshot}
+     */
+    final static Option snapshots = Option.builder()
+            .longOpt("snapshots")
+            .desc("Reuse a binary snapshot of each file parsed into the heap while the file is unchanged, writing one next to it otherwise")
+            .build();
+
+    /**
+     * Keep extracted datasets in this directory and read them back while neither the file nor its description changed,
+     * see {@link org.metastringfoundation.datareader.dataset.cache.DatasetCache}
+     */
+    final static Option cacheDirectory = Option.builder()
+            .hasArg()
+            .longOpt("cache-dir")
+            .desc("Directory to keep extracted datasets in, reused while the file and its description are unchanged")
+            .build();
+
+    final static Option cacheSize = Option.builder()
+            .hasArg()
+            .longOpt("cache-size")
+            .desc("Disk space the cache directory may take, such as 10g (default: 1g)")
             .build();
 
     public final static Options options = new Options()
-            .addOption(path);
+            .addOption(path)
+            .addOption(description)
+            .addOption(threads)
+            .addOption(format)
+            .addOption(output)
+            .addOption(withAddress)
+            .addOption(memoryBudget)
+            .addOption(snapshots)
+            .addOption(cacheDirectory)
+            .addOption(cacheSize)
+            .addOption(explain)
+            .addOption(explainAnalyze)
+            .addOption(reportMetrics)
+            .addOption(server)
+            .addOption(port)
+            .addOption(descriptions);
 
     public CommandLine parse(String[] args) throws IllegalArgumentException, ParseException {
 
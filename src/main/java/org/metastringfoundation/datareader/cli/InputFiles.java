@@ -0,0 +1,97 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.cli;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Turns what was given on the command line into data files. Each argument can be a file, a directory
+ * (every *.csv file under it) or a glob such as {@code data/**}{@code /*.csv}. Unlike a plain
+ * {@link PathMatcher} glob, {@code **}{@code /} also matches no directories at all, as in shells, so that
+ * example takes in the files directly in {@code data} too.
+ */
+public class InputFiles {
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    public static List<Path> expand(String... arguments) throws IOException {
+        Set<Path> files = new LinkedHashSet<>();
+        for (String argument : arguments) {
+            files.addAll(expandOne(argument));
+        }
+        return new ArrayList<>(files);
+    }
+
+    private static List<Path> expandOne(String argument) throws IOException {
+        if (isGlob(argument)) {
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + argument);
+            PathMatcher withoutAnyDirectories = FileSystems.getDefault().getPathMatcher("glob:" + argument.replace("**/", ""));
+            return walk(baseOfGlob(argument), file -> matcher.matches(file) || withoutAnyDirectories.matches(file));
+        }
+        Path path = Paths.get(argument);
+        if (Files.isDirectory(path)) {
+            return walk(path, file -> file.getFileName().toString().endsWith(".csv"));
+        }
+        if (!Files.exists(path)) {
+            throw new IOException("No such file: " + argument);
+        }
+        return Collections.singletonList(path);
+    }
+
+    private static boolean isGlob(String argument) {
+        for (char c : GLOB_CHARACTERS.toCharArray()) {
+            if (argument.indexOf(c) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The directory part of the glob before the first segment with a wildcard in it
+     */
+    private static Path baseOfGlob(String glob) {
+        String[] segments = glob.split("[/\\\\]", -1);
+        StringBuilder base = new StringBuilder();
+        for (int i = 0; i < segments.length - 1 && !isGlob(segments[i]); i++) {
+            base.append(segments[i]).append('/');
+        }
+        return Paths.get(base.toString());
+    }
+
+    private static List<Path> walk(Path directory, Predicate<Path> filter) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .filter(filter)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
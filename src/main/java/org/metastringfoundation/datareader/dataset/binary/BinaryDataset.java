@@ -0,0 +1,172 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.binary;
+
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.data.Dataset;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A dataset stored in a binary dataset file. Iterating streams the points from the file;
+ * {@link #getData()} reads all of them into memory.
+ *
+ * An iteration keeps the file open until it reaches the end. {@link #close()} closes the file for any that
+ * were left part way.
+ */
+public class BinaryDataset implements Dataset, Closeable {
+    private final Path path;
+    private volatile List<DataPoint> data;
+    /** opened ahead of the first iteration, see {@link #open(Path)} */
+    private InputStream opened;
+    private final List<BinaryDatasetReader> openReaders = new ArrayList<>();
+    /** known once an iteration has reached the end */
+    private volatile long numberOfDataPoints = -1;
+
+    public BinaryDataset(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Opens the file right away, so that the first iteration reads it even if it is deleted in the meanwhile
+     * (as by a cache evicting it). The file stays open until that iteration reaches its end; later iterations
+     * open it again.
+     */
+    public static BinaryDataset open(Path path) throws IOException {
+        BinaryDataset dataset = new BinaryDataset(path);
+        dataset.opened = Files.newInputStream(path);
+        return dataset;
+    }
+
+    public static void write(Iterable<DataPoint> dataPoints, Path path) throws IOException {
+        try (BinaryDatasetWriter writer = new BinaryDatasetWriter(Files.newOutputStream(path))) {
+            writer.writeAll(dataPoints);
+        }
+    }
+
+    @Override
+    public synchronized List<DataPoint> getData() {
+        if (data == null) {
+            List<DataPoint> dataRead = new ArrayList<>();
+            iterator().forEachRemaining(dataRead::add);
+            data = Collections.unmodifiableList(dataRead);
+        }
+        return data;
+    }
+
+    /**
+     * The file is closed once the iteration reaches its end
+     */
+    @Override
+    public Iterator<DataPoint> iterator() {
+        if (data != null) {
+            return data.iterator();
+        }
+        InputStream inputStream;
+        synchronized (this) {
+            inputStream = opened;
+            opened = null;
+        }
+        BinaryDatasetReader reader;
+        try {
+            reader = new BinaryDatasetReader(inputStream != null ? inputStream : Files.newInputStream(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        synchronized (openReaders) {
+            openReaders.add(reader);
+        }
+        return new Iterator<DataPoint>() {
+            private long read = 0;
+
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = reader.hasNext();
+                if (!hasNext) {
+                    numberOfDataPoints = read;
+                    synchronized (openReaders) {
+                        openReaders.remove(reader);
+                    }
+                }
+                return hasNext;
+            }
+
+            @Override
+            public DataPoint next() {
+                DataPoint dataPoint = reader.next();
+                read++;
+                return dataPoint;
+            }
+        };
+    }
+
+    /**
+     * Goes over the file to count the points, unless an iteration has already been through all of them
+     */
+    public long getNumberOfDataPoints() {
+        if (numberOfDataPoints < 0) {
+            Iterator<DataPoint> iterator = iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+        }
+        return numberOfDataPoints;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Closes the file if it was opened ahead and never iterated, and for every iteration that did not reach the end.
+     * The points already read by {@link #getData()} stay readable.
+     */
+    @Override
+    public void close() throws IOException {
+        List<Closeable> toClose = new ArrayList<>();
+        synchronized (this) {
+            if (opened != null) {
+                toClose.add(opened);
+                opened = null;
+            }
+        }
+        synchronized (openReaders) {
+            toClose.addAll(openReaders);
+            openReaders.clear();
+        }
+        IOException failure = null;
+        for (Closeable closeable : toClose) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.binary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Compact binary encoding of data points.
+ *
+ * <pre>
+ * file   := MAGIC VERSION point* END
+ * point  := POINT fields | ADDRESSED_POINT dataFileType:string row:varint column:varint fields
+ * fields := count:varint (key:string value:string){count}
+ * string := NULL | NEW length:varint utf8-bytes | (dictionaryIndex + FIRST_DICTIONARY_REFERENCE):varint
+ * </pre>
+ *
+ * Field names and most values repeat from point to point, so every new string is added to a dictionary
+ * (up to {@link #MAX_DICTIONARY_SIZE} entries) and written as a reference to it afterwards.
+ *
+ * Points that keep their address packed (see {@link org.metastringfoundation.data.DataPoint#hasAddress()}) are
+ * written as addressed points, with the row and column as numbers. Version 1 files have no addressed points
+ * and can still be read.
+ */
+class BinaryDatasetFormat {
+    static final byte[] MAGIC = {'D', 'R', 'D', 'P'};
+    static final int VERSION = 2;
+    static final int OLDEST_READABLE_VERSION = 1;
+
+    static final int END = 0;
+    static final int POINT = 1;
+    static final int ADDRESSED_POINT = 2;
+
+    static final int NULL = 0;
+    static final int NEW = 1;
+    static final int FIRST_DICTIONARY_REFERENCE = 2;
+
+    static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    static void writeVarint(DataOutput output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    static long readVarint(DataInput input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = input.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.binary;
+
+import org.metastringfoundation.data.DataPoint;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.metastringfoundation.datareader.dataset.binary.BinaryDatasetFormat.*;
+
+/**
+ * Reads back data points written by {@link BinaryDatasetWriter}, one at a time
+ */
+public class BinaryDatasetReader implements Iterator<DataPoint>, Closeable {
+    private final DataInputStream input;
+    private final List<String> dictionary = new ArrayList<>();
+    private DataPoint next;
+    private boolean ended = false;
+
+    public BinaryDatasetReader(InputStream inputStream) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(inputStream));
+        byte[] magic = new byte[MAGIC.length];
+        input.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a binary dataset");
+        }
+        long version = readVarint(input);
+        if (version < OLDEST_READABLE_VERSION || version > VERSION) {
+            throw new IOException("Unsupported binary dataset version " + version);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !ended) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public DataPoint next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        DataPoint current = next;
+        next = null;
+        return current;
+    }
+
+    private DataPoint readNext() throws IOException {
+        long tag = readVarint(input);
+        if (tag == END) {
+            ended = true;
+            close();
+            return null;
+        }
+        if (tag == POINT) {
+            return new DataPoint(readFields());
+        }
+        if (tag == ADDRESSED_POINT) {
+            String dataFileType = readString();
+            int row = (int) readVarint(input);
+            int column = (int) readVarint(input);
+            return new DataPoint(readFields(), dataFileType, row, column);
+        }
+        throw new IOException("Unexpected record " + tag);
+    }
+
+    private Map<String, String> readFields() throws IOException {
+        int numberOfFields = (int) readVarint(input);
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < numberOfFields; i++) {
+            String key = readString();
+            fields.put(key, readString());
+        }
+        return fields;
+    }
+
+    private String readString() throws IOException {
+        long reference = readVarint(input);
+        if (reference == NULL) {
+            return null;
+        }
+        if (reference != NEW) {
+            return dictionary.get((int) (reference - FIRST_DICTIONARY_REFERENCE));
+        }
+        byte[] bytes = new byte[(int) readVarint(input)];
+        input.readFully(bytes);
+        String string = new String(bytes, StandardCharsets.UTF_8);
+        if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+            dictionary.add(string);
+        }
+        return string;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
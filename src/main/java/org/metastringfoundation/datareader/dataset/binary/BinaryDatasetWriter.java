@@ -0,0 +1,145 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.binary;
+
+import org.metastringfoundation.data.DataPoint;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.metastringfoundation.datareader.dataset.binary.BinaryDatasetFormat.*;
+
+/**
+ * Writes data points in the format described in {@link BinaryDatasetFormat}
+ */
+public class BinaryDatasetWriter implements Closeable {
+    private final DataOutputStream output;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private long numberOfDataPoints = 0;
+    /** set when a write did not complete, so that the output is never ended as if it were whole */
+    private boolean failed = false;
+    private boolean finished = false;
+
+    public BinaryDatasetWriter(OutputStream outputStream) throws IOException {
+        this.output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.write(MAGIC);
+        writeVarint(output, VERSION);
+    }
+
+    public void write(DataPoint dataPoint) throws IOException {
+        boolean written = false;
+        try {
+            writePoint(dataPoint);
+            written = true;
+        } finally {
+            failed |= !written;
+        }
+    }
+
+    private void writePoint(DataPoint dataPoint) throws IOException {
+        Map<String, String> fields = dataPoint;
+        if (dataPoint.hasAddress()) {
+            writeVarint(output, ADDRESSED_POINT);
+            writeString(dataPoint.getDataFileType());
+            writeVarint(output, dataPoint.getRow());
+            writeVarint(output, dataPoint.getColumn());
+            fields = dataPoint.getFieldsExceptAddress();
+        } else {
+            writeVarint(output, POINT);
+        }
+        writeVarint(output, fields.size());
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            writeString(field.getKey());
+            writeString(field.getValue());
+        }
+        numberOfDataPoints++;
+    }
+
+    /**
+     * If the points cannot all be written, including when iterating them fails, the output is left without its end
+     * marker, so that it cannot be read back as if it were complete
+     */
+    public void writeAll(Iterable<DataPoint> dataPoints) throws IOException {
+        boolean written = false;
+        try {
+            for (DataPoint dataPoint : dataPoints) {
+                write(dataPoint);
+            }
+            written = true;
+        } finally {
+            failed |= !written;
+        }
+    }
+
+    private void writeString(String string) throws IOException {
+        if (string == null) {
+            writeVarint(output, NULL);
+            return;
+        }
+        Integer index = dictionary.get(string);
+        if (index != null) {
+            writeVarint(output, index + FIRST_DICTIONARY_REFERENCE);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarint(output, NEW);
+        writeVarint(output, bytes.length);
+        output.write(bytes);
+        if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+            dictionary.put(string, dictionary.size());
+        }
+    }
+
+    public long getNumberOfDataPoints() {
+        return numberOfDataPoints;
+    }
+
+    /**
+     * Writes the end marker and flushes, without closing the underlying stream
+     * @throws IOException also if an earlier write failed, as the output is then incomplete
+     */
+    public void finish() throws IOException {
+        if (failed) {
+            throw new IOException("Not ending a binary dataset that could not be written completely");
+        }
+        if (!finished) {
+            writeVarint(output, END);
+            output.flush();
+            finished = true;
+        }
+    }
+
+    /**
+     * Ends the output, unless a write failed, and closes it
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!failed) {
+                finish();
+            }
+        } finally {
+            output.close();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.cache;
+
+import com.google.common.io.BaseEncoding;
+import org.metastringfoundation.data.Dataset;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.binary.BinaryDataset;
+import org.metastringfoundation.datareader.dataset.binary.BinaryDatasetWriter;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.metastringfoundation.datareader.helpers.Jsonizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * On-disk cache of extracted datasets, addressed by their inputs: the bytes of the data file,
+ * the description and whether addresses are added to data points.
+ *
+ * Several JVMs can share a cache directory. Entries are written to a temporary file and moved into place
+ * atomically, so readers only ever see complete entries. Eviction runs under a file lock, removing the
+ * least recently used entries (by modification time, which is refreshed on every hit) until the cache
+ * fits in its size limit.
+ */
+public class DatasetCache {
+    private static final Logger LOG = Logger.getLogger(DatasetCache.class.getName());
+    // bump when the key or the stored format changes, so that old entries are never read
+    private static final String KEY_VERSION = "1";
+    private static final String ENTRY_SUFFIX = ".drds";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String LOCK_FILE = ".lock";
+    private static final long STALE_TEMPORARY_FILE_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final Path directory;
+    private final long maxBytes;
+
+    public DatasetCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Returns the dataset from the cache if it is there. Otherwise reads the data file, extracts the dataset
+     * and stores it in the cache, then returns what was stored. Close the dataset once done with it.
+     */
+    public BinaryDataset getOrExtract(Path dataFile, TableDescription tableDescription, boolean shouldAddAddressToDatapoint) throws IOException, DatasetIntegrityError {
+        String key = keyOf(dataFile, tableDescription, shouldAddAddressToDatapoint);
+        Optional<BinaryDataset> cached = get(key);
+        if (cached.isPresent()) {
+            LOG.fine("Cache hit for " + dataFile);
+            return cached.get();
+        }
+        LOG.fine("Cache miss for " + dataFile);
+        return store(key, new TableToDatasetAdapter(CSVTable.fromPath(dataFile), tableDescription, shouldAddAddressToDatapoint));
+    }
+
+    public String keyOf(Path dataFile, TableDescription tableDescription, boolean shouldAddAddressToDatapoint) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(KEY_VERSION.getBytes(StandardCharsets.UTF_8));
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = Files.newInputStream(dataFile)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        digest.update((byte) 0);
+        digest.update(Jsonizer.asCanonicalJSON(tableDescription).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) (shouldAddAddressToDatapoint ? 1 : 0));
+        return BaseEncoding.base16().lowerCase().encode(digest.digest());
+    }
+
+    /**
+     * The entry is opened when it is found, so that a concurrent eviction, from this JVM or another, cannot make
+     * a hit fail once it is read. On platforms that allow deleting open files, that is. Close the dataset once done
+     * with it.
+     */
+    public Optional<BinaryDataset> get(String key) {
+        Path entry = entryPath(key);
+        if (!Files.isRegularFile(entry)) {
+            return Optional.empty();
+        }
+        BinaryDataset dataset;
+        try {
+            dataset = BinaryDataset.open(entry);
+        } catch (NoSuchFileException e) {
+            // evicted in the meanwhile
+            return Optional.empty();
+        } catch (IOException e) {
+            LOG.info("Could not open cache entry " + entry + ": " + e);
+            return Optional.empty();
+        }
+        try {
+            // modification time doubles as the last access time for eviction
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // including when it was evicted just now; it is open, so it can still be read
+            LOG.fine("Could not refresh access time of " + entry + ": " + e);
+        }
+        return Optional.of(dataset);
+    }
+
+    public void put(String key, Dataset dataset) throws IOException {
+        store(key, dataset).close();
+    }
+
+    /**
+     * The entry is opened before the cache is brought back within its size limit, so that it can be read even if
+     * it is larger than the whole cache and evicted right away
+     */
+    private BinaryDataset store(String key, Dataset dataset) throws IOException {
+        Path temporary = directory.resolve(key + "." + UUID.randomUUID() + TEMPORARY_SUFFIX);
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temporary);
+                 BinaryDatasetWriter writer = new BinaryDatasetWriter(outputStream)) {
+                writer.writeAll(dataset);
+            }
+            Path entry = entryPath(key);
+            BinaryDataset[] stored = new BinaryDataset[1];
+            underLock(() -> {
+                Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                stored[0] = BinaryDataset.open(entry);
+                evictUnderLock();
+            });
+            return stored[0];
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Removes least recently used entries until the cache fits in its size limit
+     */
+    public void evict() throws IOException {
+        underLock(this::evictUnderLock);
+    }
+
+    @SuppressWarnings("try") // the lock is only held, never used
+    private void underLock(LockedAction action) throws IOException {
+        // FileLock only excludes other processes; threads of this JVM queue up here
+        synchronized (DatasetCache.class) {
+            try (FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                action.run();
+            }
+        }
+    }
+
+    private void evictUnderLock() throws IOException {
+        List<CacheEntry> entries = new ArrayList<>();
+        long totalBytes = 0;
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    long lastModified = Files.getLastModifiedTime(file).toMillis();
+                    if (name.endsWith(TEMPORARY_SUFFIX) && now - lastModified > STALE_TEMPORARY_FILE_AGE_MILLIS) {
+                        // left behind by a writer that died midway
+                        Files.deleteIfExists(file);
+                    } else if (name.endsWith(ENTRY_SUFFIX)) {
+                        CacheEntry entry = new CacheEntry(file, Files.size(file), lastModified);
+                        entries.add(entry);
+                        totalBytes += entry.size;
+                    }
+                } catch (NoSuchFileException e) {
+                    // removed by someone else while we were listing
+                }
+            }
+        }
+
+        entries.sort(Comparator.comparingLong(entry -> entry.lastUsed));
+        for (CacheEntry entry : entries) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(entry.path);
+                totalBytes -= entry.size;
+                LOG.fine("Evicted " + entry.path);
+            } catch (IOException e) {
+                // can happen on platforms that do not allow deleting open files; try again next time
+                LOG.fine("Could not evict " + entry.path + ": " + e);
+            }
+        }
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported by every JVM", e);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @FunctionalInterface
+    private interface LockedAction {
+        void run() throws IOException;
+    }
+
+    private static class CacheEntry {
+        private final Path path;
+        private final long size;
+        private final long lastUsed;
+
+        private CacheEntry(Path path, long size, long lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.spill;
+
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.data.Dataset;
+import org.metastringfoundation.datareader.dataset.binary.BinaryDatasetReader;
+import org.metastringfoundation.datareader.dataset.binary.BinaryDatasetWriter;
+import org.metastringfoundation.datareader.helpers.HeapSizes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+
+/**
+ * A dataset that holds data points in memory up to a byte budget and moves them to temporary files beyond it,
+ * so that datasets larger than the heap can still be collected and gone over.
+ *
+ * Each time the points in memory grow past the budget, they are written out as a run in the binary dataset
+ * format. Without a comparator, runs are kept in the order they were added and iterating gives the points in
+ * insertion order. With a comparator, each run is sorted before it is written and iterating merges the runs,
+ * so the points come out sorted.
+ *
+ * The sizes of points are estimated with {@link HeapSizes}, not measured. The dataset is not
+ * safe for use from several threads, and points should not be added while it is being iterated.
+ * {@link #close()} deletes the run files.
+ */
+public class SpillingDataset implements Dataset, Closeable {
+    private static final Logger LOG = Logger.getLogger(SpillingDataset.class.getName());
+
+    private final long memoryBudgetBytes;
+    private final Path spillDirectory;
+    private final Comparator<DataPoint> order;
+    private final List<DataPoint> inMemory = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private final List<BinaryDatasetReader> openReaders = new ArrayList<>();
+    private long inMemoryBytes;
+    private long numberOfDataPoints;
+    private long spilledBytes;
+    private boolean closed;
+
+    /**
+     * @param memoryBudgetBytes estimated heap the points held in memory may take
+     * @param spillDirectory    where run files are created
+     * @param order             order to give the points in, or null to keep the order they were added in
+     */
+    public SpillingDataset(long memoryBudgetBytes, Path spillDirectory, Comparator<DataPoint> order) {
+        if (memoryBudgetBytes < 1) {
+            throw new IllegalArgumentException("Memory budget should be at least 1 byte");
+        }
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.spillDirectory = spillDirectory;
+        this.order = order;
+    }
+
+    public SpillingDataset(long memoryBudgetBytes) {
+        this(memoryBudgetBytes, Paths.get(System.getProperty("java.io.tmpdir")), null);
+    }
+
+    /**
+     * Collects data points, for example the ones streamed by a
+     * {@link org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter}, into a spilling dataset
+     */
+    public static SpillingDataset of(Iterable<DataPoint> dataPoints, long memoryBudgetBytes) throws IOException {
+        SpillingDataset dataset = new SpillingDataset(memoryBudgetBytes);
+        try {
+            dataset.addAll(dataPoints);
+        } catch (IOException | RuntimeException e) {
+            dataset.close();
+            throw e;
+        }
+        return dataset;
+    }
+
+    public void add(DataPoint dataPoint) throws IOException {
+        checkOpen();
+        inMemory.add(dataPoint);
+        inMemoryBytes += HeapSizes.ofMap(dataPoint);
+        numberOfDataPoints++;
+        if (inMemoryBytes > memoryBudgetBytes) {
+            spill();
+        }
+    }
+
+    public void addAll(Iterable<DataPoint> dataPoints) throws IOException {
+        for (DataPoint dataPoint : dataPoints) {
+            add(dataPoint);
+        }
+    }
+
+    private void spill() throws IOException {
+        if (order != null) {
+            inMemory.sort(order);
+        }
+        Path run = Files.createTempFile(spillDirectory, "data-reader-spill-", ".bin");
+        runs.add(run);
+        try (BinaryDatasetWriter writer = new BinaryDatasetWriter(Files.newOutputStream(run))) {
+            writer.writeAll(inMemory);
+        }
+        spilledBytes += Files.size(run);
+        LOG.fine(() -> "Spilled " + inMemory.size() + " data points to " + run);
+        inMemory.clear();
+        inMemoryBytes = 0;
+    }
+
+    /**
+     * Reads every point into a list, so this needs as much heap as the whole dataset. Prefer iterating.
+     */
+    @Override
+    public List<DataPoint> getData() {
+        List<DataPoint> data = new ArrayList<>();
+        iterator().forEachRemaining(data::add);
+        return Collections.unmodifiableList(data);
+    }
+
+    /**
+     * Run files are read as the iteration reaches them and closed once it is past them
+     */
+    @Override
+    public Iterator<DataPoint> iterator() {
+        checkOpen();
+        if (order != null) {
+            inMemory.sort(order);
+        }
+        List<Iterator<DataPoint>> sources = new ArrayList<>();
+        for (Path run : runs) {
+            sources.add(new LazyRunIterator(run));
+        }
+        sources.add(inMemory.iterator());
+        if (order == null) {
+            return new ConcatenatingIterator(sources);
+        }
+        return new MergingIterator(sources, order);
+    }
+
+    public long getNumberOfDataPoints() {
+        return numberOfDataPoints;
+    }
+
+    public int getNumberOfRuns() {
+        return runs.size();
+    }
+
+    public long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        IOException failure = null;
+        for (BinaryDatasetReader reader : openReaders) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        openReaders.clear();
+        runs.clear();
+        inMemory.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Dataset has been closed");
+        }
+    }
+
+    /**
+     * Opens its run only when first asked, so that going over runs one after the other keeps one file open at a time
+     */
+    private class LazyRunIterator implements Iterator<DataPoint> {
+        private final Path run;
+        private BinaryDatasetReader reader;
+
+        LazyRunIterator(Path run) {
+            this.run = run;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (reader == null) {
+                try {
+                    reader = new BinaryDatasetReader(Files.newInputStream(run));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                openReaders.add(reader);
+            }
+            boolean hasNext = reader.hasNext();
+            if (!hasNext) {
+                openReaders.remove(reader);
+            }
+            return hasNext;
+        }
+
+        @Override
+        public DataPoint next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return reader.next();
+        }
+    }
+
+    private static class ConcatenatingIterator implements Iterator<DataPoint> {
+        private final Iterator<Iterator<DataPoint>> sources;
+        private Iterator<DataPoint> current = Collections.emptyIterator();
+
+        ConcatenatingIterator(List<Iterator<DataPoint>> sources) {
+            this.sources = sources.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && sources.hasNext()) {
+                current = sources.next();
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public DataPoint next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+
+    private static class MergingIterator implements Iterator<DataPoint> {
+        private final PriorityQueue<Head> heads;
+
+        MergingIterator(List<Iterator<DataPoint>> sources, Comparator<DataPoint> order) {
+            Comparator<Head> byPoint = Comparator.comparing(head -> head.dataPoint, order);
+            // ties go to the earlier source, so points that compare equal keep the order they were added in
+            this.heads = new PriorityQueue<>(Math.max(1, sources.size()), byPoint.thenComparingInt(head -> head.source));
+            for (int source = 0; source < sources.size(); source++) {
+                Iterator<DataPoint> iterator = sources.get(source);
+                if (iterator.hasNext()) {
+                    heads.add(new Head(iterator.next(), iterator, source));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public DataPoint next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            DataPoint dataPoint = head.dataPoint;
+            if (head.rest.hasNext()) {
+                heads.add(new Head(head.rest.next(), head.rest, head.source));
+            }
+            return dataPoint;
+        }
+    }
+
+    private static class Head {
+        final DataPoint dataPoint;
+        final Iterator<DataPoint> rest;
+        final int source;
+
+        Head(DataPoint dataPoint, Iterator<DataPoint> rest, int source) {
+            this.dataPoint = dataPoint;
+            this.rest = rest;
+            this.source = source;
+        }
+    }
+}
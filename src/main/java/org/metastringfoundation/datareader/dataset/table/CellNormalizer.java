@@ -0,0 +1,92 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import org.metastringfoundation.datareader.helpers.InternPool;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cleans up cells as a table reader takes them in: trims whitespace, replaces the many ways of saying
+ * "not available" with one, and interns the result so that repeated values share one string from the table all
+ * the way into the data points.
+ *
+ * Tables are read with {@link #interning()} unless told otherwise. It interns without changing any value.
+ * Trimming and replacing tokens change what is read, so they are only done when asked for.
+ */
+public class CellNormalizer {
+    public static final String NOT_AVAILABLE = "NA";
+    public static final Set<String> DEFAULT_NOT_AVAILABLE_TOKENS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "NA", "N/A", "n/a", "na", "-", "--", "N.A.", "NULL", "null")));
+    public static final int DEFAULT_INTERN_POOL_SIZE = 1 << 14;
+
+    private static final CellNormalizer NONE = new CellNormalizer(false, Collections.emptySet(), null, null);
+    private static final CellNormalizer INTERNING = new CellNormalizer(false, Collections.emptySet(), null, new InternPool(DEFAULT_INTERN_POOL_SIZE));
+
+    private final boolean trim;
+    private final Set<String> notAvailableTokens;
+    private final String notAvailable;
+    private final InternPool internPool;
+
+    /**
+     * @param trim               whether to strip whitespace around cells
+     * @param notAvailableTokens cells (after trimming) that mean the value is not available
+     * @param notAvailable       what those cells are replaced with
+     * @param internPool         pool to intern cells through, or null not to intern; pools can be shared by tables
+     */
+    public CellNormalizer(boolean trim, Set<String> notAvailableTokens, String notAvailable, InternPool internPool) {
+        this.trim = trim;
+        this.notAvailableTokens = new HashSet<>(notAvailableTokens);
+        this.notAvailable = notAvailable;
+        this.internPool = internPool;
+    }
+
+    /**
+     * Leaves cells exactly as they were read
+     */
+    public static CellNormalizer none() {
+        return NONE;
+    }
+
+    /**
+     * Interns cells through a pool shared by the whole JVM, without changing them
+     */
+    public static CellNormalizer interning() {
+        return INTERNING;
+    }
+
+    /**
+     * Trims, turns {@link #DEFAULT_NOT_AVAILABLE_TOKENS} into {@link #NOT_AVAILABLE} and interns through the shared pool
+     */
+    public static CellNormalizer cleaning() {
+        return new CellNormalizer(true, DEFAULT_NOT_AVAILABLE_TOKENS, NOT_AVAILABLE, INTERNING.internPool);
+    }
+
+    public String normalize(String cell) {
+        String normalized = cell;
+        if (trim) {
+            normalized = normalized.trim();
+        }
+        if (notAvailableTokens.contains(normalized)) {
+            normalized = notAvailable;
+        }
+        return internPool == null ? normalized : internPool.intern(normalized);
+    }
+}
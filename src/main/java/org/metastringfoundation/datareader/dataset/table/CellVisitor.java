@@ -0,0 +1,26 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+/**
+ * Receives cells one at a time while a range of a table is traversed, without a {@link TableCell} per cell.
+ * Tables may reuse the value once {@code visit} returns, so call {@code toString()} on it to keep it.
+ */
+@FunctionalInterface
+public interface CellVisitor {
+    void visit(int row, int column, CharSequence value);
+}
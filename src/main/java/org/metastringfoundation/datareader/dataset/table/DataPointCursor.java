@@ -0,0 +1,219 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.data.LayeredFields;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Goes over the data points of a table one at a time through a single read-only record, for consumers that look at
+ * each point once and do not keep it. Nothing is allocated per point: fields are looked up in the tables
+ * {@link QueryableFields} already holds, and the value is the table's own string.
+ *
+ * The record is only valid until the next call to {@link #next()}. Copy what needs to outlive that,
+ * or use {@link #toDataPoint()}. A cursor is for one thread; make one per thread with
+ * {@link TableToDatasetAdapter#cursor()}.
+ *
+ * <pre>
+ * DataPointCursor cursor = adapter.cursor();
+ * while (cursor.next()) {
+ *     totals.merge(cursor.get("entity.state"), Double.parseDouble(cursor.getValue()), Double::sum);
+ * }
+ * </pre>
+ */
+public class DataPointCursor {
+    private static final String[] VALUE_KEY = {"value"};
+    private final QueryableFields queryableFields;
+    private final Table table;
+    private final List<FieldData> universalFields;
+    private final boolean shouldAddAddressToDatapoint;
+    private final ValueCellWalk walk;
+    private boolean positioned = false;
+    private FieldData[] rowFields;
+    private FieldData[] columnFields;
+
+    DataPointCursor(QueryableFields queryableFields, boolean shouldAddAddressToDatapoint) {
+        this.queryableFields = queryableFields;
+        this.table = queryableFields.getTable();
+        this.universalFields = queryableFields.getUniversalFields();
+        this.shouldAddAddressToDatapoint = shouldAddAddressToDatapoint;
+        this.walk = new ValueCellWalk(queryableFields.getValueRanges(), queryableFields.getValueRangesSkippingEmptyCells(), table);
+    }
+
+    /**
+     * Moves to the next data point
+     * @return false once there are no more
+     */
+    public boolean next() {
+        positioned = walk.next();
+        if (positioned) {
+            rowFields = queryableFields.getRowFields(walk.getRow());
+            columnFields = queryableFields.getColumnFields(walk.getColumn());
+            PipelineMetrics.get().countDataPointEmitted();
+        }
+        return positioned;
+    }
+
+    public int getRow() {
+        checkPositioned();
+        return walk.getRow();
+    }
+
+    public int getColumn() {
+        checkPositioned();
+        return walk.getColumn();
+    }
+
+    public String getValue() {
+        checkPositioned();
+        return table.getCell(walk.getRow(), walk.getColumn());
+    }
+
+    /**
+     * @return the value of a field at the current point, including "value" and, if asked for, the address fields;
+     * null if the point does not have it
+     */
+    public String get(String field) {
+        checkPositioned();
+        if (field.equals("value")) {
+            return getValue();
+        }
+        if (shouldAddAddressToDatapoint) {
+            if (field.equals(TableToDatasetAdapter.DATA_FILE_TYPE_FIELD)) {
+                return TableToDatasetAdapter.TABLE_FILE_TYPE;
+            }
+            if (field.equals(TableToDatasetAdapter.ROW_FIELD)) {
+                return String.valueOf(walk.getRow());
+            }
+            if (field.equals(TableToDatasetAdapter.COLUMN_FIELD)) {
+                return String.valueOf(walk.getColumn());
+            }
+        }
+        // column fields win over row fields, which win over universal ones, as in queryFieldsAt
+        String value = find(columnFields, field);
+        if (value == null) {
+            value = find(rowFields, field);
+        }
+        if (value == null) {
+            for (int i = universalFields.size() - 1; i >= 0; i--) {
+                if (universalFields.get(i).getName().equals(field)) {
+                    return universalFields.get(i).getValue();
+                }
+            }
+        }
+        return value;
+    }
+
+    private static String find(FieldData[] fields, String field) {
+        for (int i = fields.length - 1; i >= 0; i--) {
+            if (fields[i].getName().equals(field)) {
+                return fields[i].getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hands every field of the current point to the action, once each
+     */
+    public void forEachField(BiConsumer<String, String> action) {
+        checkPositioned();
+        for (int i = 0; i < universalFields.size(); i++) {
+            FieldData field = universalFields.get(i);
+            if (isLastOf(field.getName(), i, 0)) {
+                action.accept(field.getName(), field.getValue());
+            }
+        }
+        for (int i = 0; i < rowFields.length; i++) {
+            if (isLastOf(rowFields[i].getName(), i, 1)) {
+                action.accept(rowFields[i].getName(), rowFields[i].getValue());
+            }
+        }
+        for (int i = 0; i < columnFields.length; i++) {
+            if (isLastOf(columnFields[i].getName(), i, 2)) {
+                action.accept(columnFields[i].getName(), columnFields[i].getValue());
+            }
+        }
+        if (shouldAddAddressToDatapoint) {
+            action.accept(TableToDatasetAdapter.DATA_FILE_TYPE_FIELD, TableToDatasetAdapter.TABLE_FILE_TYPE);
+            action.accept(TableToDatasetAdapter.ROW_FIELD, String.valueOf(walk.getRow()));
+            action.accept(TableToDatasetAdapter.COLUMN_FIELD, String.valueOf(walk.getColumn()));
+        }
+        action.accept("value", getValue());
+    }
+
+    /**
+     * @return whether no field after the one at {@code index} of the given level has the same name
+     */
+    private boolean isLastOf(String name, int index, int level) {
+        if (name.equals("value") || (shouldAddAddressToDatapoint && isAddressField(name))) {
+            return false;
+        }
+        if (level == 0) {
+            for (int i = index + 1; i < universalFields.size(); i++) {
+                if (universalFields.get(i).getName().equals(name)) {
+                    return false;
+                }
+            }
+        }
+        if (level <= 1) {
+            for (int i = level == 1 ? index + 1 : 0; i < rowFields.length; i++) {
+                if (rowFields[i].getName().equals(name)) {
+                    return false;
+                }
+            }
+        }
+        for (int i = level == 2 ? index + 1 : 0; i < columnFields.length; i++) {
+            if (columnFields[i].getName().equals(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAddressField(String name) {
+        return name.equals(TableToDatasetAdapter.DATA_FILE_TYPE_FIELD)
+                || name.equals(TableToDatasetAdapter.ROW_FIELD)
+                || name.equals(TableToDatasetAdapter.COLUMN_FIELD);
+    }
+
+    /**
+     * @return the current point, which stays valid after the cursor moves on. It shares its row, column and table
+     * fields with the other points made this way (see {@link LayeredFields}); only its value is its own, and its
+     * address is packed into the point.
+     */
+    public DataPoint toDataPoint() {
+        checkPositioned();
+        int row = walk.getRow();
+        int column = walk.getColumn();
+        LayeredFields fields = new LayeredFields(queryableFields.getUniversalMap(), queryableFields.getRowMap(row),
+                queryableFields.getColumnMap(column), VALUE_KEY, new String[]{getValue()});
+        return shouldAddAddressToDatapoint
+                ? new DataPoint(fields, TableToDatasetAdapter.TABLE_FILE_TYPE, row, column)
+                : new DataPoint(fields);
+    }
+
+    private void checkPositioned() {
+        if (!positioned) {
+            throw new IllegalStateException("The cursor is not on a data point; call next() first");
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import com.google.common.cache.CacheStats;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.utils.DelimiterExtractor;
+import org.metastringfoundation.datareader.dataset.utils.ValueExtractor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EXPLAIN and EXPLAIN ANALYZE for table descriptions: shows, for every range of every pattern of every field,
+ * how much of the table it covers and how its values are taken out of the cells.
+ *
+ * ANALYZE also runs each pattern over its range on its own and measures it, and then runs the whole extraction.
+ * Patterns sharing a range are read together in a real extraction, so their separate times add up to more than
+ * the real cost of the range. Extraction caches are warmed by the patterns run before them, as they would be
+ * by earlier cells in a real extraction.
+ */
+public class DescriptionExplainer {
+    private final TableDescription description;
+    private final Table table;
+    private final boolean analyze;
+
+    private DescriptionExplainer(TableDescription description, Table table, boolean analyze) {
+        this.description = description;
+        this.table = table;
+        this.analyze = analyze;
+    }
+
+    public static Explanation explain(TableDescription description, Table table) throws DatasetIntegrityError {
+        return new DescriptionExplainer(description, table, false).run();
+    }
+
+    public static Explanation analyze(TableDescription description, Table table) throws DatasetIntegrityError {
+        return new DescriptionExplainer(description, table, true).run();
+    }
+
+    private Explanation run() throws DatasetIntegrityError {
+        Map<TableRangeReference, List<PatternDescription>> rangesAndTheirPatterns = description.getExtractionPlan().getRangesAndTheirPatterns();
+        List<PatternExplanation> explanations = new ArrayList<>();
+        long estimatedDataPoints = 0;
+
+        for (FieldDescription field : description.getFieldDescriptionList()) {
+            boolean isValue = field.getField().equals("value");
+            if (field.getPatterns() == null) {
+                explanations.add(new PatternExplanation(field.getField(), PatternExplanation.Role.UNUSED,
+                        null, null, null, 0, "-", false, false));
+                continue;
+            }
+            for (PatternDescription pattern : field.getPatterns()) {
+                if (pattern.getRanges() == null) {
+                    explanations.add(new PatternExplanation(field.getField(), PatternExplanation.Role.CONSTANT,
+                            null, null, null, 0, describeExtraction(pattern), false, false));
+                    continue;
+                }
+                for (TableRangeReference range : pattern.getRanges()) {
+                    int cells = countCells(range);
+                    boolean shared = !isValue && rangesAndTheirPatterns.getOrDefault(range, new ArrayList<>()).size() > 1;
+                    PatternExplanation explanation = new PatternExplanation(
+                            field.getField(),
+                            isValue ? PatternExplanation.Role.VALUE : PatternExplanation.Role.PATTERN,
+                            range.toReferenceString(),
+                            resolve(range),
+                            range.getRangeType(),
+                            cells,
+                            isValue ? "cell as is" : describeExtraction(pattern),
+                            !isValue && pattern.getExtractor() != null && pattern.getExtractor().usesRegex(),
+                            shared);
+                    if (isValue) {
+                        estimatedDataPoints += cells;
+                    }
+                    if (analyze) {
+                        measure(explanation, isValue ? null : pattern, range);
+                    }
+                    explanations.add(explanation);
+                }
+            }
+        }
+
+        Explanation explanation = new Explanation(table.getNumberOfRows(), table.getNumberOfColumns(), analyze, explanations, estimatedDataPoints);
+        if (analyze) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            int dataPoints = new TableToDatasetAdapter(table, description).getData().size();
+            long nanos = System.nanoTime() - start;
+            explanation.setMeasurements(dataPoints, nanos, difference(allocatedBefore, allocatedBytes()));
+        }
+        return explanation;
+    }
+
+    private int countCells(TableRangeReference range) {
+        int rows = Math.min(range.getEndingCell().getRow(), table.getNumberOfRows() - 1) - range.getStartingCell().getRow() + 1;
+        int columns = Math.min(range.getEndingCell().getColumn(), table.getNumberOfColumns() - 1) - range.getStartingCell().getColumn() + 1;
+        return rows <= 0 || columns <= 0 ? 0 : rows * columns;
+    }
+
+    private String resolve(TableRangeReference range) {
+        if (countCells(range) == 0) {
+            return null;
+        }
+        TableCellReference end = new TableCellReference(
+                Math.min(range.getEndingCell().getRow(), table.getNumberOfRows() - 1),
+                Math.min(range.getEndingCell().getColumn(), table.getNumberOfColumns() - 1));
+        return new TableRangeReference(range.getStartingCell(), end).toReferenceString();
+    }
+
+    private static String describeExtraction(PatternDescription pattern) {
+        String extraction;
+        ValueExtractor extractor = pattern.getExtractor();
+        if (pattern.getValue() != null) {
+            extraction = "constant \"" + pattern.getValue() + "\"";
+        } else if (extractor == null) {
+            extraction = "cell as is";
+        } else if (extractor instanceof DelimiterExtractor) {
+            DelimiterExtractor delimiterExtractor = (DelimiterExtractor) extractor;
+            extraction = "split " + delimiterExtractor.getSide() + " \"" + delimiterExtractor.getDelimiter() + "\" for /" + pattern.getPattern() + "/";
+        } else {
+            extraction = "regex /" + pattern.getPattern() + "/";
+        }
+        if (pattern.getPrefix() != null) {
+            extraction += " with prefix \"" + pattern.getPrefix() + "\"";
+        }
+        return extraction;
+    }
+
+    /**
+     * @param pattern null for value ranges, whose cells are taken as they are; empty cells count as nulls
+     */
+    private void measure(PatternExplanation explanation, PatternDescription pattern, TableRangeReference range) {
+        CacheStats cacheBefore = pattern == null ? null : pattern.getExtractionCacheStats();
+        int[] matchesAndNulls = new int[2];
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        table.forEachCell(range, (row, column, value) -> {
+            String extracted = pattern == null ? value.toString() : pattern.extractValue(value.toString());
+            if (extracted == null || extracted.isEmpty()) {
+                matchesAndNulls[1]++;
+            } else {
+                matchesAndNulls[0]++;
+            }
+        });
+        long nanos = System.nanoTime() - start;
+        long allocated = difference(allocatedBefore, allocatedBytes());
+        CacheStats cache = pattern == null ? new CacheStats(0, 0, 0, 0, 0, 0) : pattern.getExtractionCacheStats().minus(cacheBefore);
+        explanation.setMeasurements(nanos, allocated, matchesAndNulls[0], matchesAndNulls[1], cache.hitCount(), cache.missCount());
+    }
+
+    private static long difference(long before, long after) {
+        return before < 0 || after < 0 ? -1 : after - before;
+    }
+
+    /**
+     * @return bytes allocated so far by this thread, or -1 if the JVM does not say
+     */
+    private static long allocatedBytes() {
+        try {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean hotspotThreads = (com.sun.management.ThreadMXBean) threads;
+                if (hotspotThreads.isThreadAllocatedMemorySupported() && hotspotThreads.isThreadAllocatedMemoryEnabled()) {
+                    return hotspotThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+                }
+            }
+        } catch (LinkageError e) {
+            // not a HotSpot based JVM
+        }
+        return -1;
+    }
+}
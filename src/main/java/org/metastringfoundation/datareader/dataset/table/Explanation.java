@@ -0,0 +1,172 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * What {@link DescriptionExplainer} found out about a description and a table. {@link #toString()} gives a
+ * human readable report; the getters are there for anything that wants to process it, such as JSON output.
+ */
+public class Explanation {
+    private static final String[] HEADINGS = {"field", "role", "range", "resolved", "type", "cells", "extraction", "shared"};
+    private static final String[] ANALYZE_HEADINGS = {"time ms", "alloc KB", "matches", "nulls", "cache hit %"};
+
+    private final int rows;
+    private final int columns;
+    private final boolean analyzed;
+    private final List<PatternExplanation> patterns;
+    private final long estimatedDataPoints;
+    private Long dataPoints;
+    private Long nanos;
+    private Long allocatedBytes;
+
+    Explanation(int rows, int columns, boolean analyzed, List<PatternExplanation> patterns, long estimatedDataPoints) {
+        this.rows = rows;
+        this.columns = columns;
+        this.analyzed = analyzed;
+        this.patterns = new ArrayList<>(patterns);
+        this.estimatedDataPoints = estimatedDataPoints;
+    }
+
+    void setMeasurements(long dataPoints, long nanos, long allocatedBytes) {
+        this.dataPoints = dataPoints;
+        this.nanos = nanos;
+        this.allocatedBytes = allocatedBytes < 0 ? null : allocatedBytes;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public boolean isAnalyzed() {
+        return analyzed;
+    }
+
+    public List<PatternExplanation> getPatterns() {
+        return Collections.unmodifiableList(patterns);
+    }
+
+    /**
+     * @return the number of cells in the value ranges; overlapping value ranges make this an overestimate
+     */
+    public long getEstimatedDataPoints() {
+        return estimatedDataPoints;
+    }
+
+    /**
+     * @return data points actually made by a full extraction; null unless analyzed
+     */
+    public Long getDataPoints() {
+        return dataPoints;
+    }
+
+    /**
+     * @return time taken by a full extraction; null unless analyzed
+     */
+    public Long getNanos() {
+        return nanos;
+    }
+
+    public Long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        List<String[]> lines = new ArrayList<>();
+        lines.add(analyzed ? concat(HEADINGS, ANALYZE_HEADINGS) : HEADINGS);
+        for (PatternExplanation pattern : patterns) {
+            String[] line = {
+                    pattern.getField(),
+                    pattern.getRole().name(),
+                    orDash(pattern.getRange()),
+                    orDash(pattern.getResolvedRange()),
+                    pattern.getRangeType() == null ? "-" : pattern.getRangeType().name(),
+                    String.valueOf(pattern.getCells()),
+                    pattern.getExtraction(),
+                    pattern.isSharedScan() ? "yes" : "no"
+            };
+            if (analyzed) {
+                line = concat(line, new String[]{
+                        pattern.getNanos() == null ? "-" : millis(pattern.getNanos()),
+                        pattern.getAllocatedBytes() == null ? "-" : String.valueOf(pattern.getAllocatedBytes() / 1024),
+                        orDash(pattern.getMatches()),
+                        orDash(pattern.getNulls()),
+                        hitRate(pattern.getCacheHits(), pattern.getCacheMisses())
+                });
+            }
+            lines.add(line);
+        }
+
+        int[] widths = new int[lines.get(0).length];
+        for (String[] line : lines) {
+            for (int i = 0; i < line.length; i++) {
+                widths[i] = Math.max(widths[i], line[i].length());
+            }
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(analyzed ? "EXPLAIN ANALYZE" : "EXPLAIN").append(" on a table of ")
+                .append(rows).append(" rows and ").append(columns).append(" columns\n");
+        for (String[] line : lines) {
+            StringBuilder formatted = new StringBuilder();
+            for (int i = 0; i < line.length; i++) {
+                formatted.append(i == 0 ? "" : "  ").append(String.format("%-" + widths[i] + "s", line[i]));
+            }
+            report.append(formatted.toString().replaceAll("\\s+$", "")).append('\n');
+        }
+        report.append("Estimated data points: ").append(estimatedDataPoints).append('\n');
+        if (dataPoints != null) {
+            report.append("Extracted ").append(dataPoints).append(" data points in ").append(millis(nanos)).append(" ms");
+            if (allocatedBytes != null) {
+                report.append(", allocating ").append(allocatedBytes / 1024).append(" KB");
+            }
+            report.append('\n');
+        }
+        return report.toString();
+    }
+
+    private static String[] concat(String[] first, String[] second) {
+        String[] both = new String[first.length + second.length];
+        System.arraycopy(first, 0, both, 0, first.length);
+        System.arraycopy(second, 0, both, first.length, second.length);
+        return both;
+    }
+
+    private static String orDash(Object value) {
+        return value == null ? "-" : value.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    private static String hitRate(Long hits, Long misses) {
+        if (hits == null || misses == null || hits + misses == 0) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%.1f", 100.0 * hits / (hits + misses));
+    }
+}
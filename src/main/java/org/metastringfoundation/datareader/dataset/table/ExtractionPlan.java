@@ -0,0 +1,134 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import org.metastringfoundation.data.DatasetIntegrityError;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * What needs to be done to a table to query the fields of a description, worked out once per description.
+ * It does not depend on the table, so the same plan can be used for any number of tables.
+ */
+public class ExtractionPlan {
+    private static final Logger LOG = Logger.getLogger(ExtractionPlan.class.getName());
+    private final List<FieldDescription> valueFields = new ArrayList<>();
+    private final List<FieldData> universalFields = new ArrayList<>();
+    private final List<PatternEvaluation> evaluations = new ArrayList<>();
+    private final Map<TableRangeReference, List<PatternDescription>> rangesAndTheirPatterns = new LinkedHashMap<>();
+    /** whether every field read from the range skips empty cells, so that they need not be visited at all */
+    private final Map<TableRangeReference, Boolean> rangesSkippingEmptyCells = new HashMap<>();
+
+    private ExtractionPlan() {
+    }
+
+    public static ExtractionPlan of(List<FieldDescription> fields) throws DatasetIntegrityError {
+        ExtractionPlan plan = new ExtractionPlan();
+        for (FieldDescription fieldDescription : fields) {
+            if (fieldDescription.getField().equals("value")) {
+                // value is a special field and needs to be handled separately
+                plan.valueFields.add(fieldDescription);
+            } else if (fieldDescription.getPatterns() != null) {
+                plan.planFieldWithPattern(fieldDescription);
+            } else {
+                LOG.info("Unusable field: " + fieldDescription.getField());
+            }
+        }
+        plan.groupByRange();
+        return plan;
+    }
+
+    private void planFieldWithPattern(FieldDescription fieldDescription) throws DatasetIntegrityError {
+        for (PatternDescription pattern : fieldDescription.getPatterns()) {
+            planPattern(fieldDescription, pattern);
+        }
+    }
+
+    private void processHardCodedValueWithoutRange(FieldDescription fieldDescription, PatternDescription patternDescription) {
+        String fieldName = fieldDescription.getField();
+        String fieldHardcodedValue = patternDescription.getValue();
+        if (fieldHardcodedValue == null) {
+            throw new IllegalArgumentException("Field with neither value nor pattern");
+        }
+        universalFields.add(new FieldData(fieldName, fieldHardcodedValue));
+    }
+
+    private void planPattern(FieldDescription fieldDescription, PatternDescription patternDescription) throws DatasetIntegrityError {
+        LOG.fine("\n\nProcessing " + patternDescription);
+        if (patternDescription.getRanges() == null) {
+            processHardCodedValueWithoutRange(fieldDescription, patternDescription);
+        } else {
+            for (TableRangeReference range : patternDescription.getRanges()) {
+                if (range.getRangeType() == TableRangeReference.RangeType.ROW_AND_COLUMN) {
+                    throw new DatasetIntegrityError("Only value can be in both column and row");
+                }
+                evaluations.add(new PatternEvaluation(fieldDescription.getField(), patternDescription, range, fieldDescription.skipsEmptyCells()));
+                rangesSkippingEmptyCells.merge(range, fieldDescription.skipsEmptyCells(), Boolean::logicalAnd);
+            }
+        }
+    }
+
+    /**
+     * Several fields often point at the same range (say, "B1:1") with different patterns.
+     * Such a range needs to be read only once, feeding every cell to all the patterns that use it.
+     * Equal patterns over the same range need to be evaluated only once.
+     */
+    private void groupByRange() {
+        for (PatternEvaluation evaluation : evaluations) {
+            List<PatternDescription> patterns = rangesAndTheirPatterns.computeIfAbsent(evaluation.getRange(), k -> new ArrayList<>());
+            if (!patterns.contains(evaluation.getPatternDescription())) {
+                patterns.add(evaluation.getPatternDescription());
+            }
+        }
+    }
+
+    public List<FieldDescription> getValueFields() {
+        return Collections.unmodifiableList(valueFields);
+    }
+
+    List<FieldData> getUniversalFields() {
+        return Collections.unmodifiableList(universalFields);
+    }
+
+    /**
+     * @return every range of every pattern, in the order of the description
+     */
+    List<PatternEvaluation> getEvaluations() {
+        return Collections.unmodifiableList(evaluations);
+    }
+
+    /**
+     * @return whether the range can be read without visiting its empty cells, which is so only when every field read
+     * from it skips them. Fields that skip empty cells drop them on their own however the range is read.
+     */
+    public boolean canSkipEmptyCells(TableRangeReference range) {
+        return rangesSkippingEmptyCells.getOrDefault(range, false);
+    }
+
+    /**
+     * @return the distinct patterns to evaluate over each distinct range
+     */
+    public Map<TableRangeReference, List<PatternDescription>> getRangesAndTheirPatterns() {
+        return Collections.unmodifiableMap(rangesAndTheirPatterns);
+    }
+}
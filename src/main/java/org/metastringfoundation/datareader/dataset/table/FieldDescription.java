@@ -28,6 +28,7 @@ import java.util.Objects;
 public class FieldDescription {
     private String field;
     private List<PatternDescription> patterns;
+    private Boolean skipEmptyCells;
 
     public FieldDescription() {
     }
@@ -76,18 +77,39 @@ public class FieldDescription {
         this.patterns = patterns;
     }
 
+    /**
+     * @return whether empty cells in the ranges of this field should be left out, or null if not said
+     */
+    public Boolean getSkipEmptyCells() {
+        return skipEmptyCells;
+    }
+
+    /**
+     * Leave out empty cells of this field's ranges: for values, no data points are made for them,
+     * and other fields take no value from them, whatever the other fields reading the same range say.
+     * This lets sparse sheets be read in time that follows the cells that are filled rather than the sheet's area.
+     */
+    public void setSkipEmptyCells(Boolean skipEmptyCells) {
+        this.skipEmptyCells = skipEmptyCells;
+    }
+
+    public boolean skipsEmptyCells() {
+        return Boolean.TRUE.equals(skipEmptyCells);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         FieldDescription that = (FieldDescription) o;
         return Objects.equals(field, that.field) &&
-                Objects.equals(patterns, that.patterns);
+                Objects.equals(patterns, that.patterns) &&
+                Objects.equals(skipEmptyCells, that.skipEmptyCells);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(field, patterns);
+        return Objects.hash(field, patterns, skipEmptyCells);
     }
 
     @Override
@@ -95,6 +117,7 @@ public class FieldDescription {
         return "FieldDescription{" +
                 "field='" + field + '\'' +
                 ", patterns=" + patterns +
+                (skipEmptyCells == null ? "" : ", skipEmptyCells=" + skipEmptyCells) +
                 '}';
     }
 }
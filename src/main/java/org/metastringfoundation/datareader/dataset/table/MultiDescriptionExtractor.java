@@ -0,0 +1,130 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+import org.metastringfoundation.datareader.metrics.Stage;
+import org.metastringfoundation.datareader.output.DataPointWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Gets several datasets out of one table, each with its own description, reading the table as if for one.
+ *
+ * Descriptions of the same sheet tend to read the same header ranges with the same patterns. Every distinct range
+ * is read once, and every distinct pattern over it evaluated once, for all the descriptions together. The data points
+ * are then either kept apart as a dataset per description ({@link #getDatasets()}), or made in a single pass over the
+ * table, row by row, and handed to the sink of the description each belongs to ({@link #extractTo(List)}).
+ */
+public class MultiDescriptionExtractor {
+    private static final Logger LOG = Logger.getLogger(MultiDescriptionExtractor.class.getName());
+    private final List<TableToDatasetAdapter> datasets = new ArrayList<>();
+
+    public MultiDescriptionExtractor(Table table, List<TableDescription> tableDescriptions) throws DatasetIntegrityError {
+        this(table, tableDescriptions, false);
+    }
+
+    public MultiDescriptionExtractor(Table table, List<TableDescription> tableDescriptions, Boolean shouldAddAddressToDatapoint) throws DatasetIntegrityError {
+        List<ExtractionPlan> plans = new ArrayList<>();
+        for (TableDescription tableDescription : tableDescriptions) {
+            plans.add(tableDescription.getExtractionPlan());
+        }
+        long start = System.nanoTime();
+        Map<TableRangeReference, Map<PatternDescription, Map<TableCellReference, String>>> rangesAndTheirValues =
+                QueryableFields.evaluateSharingRanges(plans, table);
+        for (ExtractionPlan plan : plans) {
+            datasets.add(new TableToDatasetAdapter(new QueryableFields(plan, table, rangesAndTheirValues), shouldAddAddressToDatapoint));
+        }
+        PipelineMetrics.get().recordSince(Stage.PATTERN_EVALUATION, start);
+        LOG.fine(() -> "Read " + rangesAndTheirValues.size() + " distinct ranges for " + plans.size() + " descriptions, instead of "
+                + plans.stream().mapToInt(plan -> plan.getRangesAndTheirPatterns().size()).sum());
+    }
+
+    /**
+     * @return a dataset per description, in the order of the descriptions
+     */
+    public List<TableToDatasetAdapter> getDatasets() {
+        return Collections.unmodifiableList(datasets);
+    }
+
+    /**
+     * Makes the data points of all descriptions in one pass over the table
+     * @param sinks one per description, in the order of the descriptions
+     */
+    public void extractTo(List<? extends Consumer<DataPoint>> sinks) {
+        checkSinks(sinks);
+        route((description, dataPoint) -> sinks.get(description).accept(dataPoint));
+    }
+
+    /**
+     * Like {@link #extractTo(List)}, writing the data points of each description with its own writer
+     */
+    public void writeTo(List<? extends DataPointWriter> writers) throws IOException {
+        checkSinks(writers);
+        route((description, dataPoint) -> writers.get(description).write(dataPoint));
+    }
+
+    private void checkSinks(List<?> sinks) {
+        if (sinks.size() != datasets.size()) {
+            throw new IllegalArgumentException("There are " + datasets.size() + " descriptions but " + sinks.size() + " sinks");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Route<E extends Exception> {
+        void accept(int description, DataPoint dataPoint) throws E;
+    }
+
+    /**
+     * Merges the cursors of all descriptions by position in the table. Each description's points keep their own
+     * order; among descriptions, the one whose next point comes first in the table goes first.
+     */
+    private <E extends Exception> void route(Route<E> route) throws E {
+        DataPointCursor[] cursors = new DataPointCursor[datasets.size()];
+        boolean[] remaining = new boolean[cursors.length];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = datasets.get(i).cursor();
+            remaining[i] = cursors[i].next();
+        }
+        while (true) {
+            int next = -1;
+            for (int i = 0; i < cursors.length; i++) {
+                if (remaining[i] && (next == -1 || comesBefore(cursors[i], cursors[next]))) {
+                    next = i;
+                }
+            }
+            if (next == -1) {
+                return;
+            }
+            route.accept(next, cursors[next].toDataPoint());
+            remaining[next] = cursors[next].next();
+        }
+    }
+
+    private static boolean comesBefore(DataPointCursor cursor, DataPointCursor other) {
+        return cursor.getRow() < other.getRow()
+                || (cursor.getRow() == other.getRow() && cursor.getColumn() < other.getColumn());
+    }
+}
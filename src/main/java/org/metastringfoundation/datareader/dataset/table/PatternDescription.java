@@ -20,16 +20,27 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.metastringfoundation.datareader.dataset.utils.PatternAnalyzer;
+import org.metastringfoundation.datareader.dataset.utils.ValueExtractor;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class PatternDescription {
+    /**
+     * Number of distinct raw cell values whose extracted value is remembered, per pattern
+     */
+    public static final long EXTRACTION_CACHE_SIZE = 4096;
+
     private List<TableRangeReference> ranges;
     private String pattern;
     private String value;
@@ -38,6 +49,17 @@ public class PatternDescription {
     @JsonIgnore
     private Pattern compiledPattern;
 
+    @JsonIgnore
+    private ValueExtractor extractor;
+
+    // Header texts and entity names repeat a lot, within a table and across tables.
+    // Optional because the cache cannot hold nulls, which stand for "pattern did not match".
+    @JsonIgnore
+    private final Cache<String, Optional<String>> extractionCache = CacheBuilder.newBuilder()
+            .maximumSize(EXTRACTION_CACHE_SIZE)
+            .recordStats()
+            .build();
+
     @JsonCreator
     public PatternDescription(
             @JsonProperty("range") TableRangeReference range,
@@ -70,14 +92,17 @@ public class PatternDescription {
 
     public void setPattern(String pattern) {
         this.pattern = pattern;
-        if (pattern != null) {
-            this.compiledPattern = Pattern.compile(pattern);
-        }
+        compilePattern();
     }
 
     private void compilePattern() {
+        extractionCache.invalidateAll();
         if (pattern != null) {
             compiledPattern = Pattern.compile(pattern);
+            extractor = PatternAnalyzer.analyze(compiledPattern);
+        } else {
+            compiledPattern = null;
+            extractor = null;
         }
     }
 
@@ -85,6 +110,41 @@ public class PatternDescription {
         return compiledPattern;
     }
 
+    /**
+     * Works out the value of this field for a cell: the hardcoded value if there is one, else the part
+     * matched by the pattern if there is one, else the cell value itself. Prefix is added to the result.
+     * @return the value, or null if the pattern does not match the cell value
+     */
+    public String extractValue(String rawCellValue) {
+        if (value != null) {
+            return prepend(value);
+        }
+        Optional<String> cached = extractionCache.getIfPresent(rawCellValue);
+        if (cached == null) {
+            String extracted = extractor == null ? rawCellValue : extractor.extract(rawCellValue);
+            cached = Optional.ofNullable(extracted).map(this::prepend);
+            extractionCache.put(rawCellValue, cached);
+        }
+        return cached.orElse(null);
+    }
+
+    private String prepend(String extracted) {
+        return prefix == null ? extracted : prefix.concat(extracted);
+    }
+
+    @JsonIgnore
+    public CacheStats getExtractionCacheStats() {
+        return extractionCache.stats();
+    }
+
+    /**
+     * @return how the pattern is applied to cell values; null if there is no pattern
+     */
+    @JsonIgnore
+    public ValueExtractor getExtractor() {
+        return extractor;
+    }
+
     public List<TableRangeReference> getRanges() {
         return ranges;
     }
@@ -109,6 +169,7 @@ public class PatternDescription {
 
     public void setValue(String value) {
         this.value = value;
+        extractionCache.invalidateAll();
     }
 
     public String getPrefix() {
@@ -117,6 +178,7 @@ public class PatternDescription {
 
     public void setPrefix(String prefix) {
         this.prefix = prefix;
+        extractionCache.invalidateAll();
     }
 
     @Override
@@ -0,0 +1,53 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+/**
+ * One range of one pattern of a field
+ */
+class PatternEvaluation {
+    private final String field;
+    private final PatternDescription patternDescription;
+    private final TableRangeReference range;
+    private final boolean skipsEmptyCells;
+
+    PatternEvaluation(String field, PatternDescription patternDescription, TableRangeReference range, boolean skipsEmptyCells) {
+        this.field = field;
+        this.patternDescription = patternDescription;
+        this.range = range;
+        this.skipsEmptyCells = skipsEmptyCells;
+    }
+
+    String getField() {
+        return field;
+    }
+
+    PatternDescription getPatternDescription() {
+        return patternDescription;
+    }
+
+    TableRangeReference getRange() {
+        return range;
+    }
+
+    /**
+     * @return whether the field takes no value from empty cells of the range
+     */
+    boolean skipsEmptyCells() {
+        return skipsEmptyCells;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+/**
+ * One line of an {@link Explanation}: what happens to one range of one pattern of a field.
+ * The measured numbers are null unless the explanation was made with ANALYZE.
+ */
+public class PatternExplanation {
+    public enum Role {
+        /** the cells of the range become data points */
+        VALUE,
+        /** the range is read and the pattern gives the field its values */
+        PATTERN,
+        /** the field has the same value in every data point, and no range is read */
+        CONSTANT,
+        /** the field has neither patterns nor a value, and is ignored */
+        UNUSED
+    }
+
+    private final String field;
+    private final Role role;
+    private final String range;
+    private final String resolvedRange;
+    private final TableRangeReference.RangeType rangeType;
+    private final int cells;
+    private final String extraction;
+    private final boolean usesRegex;
+    private final boolean sharedScan;
+
+    private Long nanos;
+    private Long allocatedBytes;
+    private Integer matches;
+    private Integer nulls;
+    private Long cacheHits;
+    private Long cacheMisses;
+
+    PatternExplanation(String field, Role role, String range, String resolvedRange, TableRangeReference.RangeType rangeType,
+                       int cells, String extraction, boolean usesRegex, boolean sharedScan) {
+        this.field = field;
+        this.role = role;
+        this.range = range;
+        this.resolvedRange = resolvedRange;
+        this.rangeType = rangeType;
+        this.cells = cells;
+        this.extraction = extraction;
+        this.usesRegex = usesRegex;
+        this.sharedScan = sharedScan;
+    }
+
+    void setMeasurements(long nanos, long allocatedBytes, int matches, int nulls, long cacheHits, long cacheMisses) {
+        this.nanos = nanos;
+        this.allocatedBytes = allocatedBytes < 0 ? null : allocatedBytes;
+        this.matches = matches;
+        this.nulls = nulls;
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * @return the range as written in the description; null for constants
+     */
+    public String getRange() {
+        return range;
+    }
+
+    /**
+     * @return the part of the range that lies within the table; null if none of it does
+     */
+    public String getResolvedRange() {
+        return resolvedRange;
+    }
+
+    public TableRangeReference.RangeType getRangeType() {
+        return rangeType;
+    }
+
+    /**
+     * @return number of cells of the table within the range
+     */
+    public int getCells() {
+        return cells;
+    }
+
+    /**
+     * @return how values are taken out of cells: the regex, the delimiter shortcut used instead of it,
+     * the cell as it is, or the constant
+     */
+    public String getExtraction() {
+        return extraction;
+    }
+
+    public boolean isUsesRegex() {
+        return usesRegex;
+    }
+
+    /**
+     * @return whether other patterns use the same range, so that it is read once for all of them
+     */
+    public boolean isSharedScan() {
+        return sharedScan;
+    }
+
+    public Long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return bytes allocated while evaluating; null if the JVM cannot tell
+     */
+    public Long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public Integer getMatches() {
+        return matches;
+    }
+
+    public Integer getNulls() {
+        return nulls;
+    }
+
+    public Long getCacheHits() {
+        return cacheHits;
+    }
+
+    public Long getCacheMisses() {
+        return cacheMisses;
+    }
+}
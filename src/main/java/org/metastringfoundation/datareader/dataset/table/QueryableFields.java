@@ -16,91 +16,216 @@
 
 package org.metastringfoundation.datareader.dataset.table;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Maps;
 import org.metastringfoundation.data.DatasetIntegrityError;
-import org.metastringfoundation.datareader.dataset.utils.RegexHelper;
+import org.metastringfoundation.datareader.events.ExtractionEvents;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+import org.metastringfoundation.datareader.metrics.Stage;
 
-import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import static java.util.stream.Collectors.toMap;
 
 public class QueryableFields {
     private static final Logger LOG = Logger.getLogger(QueryableFields.class.getName());
-    private final List<FieldDescription> fields;
+    private static final FieldData[] NO_FIELDS = new FieldData[0];
     private final Table table;
-    private final Map<Integer, List<FieldData>> rowsAndTheirFields = new HashMap<>();
-    private final Map<Integer, List<FieldData>> columnsAndTheirFields = new HashMap<>();
+    /** fields by the row (or column) they apply to, as arrays so that looking them up allocates nothing */
+    private FieldData[][] rowsAndTheirFields;
+    private FieldData[][] columnsAndTheirFields;
     private final List<FieldData> universalFields = new ArrayList<>();
-    private final List<TableCell> valueCells = new ArrayList<>();
+    private final List<TableRangeReference> valueRanges = new ArrayList<>();
+    /** indexes into valueRanges of the ranges whose empty cells are left out */
+    private final BitSet valueRangesSkippingEmptyCells = new BitSet();
+    private volatile List<TableCell> valueCells;
+    /** the same fields as maps, for {@link org.metastringfoundation.data.LayeredFields}; made when first needed */
+    private volatile List<Map<String, String>> rowMaps;
+    private List<Map<String, String>> columnMaps;
+    private Map<String, String> universalMap;
 
     public QueryableFields(List<FieldDescription> fields, Table table) throws DatasetIntegrityError {
-        this.fields = fields;
+        this(ExtractionPlan.of(fields), table);
+    }
+
+    public QueryableFields(ExtractionPlan plan, Table table) {
         this.table = table;
-        calculateFieldValues();
+        long start = System.nanoTime();
+        calculateFieldValues(plan, evaluateSharingRanges(Collections.singletonList(plan), table));
+        PipelineMetrics.get().recordSince(Stage.PATTERN_EVALUATION, start);
     }
 
-    private void calculateFieldValues() throws DatasetIntegrityError {
-        for (FieldDescription fieldDescription : fields) {
-            if (fieldDescription.getField().equals("value")) {
-                // value is a special field and needs to be handled separately
-                saveValues(fieldDescription);
-            } else if (fieldDescription.getPatterns() != null) {
-                processFieldWithPattern(fieldDescription);
-            } else {
-                LOG.info("Unusable field: " + fieldDescription.getField());
+    /**
+     * Takes the values of the plan's patterns from ranges that are already evaluated, see {@link MultiDescriptionExtractor}
+     */
+    QueryableFields(ExtractionPlan plan, Table table, Map<TableRangeReference, Map<PatternDescription, Map<TableCellReference, String>>> rangesAndTheirValues) {
+        this.table = table;
+        calculateFieldValues(plan, rangesAndTheirValues);
+    }
+
+    private void calculateFieldValues(ExtractionPlan plan, Map<TableRangeReference, Map<PatternDescription, Map<TableCellReference, String>>> rangesAndTheirValues) {
+        universalFields.addAll(plan.getUniversalFields());
+        for (FieldDescription valueField : plan.getValueFields()) {
+            for (PatternDescription pattern : valueField.getPatterns()) {
+                for (TableRangeReference range : pattern.getRanges()) {
+                    if (valueField.skipsEmptyCells()) {
+                        valueRangesSkippingEmptyCells.set(valueRanges.size());
+                    }
+                    valueRanges.add(range);
+                }
             }
         }
-    }
 
-    private void processFieldWithPattern(FieldDescription fieldDescription) throws DatasetIntegrityError {
-        for (PatternDescription pattern : fieldDescription.getPatterns()) {
-            processPattern(fieldDescription, pattern);
+        Map<Integer, List<FieldData>> rowFields = new HashMap<>();
+        Map<Integer, List<FieldData>> columnFields = new HashMap<>();
+        for (PatternEvaluation evaluation : plan.getEvaluations()) {
+            Map<TableCellReference, String> values = rangesAndTheirValues.get(evaluation.getRange()).get(evaluation.getPatternDescription());
+            registerEvaluation(evaluation, values, rowFields, columnFields);
         }
+        rowsAndTheirFields = toArrays(rowFields);
+        columnsAndTheirFields = toArrays(columnFields);
     }
 
-    private void processHardCodedValueWithoutRange(FieldDescription fieldDescription, PatternDescription patternDescription) {
-        String fieldName = fieldDescription.getField();
-        String fieldHardcodedValue = patternDescription.getValue();
-        if (fieldHardcodedValue == null) {
-            throw new IllegalArgumentException("Field with neither value nor pattern");
+    private static FieldData[][] toArrays(Map<Integer, List<FieldData>> indexesAndTheirFields) {
+        int size = indexesAndTheirFields.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+        FieldData[][] arrays = new FieldData[size][];
+        for (int index = 0; index < size; index++) {
+            List<FieldData> fields = indexesAndTheirFields.get(index);
+            arrays[index] = fields == null ? NO_FIELDS : fields.toArray(NO_FIELDS);
         }
-        universalFields.add(new FieldData(fieldName, fieldHardcodedValue));
+        return arrays;
     }
 
-    private void processPattern(FieldDescription fieldDescription, PatternDescription patternDescription) throws DatasetIntegrityError {
-        LOG.fine("\n\nProcessing " + patternDescription);
-        if (patternDescription.getRanges() == null) {
-            processHardCodedValueWithoutRange(fieldDescription, patternDescription);
-        } else {
-            for (TableRangeReference range : patternDescription.getRanges()) {
-                TableRangeReference.RangeType rangeType = range.getRangeType();
-
-                if (rangeType == TableRangeReference.RangeType.ROW_AND_COLUMN) {
-                    throw new DatasetIntegrityError("Only value can be in both column and row");
+    /**
+     * Reads every range of the plans once, feeding each cell to all the distinct patterns that use the range
+     * in any of the plans
+     */
+    static Map<TableRangeReference, Map<PatternDescription, Map<TableCellReference, String>>> evaluateSharingRanges(List<ExtractionPlan> plans, Table table) {
+        Map<TableRangeReference, List<PatternDescription>> rangesAndTheirPatterns = new LinkedHashMap<>();
+        for (ExtractionPlan plan : plans) {
+            for (Map.Entry<TableRangeReference, List<PatternDescription>> rangeAndItsPatterns : plan.getRangesAndTheirPatterns().entrySet()) {
+                List<PatternDescription> patterns = rangesAndTheirPatterns.computeIfAbsent(rangeAndItsPatterns.getKey(), k -> new ArrayList<>());
+                for (PatternDescription pattern : rangeAndItsPatterns.getValue()) {
+                    if (!patterns.contains(pattern)) {
+                        patterns.add(pattern);
+                    }
                 }
+            }
+        }
 
-                if (rangeType == TableRangeReference.RangeType.COLUMN_ONLY || rangeType == TableRangeReference.RangeType.SINGLE_CELL) {
-                    // the fields are written in a column. That means, their values will be applicable to rows.
-                    Map<TableCellReference, String> values = calculatePatternValues(range, patternDescription);
-                    registerFieldToIndex(values, fieldDescription.getField(), rowsAndTheirFields, TableCellReference::getRow);
-                }
+        Map<TableRangeReference, Map<PatternDescription, Map<TableCellReference, String>>> rangesAndTheirValues = new HashMap<>();
+        for (Map.Entry<TableRangeReference, List<PatternDescription>> rangeAndItsPatterns : rangesAndTheirPatterns.entrySet()) {
+            TableRangeReference range = rangeAndItsPatterns.getKey();
+            LOG.fine(range.toString());
+            List<PatternDescription> patterns = rangeAndItsPatterns.getValue();
+            List<Map<TableCellReference, String>> patternValues = new ArrayList<>();
+            Map<PatternDescription, Map<TableCellReference, String>> patternsAndTheirValues = new HashMap<>();
+            for (PatternDescription pattern : patterns) {
+                Map<TableCellReference, String> values = new HashMap<>();
+                patternValues.add(values);
+                patternsAndTheirValues.put(pattern, values);
+            }
+            rangesAndTheirValues.put(range, patternsAndTheirValues);
 
-                if (rangeType == TableRangeReference.RangeType.ROW_ONLY || rangeType == TableRangeReference.RangeType.SINGLE_CELL) {
-                    // the fields are written in a row. That means, their values will be applicable to columns.
-                    Map<TableCellReference, String> values = calculatePatternValues(range, patternDescription);
-                    registerFieldToIndex(values, fieldDescription.getField(), columnsAndTheirFields, TableCellReference::getColumn);
+            Object[] events = new Object[patterns.size()];
+            CacheStats[] cacheBefore = new CacheStats[patterns.size()];
+            for (int i = 0; i < patterns.size(); i++) {
+                events[i] = ExtractionEvents.beginFieldEvaluation();
+                cacheBefore[i] = patterns.get(i).getExtractionCacheStats();
+            }
+            int[] cells = new int[1];
+            int[] nulls = new int[patterns.size()];
+            CellVisitor evaluateCell = (row, column, cellValue) -> {
+                cells[0]++;
+                String rawCellValue = cellValue.toString();
+                for (int i = 0; i < patterns.size(); i++) {
+                    String value = patterns.get(i).extractValue(rawCellValue);
+                    if (value == null) {
+                        nulls[i]++;
+                        LOG.info("No value at " + new TableCellReference(row, column) + ", although specified " + patterns.get(i));
+                    } else {
+                        patternValues.get(i).put(new TableCellReference(row, column), value);
+                    }
+                }
+            };
+            if (allSkipEmptyCells(plans, range)) {
+                table.forEachNonEmptyCell(range, evaluateCell);
+            } else {
+                table.forEachCell(range, evaluateCell);
+            }
+            PipelineMetrics metrics = PipelineMetrics.get();
+            for (int i = 0; i < patterns.size(); i++) {
+                // counted once per range rather than per cell; a description evaluated on other threads
+                // at the same time adds their lookups too
+                CacheStats cache = patterns.get(i).getExtractionCacheStats().minus(cacheBefore[i]);
+                metrics.addExtractionCacheLookups(cache.hitCount(), cache.missCount());
+                if (events[i] != null) {
+                    PatternDescription pattern = patterns.get(i);
+                    ExtractionEvents.endFieldEvaluation(events[i], fieldsEvaluatedBy(plans, range, pattern), pattern.getPattern(),
+                            range.toReferenceString(), cells[0], cells[0] - nulls[i], nulls[i]);
                 }
             }
         }
+        return rangesAndTheirValues;
+    }
+
+    /**
+     * Whether the shared range can be read without its empty cells. Each field still drops empty cells on its own
+     * (see {@link #registerEvaluation}), so sharing a range never changes what a description gets.
+     */
+    private static boolean allSkipEmptyCells(List<ExtractionPlan> plans, TableRangeReference range) {
+        for (ExtractionPlan plan : plans) {
+            if (plan.getRangesAndTheirPatterns().containsKey(range) && !plan.canSkipEmptyCells(range)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String fieldsEvaluatedBy(List<ExtractionPlan> plans, TableRangeReference range, PatternDescription pattern) {
+        return plans.stream()
+                .flatMap(plan -> plan.getEvaluations().stream())
+                .filter(evaluation -> evaluation.getRange().equals(range) && evaluation.getPatternDescription().equals(pattern))
+                .map(PatternEvaluation::getField)
+                .distinct()
+                .collect(Collectors.joining(","));
+    }
+
+    private void registerEvaluation(PatternEvaluation evaluation, Map<TableCellReference, String> values,
+                                    Map<Integer, List<FieldData>> rowFields, Map<Integer, List<FieldData>> columnFields) {
+        if (evaluation.skipsEmptyCells()) {
+            // the range may have been read with its empty cells for other fields that share it
+            values = withoutEmptyCells(values);
+        }
+        TableRangeReference.RangeType rangeType = evaluation.getRange().getRangeType();
+
+        if (rangeType == TableRangeReference.RangeType.COLUMN_ONLY || rangeType == TableRangeReference.RangeType.SINGLE_CELL) {
+            // the fields are written in a column. That means, their values will be applicable to rows.
+            registerFieldToIndex(values, evaluation.getField(), rowFields, TableCellReference::getRow);
+        }
+
+        if (rangeType == TableRangeReference.RangeType.ROW_ONLY || rangeType == TableRangeReference.RangeType.SINGLE_CELL) {
+            // the fields are written in a row. That means, their values will be applicable to columns.
+            registerFieldToIndex(values, evaluation.getField(), columnFields, TableCellReference::getColumn);
+        }
+    }
+
+    private Map<TableCellReference, String> withoutEmptyCells(Map<TableCellReference, String> values) {
+        Map<TableCellReference, String> nonEmpty = new HashMap<>();
+        values.forEach((cell, value) -> {
+            if (!table.getCell(cell.getRow(), cell.getColumn()).isEmpty()) {
+                nonEmpty.put(cell, value);
+            }
+        });
+        return nonEmpty;
     }
 
     private void registerFieldToIndex(
@@ -127,93 +252,153 @@ public class QueryableFields {
         return Maps.immutableEntry(getIndex.apply(input.getKey()), new FieldData(field, input.getValue()));
     }
 
-    private Map<TableCellReference, String> calculatePatternValues(TableRangeReference range, PatternDescription patternDescription) {
-        LOG.fine(range.toString());
-        return Stream.of(range)
-                .map(table::getRange)
-                .flatMap(List::stream)
-                .peek(e -> LOG.fine(e.toString()))
-                .map(cell -> getValueOfOneCell(cell, patternDescription))
-                .peek(e -> LOG.fine(e.getKey() + ": " + e.getValue()))
-                .filter(e -> {
-                    if (e.getValue() != null) return true;
-                    LOG.info("No value at " + e.getKey().toString() + ", although specified " + patternDescription);
-                    return false;
-                })
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
-
-    private Map.Entry<TableCellReference, String> getValueOfOneCell(TableCell cell, PatternDescription
-            patternDescription) {
-        TableCellReference key = new TableCellReference(cell.getRow(), cell.getColumn());
-        String value;
-        if (patternDescription.getValue() != null) {
-            value = patternDescription.getValue();
-            LOG.fine("Assigned value from pattern hardcoded: " + value);
-        } else if (patternDescription.getCompiledPattern() != null) {
-            value = parseFieldWithPossibleRegex(patternDescription.getCompiledPattern(), cell);
-            LOG.fine("Assigned value from regex: " + value);
-        } else {
-            value = cell.getValue();
-            LOG.fine("Assigned value from cell: " + value);
-        }
-        value = prepend(value, patternDescription.getPrefix());
-        LOG.fine("Prepended prefix. Value now is " + value);
-        return Maps.immutableEntry(key, value);
-    }
-
-    private void saveValues(FieldDescription field) {
-        List<TableCell> cells = field.getPatterns().stream()
-                .map(PatternDescription::getRanges)
-                .flatMap(List::stream)
-                .map(table::getRange)
-                .flatMap(List::stream)
-                .distinct()
-                .collect(Collectors.toList());
-        valueCells.addAll(cells);
+    public Map<String, String> queryFieldsAt(int row, int column) {
+        Map<String, String> fieldsAtThisCell = new HashMap<>();
+
+        // TODO: Get rid of universal fields by putting it into rows and columns fields
+        universalFields.forEach(fieldData -> fieldsAtThisCell.put(fieldData.getName(), fieldData.getValue()));
+
+        stashInto(fieldsAtThisCell, getRowFields(row));
+        stashInto(fieldsAtThisCell, getColumnFields(column));
+
+        return fieldsAtThisCell;
     }
 
-    private String prepend(String fieldResultantValue, @Nullable String fieldValuePrefix) {
-        if (fieldValuePrefix == null) {
-            return fieldResultantValue;
-        } else {
-            return fieldValuePrefix.concat(fieldResultantValue);
+    /**
+     * A field named twice keeps its last value, as it does in {@link DataPointCursor} and the data points
+     */
+    private void stashInto(Map<String, String> targetMap, FieldData[] fields) {
+        for (FieldData field : fields) {
+            targetMap.put(field.getName(), field.getValue());
         }
     }
 
-    private String parseFieldWithPossibleRegex(Pattern pattern, TableCell cell) {
-        String rawCellValue = cell.getValue();
-        if (pattern == null) {
-            return rawCellValue;
-        } else {
-            return RegexHelper.getFirstMatchOrNull(rawCellValue, pattern);
-        }
+    FieldData[] getRowFields(int row) {
+        return row < rowsAndTheirFields.length ? rowsAndTheirFields[row] : NO_FIELDS;
     }
 
-    public Map<String, String> queryFieldsAt(int row, int column) {
-        Map<String, String> fieldsAtThisCell = new HashMap<>();
+    FieldData[] getColumnFields(int column) {
+        return column < columnsAndTheirFields.length ? columnsAndTheirFields[column] : NO_FIELDS;
+    }
 
-        // TODO: Get rid of universal fields by putting it into rows and columns fields
-        universalFields.forEach(fieldData -> fieldsAtThisCell.put(fieldData.getName(), fieldData.getValue()));
+    List<FieldData> getUniversalFields() {
+        return universalFields;
+    }
+
+    Map<String, String> getUniversalMap() {
+        buildFieldMaps();
+        return universalMap;
+    }
+
+    Map<String, String> getRowMap(int row) {
+        List<Map<String, String>> maps = buildFieldMaps();
+        return row < maps.size() ? maps.get(row) : Collections.emptyMap();
+    }
 
-        if (rowsAndTheirFields.containsKey(row)) {
-            stashInto(fieldsAtThisCell, rowsAndTheirFields.get(row));
+    Map<String, String> getColumnMap(int column) {
+        buildFieldMaps();
+        return column < columnMaps.size() ? columnMaps.get(column) : Collections.emptyMap();
+    }
+
+    private List<Map<String, String>> buildFieldMaps() {
+        List<Map<String, String>> maps = rowMaps;
+        if (maps == null) {
+            synchronized (this) {
+                maps = rowMaps;
+                if (maps == null) {
+                    universalMap = toSharedMap(universalFields.toArray(NO_FIELDS));
+                    columnMaps = toSharedMaps(columnsAndTheirFields);
+                    maps = toSharedMaps(rowsAndTheirFields);
+                    rowMaps = maps;
+                }
+            }
         }
+        return maps;
+    }
 
-        if (columnsAndTheirFields.containsKey(column)) {
-            stashInto(fieldsAtThisCell, columnsAndTheirFields.get(column));
+    private static List<Map<String, String>> toSharedMaps(FieldData[][] indexesAndTheirFields) {
+        List<Map<String, String>> maps = new ArrayList<>(indexesAndTheirFields.length);
+        for (FieldData[] fields : indexesAndTheirFields) {
+            maps.add(toSharedMap(fields));
         }
+        return maps;
+    }
 
-        return fieldsAtThisCell;
+    private static Map<String, String> toSharedMap(FieldData[] fields) {
+        if (fields.length == 0) {
+            return Collections.emptyMap();
+        }
+        if (fields.length == 1) {
+            return Collections.singletonMap(fields[0].getName(), fields[0].getValue());
+        }
+        Map<String, String> map = new HashMap<>();
+        for (FieldData field : fields) {
+            map.put(field.getName(), field.getValue());
+        }
+        return Collections.unmodifiableMap(map);
     }
 
-    private void stashInto(Map<String, String> targetMap, List<FieldData> fields) {
-        targetMap.putAll(
-                fields.stream().collect(toMap(FieldData::getName, FieldData::getValue))
-        );
+    /**
+     * @return the ranges values are taken from, in the order of the description
+     */
+    List<TableRangeReference> getValueRanges() {
+        return Collections.unmodifiableList(valueRanges);
     }
 
+    BitSet getValueRangesSkippingEmptyCells() {
+        return valueRangesSkippingEmptyCells;
+    }
+
+    Table getTable() {
+        return table;
+    }
+
+    /**
+     * Every cell a value is taken from, once each. The list is made the first time it is asked for;
+     * {@link DataPointCursor} goes over the same cells without it.
+     */
     public List<TableCell> getValueCells() {
-        return valueCells;
+        List<TableCell> cells = valueCells;
+        if (cells == null) {
+            synchronized (this) {
+                cells = valueCells;
+                if (cells == null) {
+                    cells = new ArrayList<>();
+                    ValueCellWalk walk = new ValueCellWalk(valueRanges, valueRangesSkippingEmptyCells, table);
+                    while (walk.next()) {
+                        cells.add(new TableCell(walk.getRow(), walk.getColumn(), table.getCell(walk.getRow(), walk.getColumn())));
+                    }
+                    valueCells = cells;
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * @return how many cells values are taken from, without listing them
+     */
+    public long countValueCells() {
+        List<TableCell> cells = valueCells;
+        if (cells != null) {
+            return cells.size();
+        }
+        long count = 0;
+        boolean overlapping = false;
+        for (int i = 0; i < valueRanges.size(); i++) {
+            count += ValueCellWalk.countCells(valueRanges.get(i), table);
+            for (int j = 0; j < i; j++) {
+                overlapping |= ValueCellWalk.overlap(valueRanges.get(i), valueRanges.get(j));
+            }
+        }
+        if (!overlapping && valueRangesSkippingEmptyCells.isEmpty()) {
+            return count;
+        }
+        count = 0;
+        ValueCellWalk walk = new ValueCellWalk(valueRanges, valueRangesSkippingEmptyCells, table);
+        while (walk.next()) {
+            count++;
+        }
+        return count;
     }
 }
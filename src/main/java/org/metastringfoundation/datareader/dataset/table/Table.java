@@ -31,19 +31,51 @@ public interface Table {
     }
 
     default List<TableCell> getRange(TableRangeReference rangeReference) {
+        List<TableCell> range = new ArrayList<>();
+        forEachCell(rangeReference, (row, column, value) -> range.add(new TableCell(row, column, value.toString())));
+        return range;
+    }
+
+    /**
+     * Visits every cell of the range that lies within the table, row by row.
+     * Implementations should override this to avoid allocating anything per cell.
+     */
+    default void forEachCell(TableRangeReference rangeReference, CellVisitor visitor) {
         int startRow = rangeReference.getStartingCell().getRow();
         int startCol = rangeReference.getStartingCell().getColumn();
         int endRow = rangeReference.getEndingCell().getRow();
         int endCol = rangeReference.getEndingCell().getColumn();
 
-        List<TableCell> range = new ArrayList<>();
         for (int rowIndex = startRow; rowIndex <= endRow && rowIndex < getNumberOfRows(); rowIndex++) {
             for (int colIndex = startCol; colIndex <= endCol && colIndex < getNumberOfColumns(); colIndex++) {
-                TableCell cell = new TableCell(rowIndex, colIndex, getCell(rowIndex, colIndex));
-                range.add(cell);
+                visitor.visit(rowIndex, colIndex, getCell(rowIndex, colIndex));
             }
         }
-        return range;
+    }
+
+    /**
+     * Like {@link #forEachCell}, but leaves out empty cells.
+     * Sparse tables override this to visit only the cells they hold.
+     */
+    default void forEachNonEmptyCell(TableRangeReference rangeReference, CellVisitor visitor) {
+        forEachCell(rangeReference, (row, column, value) -> {
+            if (value.length() > 0) {
+                visitor.visit(row, column, value);
+            }
+        });
+    }
+
+    /**
+     * @return the first column from {@code fromColumn} to {@code toColumn} at which the row has a non-empty cell,
+     * or -1 if there is none
+     */
+    default int nextNonEmptyColumn(int rowNumber, int fromColumn, int toColumn) {
+        for (int column = fromColumn; column <= toColumn; column++) {
+            if (!getCell(rowNumber, column).isEmpty()) {
+                return column;
+            }
+        }
+        return -1;
     }
 
     int getNumberOfRows();
@@ -17,6 +17,7 @@
 package org.metastringfoundation.datareader.dataset.table;
 
 import java.util.Locale;
+import java.util.Objects;
 
 public class TableCellReference {
     private int row = 0;
@@ -133,6 +134,14 @@ public class TableCellReference {
         return colRef.toString();
     }
 
+    /**
+     * The reference as it would be written in a description, such as "C2", "C" for a whole column or "2" for a whole row
+     */
+    public String toReferenceString() {
+        return (column == Integer.MAX_VALUE ? "" : convertNumToColString(column)) +
+                (row == Integer.MAX_VALUE ? "" : String.valueOf(row + 1));
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (super.equals(obj)) return true;
@@ -144,6 +153,11 @@ public class TableCellReference {
         );
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(row, column);
+    }
+
     @Override
     public String toString() {
         return "TableCellReference{" +
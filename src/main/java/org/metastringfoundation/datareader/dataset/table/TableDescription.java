@@ -16,12 +16,18 @@
 
 package org.metastringfoundation.datareader.dataset.table;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.events.ExtractionEvents;
 import org.metastringfoundation.datareader.helpers.FileManager;
 import org.metastringfoundation.datareader.helpers.Jsonizer;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+import org.metastringfoundation.datareader.metrics.Stage;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,8 +40,9 @@ public class TableDescription {
     }
 
     public static TableDescription fromPath(String path) throws IOException {
-        String description = FileManager.getFileContentsAsString(path);
-        return fromString(description);
+        try (InputStream description = FileManager.getFileInputStream(path)) {
+            return (TableDescription) Jsonizer.fromJSON(description, TableDescription.class);
+        }
     }
 
     public static TableDescription fromString(String jsonString) throws IOException {
@@ -85,6 +92,28 @@ public class TableDescription {
 
     public void setFieldDescriptionList(List<FieldDescription> fieldDescriptionList) {
         this.fieldDescriptionList = fieldDescriptionList;
+        this.extractionPlan = null;
+    }
+
+    @JsonIgnore
+    private volatile ExtractionPlan extractionPlan;
+
+    /**
+     * The plan is worked out on first use and then reused for every table read with this description,
+     * so fields should not be changed after a description has been used.
+     */
+    @JsonIgnore
+    public ExtractionPlan getExtractionPlan() throws DatasetIntegrityError {
+        ExtractionPlan plan = extractionPlan;
+        if (plan == null) {
+            Object event = ExtractionEvents.beginDescriptionCompile();
+            long start = System.nanoTime();
+            plan = ExtractionPlan.of(fieldDescriptionList);
+            PipelineMetrics.get().recordSince(Stage.DESCRIPTION_COMPILE, start);
+            ExtractionEvents.endDescriptionCompile(event, fieldDescriptionList.size(), plan.getEvaluations().size());
+            extractionPlan = plan;
+        }
+        return plan;
     }
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -0,0 +1,134 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.metastringfoundation.data.DatasetIntegrityError;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Keeps parsed descriptions, with their patterns compiled and their extraction plans worked out,
+ * so that applying the same descriptions over and over costs a lookup each time.
+ *
+ * Descriptions read from files are keyed by path, size and modification time, so an edited file is read again.
+ * Descriptions given as JSON are keyed by the JSON itself. Safe to use from several threads.
+ */
+public class TableDescriptionRegistry {
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final Cache<FileKey, TableDescription> descriptionsFromFiles;
+    private final Cache<String, TableDescription> descriptionsFromStrings;
+
+    public TableDescriptionRegistry() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public TableDescriptionRegistry(long maximumSize) {
+        descriptionsFromFiles = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        descriptionsFromStrings = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public TableDescription get(Path path) throws IOException, DatasetIntegrityError {
+        Path absolutePath = path.toAbsolutePath().normalize();
+        FileKey key = new FileKey(absolutePath.toString(), Files.size(absolutePath), Files.getLastModifiedTime(absolutePath).toMillis());
+        return getOrCompile(descriptionsFromFiles, key, () -> TableDescription.fromPath(absolutePath));
+    }
+
+    public TableDescription get(String json) throws IOException, DatasetIntegrityError {
+        return getOrCompile(descriptionsFromStrings, json, () -> TableDescription.fromString(json));
+    }
+
+    private <K> TableDescription getOrCompile(Cache<K, TableDescription> cache, K key, DescriptionReader reader) throws IOException, DatasetIntegrityError {
+        try {
+            return cache.get(key, () -> {
+                TableDescription description = reader.read();
+                // validates the description and gets the plan ready for the first user
+                description.getExtractionPlan();
+                return description;
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof DatasetIntegrityError) {
+                throw (DatasetIntegrityError) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    public void invalidateAll() {
+        descriptionsFromFiles.invalidateAll();
+        descriptionsFromStrings.invalidateAll();
+    }
+
+    public long size() {
+        return descriptionsFromFiles.size() + descriptionsFromStrings.size();
+    }
+
+    public CacheStats stats() {
+        return descriptionsFromFiles.stats().plus(descriptionsFromStrings.stats());
+    }
+
+    @FunctionalInterface
+    private interface DescriptionReader {
+        TableDescription read() throws IOException;
+    }
+
+    private static class FileKey {
+        private final String path;
+        private final long size;
+        private final long lastModifiedMillis;
+
+        private FileKey(String path, long size, long lastModifiedMillis) {
+            this.path = path;
+            this.size = size;
+            this.lastModifiedMillis = lastModifiedMillis;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FileKey fileKey = (FileKey) o;
+            return size == fileKey.size &&
+                    lastModifiedMillis == fileKey.lastModifiedMillis &&
+                    path.equals(fileKey.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, size, lastModifiedMillis);
+        }
+    }
+}
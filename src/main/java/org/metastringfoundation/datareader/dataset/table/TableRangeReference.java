@@ -106,6 +106,16 @@ public class TableRangeReference {
         return getRangeType(this.startingCell, this.endingCell);
     }
 
+    /**
+     * The range as it would be written in a description, such as "C2:" or "B1:1"
+     */
+    public String toReferenceString() {
+        if (startingCell.equals(endingCell)) {
+            return startingCell.toReferenceString();
+        }
+        return startingCell.toReferenceString() + ":" + endingCell.toReferenceString();
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (super.equals(obj)) return true;
@@ -20,12 +20,24 @@ import org.metastringfoundation.data.DataPoint;
 import org.metastringfoundation.data.Dataset;
 import org.metastringfoundation.data.DatasetIntegrityError;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
+/**
+ * The data points described by a table description. They are made on demand: iterating streams them one at a time,
+ * and only {@link #getData()} keeps them all. Consumers that look at each point once can use {@link #cursor()}
+ * to go over them without making them at all.
+ */
 public class TableToDatasetAdapter implements Dataset {
-    private final List<DataPoint> dataPoints;
+    public static final String DATA_FILE_TYPE_FIELD = DataPoint.DATA_FILE_TYPE_FIELD;
+    public static final String ROW_FIELD = DataPoint.ROW_FIELD;
+    public static final String COLUMN_FIELD = DataPoint.COLUMN_FIELD;
+    static final String TABLE_FILE_TYPE = "table";
+
+    private volatile List<DataPoint> dataPoints;
     private final QueryableFields queryableFields;
     private final Boolean shouldAddAddressToDatapoint;
 
@@ -35,10 +47,18 @@ public class TableToDatasetAdapter implements Dataset {
 
     public TableToDatasetAdapter(Table table, TableDescription tableDescription, Boolean shouldAddAddressToDatapoint) throws DatasetIntegrityError {
         this.shouldAddAddressToDatapoint = shouldAddAddressToDatapoint;
-        queryableFields = new QueryableFields(tableDescription.getFieldDescriptionList(), table);
-        this.dataPoints = calculateDataPoints();
+        queryableFields = new QueryableFields(tableDescription.getExtractionPlan(), table);
     }
 
+    TableToDatasetAdapter(QueryableFields queryableFields, Boolean shouldAddAddressToDatapoint) {
+        this.shouldAddAddressToDatapoint = shouldAddAddressToDatapoint;
+        this.queryableFields = queryableFields;
+    }
+
+    /**
+     * One dataset for all the descriptions together. To keep the datasets apart while still reading the shared
+     * ranges once, see {@link MultiDescriptionExtractor}.
+     */
     public static TableToDatasetAdapter of(Table table, List<TableDescription> tableDescriptions) throws DatasetIntegrityError {
         return TableToDatasetAdapter.of(table, tableDescriptions, false);
     }
@@ -51,26 +71,64 @@ public class TableToDatasetAdapter implements Dataset {
     }
 
     private List<DataPoint> calculateDataPoints() {
-        return queryableFields.getValueCells()
-                .stream()
-                .map(this::fetchFieldsAndMakeDataPoint)
-                .map(DataPoint::new)
-                .collect(Collectors.toList());
+        List<DataPoint> calculated = new ArrayList<>();
+        DataPointCursor cursor = cursor();
+        while (cursor.next()) {
+            calculated.add(cursor.toDataPoint());
+        }
+        return calculated;
+    }
+
+    public int getNumberOfDataPoints() {
+        return Math.toIntExact(queryableFields.countValueCells());
+    }
+
+    /**
+     * A fresh cursor over the data points, see {@link DataPointCursor}
+     */
+    public DataPointCursor cursor() {
+        return new DataPointCursor(queryableFields, shouldAddAddressToDatapoint);
     }
 
-    private Map<String, String> fetchFieldsAndMakeDataPoint(TableCell cell) {
-        Map<String, String> fields = queryableFields.queryFieldsAt(cell.getRow(), cell.getColumn());
-        if (shouldAddAddressToDatapoint) {
-            fields.put("meta.dataFileType", "table");
-            fields.put("meta.addressInDataFile.row", String.valueOf(cell.getRow()));
-            fields.put("meta.addressInDataFile.column", String.valueOf(cell.getColumn()));
+    @Override
+    public Iterator<DataPoint> iterator() {
+        List<DataPoint> calculated = dataPoints;
+        if (calculated != null) {
+            return calculated.iterator();
         }
-        fields.put("value", cell.getValue());
-        return fields;
+        DataPointCursor cursor = cursor();
+        return new Iterator<DataPoint>() {
+            private boolean hasNext = cursor.next();
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public DataPoint next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                DataPoint dataPoint = cursor.toDataPoint();
+                hasNext = cursor.next();
+                return dataPoint;
+            }
+        };
     }
 
     @Override
     public List<DataPoint> getData() {
-        return dataPoints;
+        List<DataPoint> calculated = dataPoints;
+        if (calculated == null) {
+            synchronized (this) {
+                calculated = dataPoints;
+                if (calculated == null) {
+                    calculated = calculateDataPoints();
+                    dataPoints = calculated;
+                }
+            }
+        }
+        return calculated;
     }
 }
@@ -0,0 +1,142 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Goes over the cells of value ranges in the same order as {@link QueryableFields#getValueCells()}, range by range
+ * and row by row, without making anything per cell. A cell in more than one range is visited only in the first.
+ * Ranges whose description skips empty cells ask the table for the next non-empty column, so that on a sparse table
+ * the walk takes time in proportion to the cells that are there rather than to the area of the range.
+ */
+class ValueCellWalk {
+    private final int[] startRows;
+    private final int[] startColumns;
+    private final int[] endRows;
+    private final int[] endColumns;
+    private final BitSet skippingEmptyCells;
+    private final Table table;
+    private int range = 0;
+    private int row;
+    private int column;
+    private boolean started = false;
+
+    /**
+     * @param skippingEmptyCells indexes of the ranges whose empty cells are left out
+     */
+    ValueCellWalk(List<TableRangeReference> ranges, BitSet skippingEmptyCells, Table table) {
+        this.skippingEmptyCells = skippingEmptyCells;
+        this.table = table;
+        int size = ranges.size();
+        startRows = new int[size];
+        startColumns = new int[size];
+        endRows = new int[size];
+        endColumns = new int[size];
+        for (int i = 0; i < size; i++) {
+            TableRangeReference reference = ranges.get(i);
+            startRows[i] = reference.getStartingCell().getRow();
+            startColumns[i] = reference.getStartingCell().getColumn();
+            endRows[i] = Math.min(reference.getEndingCell().getRow(), table.getNumberOfRows() - 1);
+            endColumns[i] = Math.min(reference.getEndingCell().getColumn(), table.getNumberOfColumns() - 1);
+        }
+    }
+
+    static long countCells(TableRangeReference range, Table table) {
+        long rows = Math.min(range.getEndingCell().getRow(), table.getNumberOfRows() - 1) - range.getStartingCell().getRow() + 1;
+        long columns = Math.min(range.getEndingCell().getColumn(), table.getNumberOfColumns() - 1) - range.getStartingCell().getColumn() + 1;
+        return rows <= 0 || columns <= 0 ? 0 : rows * columns;
+    }
+
+    static boolean overlap(TableRangeReference a, TableRangeReference b) {
+        return a.getStartingCell().getRow() <= b.getEndingCell().getRow()
+                && b.getStartingCell().getRow() <= a.getEndingCell().getRow()
+                && a.getStartingCell().getColumn() <= b.getEndingCell().getColumn()
+                && b.getStartingCell().getColumn() <= a.getEndingCell().getColumn();
+    }
+
+    /**
+     * Moves to the next value cell
+     * @return false once there are no more
+     */
+    boolean next() {
+        do {
+            if (!advance()) {
+                return false;
+            }
+        } while (inEarlierRange());
+        return true;
+    }
+
+    private boolean advance() {
+        if (!started) {
+            started = true;
+            if (startRows.length == 0) {
+                return false;
+            }
+            row = startRows[0];
+            column = startColumns[0] - 1;
+        }
+        while (range < startRows.length) {
+            if (column < endColumns[range]) {
+                column++;
+            } else {
+                row++;
+                column = startColumns[range];
+            }
+            if (row <= endRows[range] && column <= endColumns[range]) {
+                if (!skippingEmptyCells.get(range)) {
+                    return true;
+                }
+                int nonEmptyColumn = table.nextNonEmptyColumn(row, column, endColumns[range]);
+                if (nonEmptyColumn >= 0) {
+                    column = nonEmptyColumn;
+                    return true;
+                }
+                // nothing more in this row; move on to the next one
+                column = endColumns[range];
+                continue;
+            }
+            range++;
+            if (range < startRows.length) {
+                row = startRows[range];
+                column = startColumns[range] - 1;
+            }
+        }
+        return false;
+    }
+
+    private boolean inEarlierRange() {
+        for (int earlier = 0; earlier < range; earlier++) {
+            if (row >= startRows[earlier] && row <= endRows[earlier]
+                    && column >= startColumns[earlier] && column <= endColumns[earlier]
+                    && !(skippingEmptyCells.get(earlier) && table.getCell(row, column).isEmpty())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getRow() {
+        return row;
+    }
+
+    int getColumn() {
+        return column;
+    }
+}
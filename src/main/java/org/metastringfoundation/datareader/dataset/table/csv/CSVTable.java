@@ -20,17 +20,37 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.table.CellNormalizer;
+import org.metastringfoundation.datareader.dataset.table.CellVisitor;
 import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+import org.metastringfoundation.datareader.dataset.table.snapshot.SnapshotTable;
+import org.metastringfoundation.datareader.dataset.table.snapshot.TableSnapshot;
+import org.metastringfoundation.datareader.events.ExtractionEvents;
 import org.metastringfoundation.datareader.helpers.FileManager;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+import org.metastringfoundation.datareader.metrics.Stage;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
 
+/**
+ * A table parsed into the heap. Each cell goes through a {@link CellNormalizer} as it is read, which by default
+ * interns it so that repeated values are kept once.
+ */
 public class CSVTable implements Table {
-    private List<CSVRecord> records;
+    private static final Logger LOG = Logger.getLogger(CSVTable.class.getName());
+    private final CellNormalizer normalizer;
+    private List<String[]> records;
     private int totalRecords;
     private int eachRecordSize;
 
@@ -42,29 +62,99 @@ public class CSVTable implements Table {
         return new CSVTable(path);
     }
 
+    public static CSVTable fromPath(Path path, CellNormalizer normalizer) throws IOException, DatasetIntegrityError {
+        return new CSVTable(path, normalizer);
+    }
+
+    /**
+     * Like {@link #fromPath(Path)}, but reuses a snapshot of an earlier parse of the same file if it is still fresh
+     * (see {@link TableSnapshot}). When there is none, the file is parsed and a snapshot is left next to it.
+     */
+    public static Table load(Path path) throws IOException, DatasetIntegrityError {
+        return load(path, TableSnapshot.snapshotPathFor(path));
+    }
+
+    public static Table load(Path path, Path snapshot) throws IOException, DatasetIntegrityError {
+        TableSnapshot.Source source = TableSnapshot.Source.of(path);
+        try {
+            Optional<SnapshotTable> snapshotTable = TableSnapshot.openIfFresh(snapshot, source);
+            if (snapshotTable.isPresent()) {
+                LOG.fine("Using snapshot " + snapshot);
+                return snapshotTable.get();
+            }
+        } catch (IOException e) {
+            LOG.info("Could not use snapshot " + snapshot + ": " + e);
+        }
+
+        CSVTable table = new CSVTable(path);
+        try {
+            TableSnapshot.write(table, source, snapshot);
+        } catch (IOException e) {
+            // the source might be on a read-only volume; parsing again next time is not a disaster
+            LOG.info("Could not write snapshot " + snapshot + ": " + e);
+        }
+        return table;
+    }
+
     public CSVTable(Path path) throws DatasetIntegrityError, IOException {
+        this(path, CellNormalizer.interning());
+    }
+
+    public CSVTable(Path path, CellNormalizer normalizer) throws DatasetIntegrityError, IOException {
+        this.normalizer = normalizer;
+        Object event = ExtractionEvents.beginTableParse();
+        long start = System.nanoTime();
         try (
                 Reader csvReader = FileManager.getFileReader(path);
                 CSVParser csvParser = new CSVParser(csvReader, CSVFormat.DEFAULT)
         ) {
             parseRecords(csvParser);
         }
+        long bytes = Files.size(path);
+        recordParse(start, bytes);
+        ExtractionEvents.endTableParse(event, path.toString(), totalRecords, eachRecordSize, bytes);
     }
 
     public CSVTable(String csvString) throws DatasetIntegrityError, IOException {
+        this(csvString, CellNormalizer.interning());
+    }
+
+    public CSVTable(String csvString, CellNormalizer normalizer) throws DatasetIntegrityError, IOException {
+        this.normalizer = normalizer;
+        Object event = ExtractionEvents.beginTableParse();
+        long start = System.nanoTime();
         try (
                 CSVParser csvParser = CSVParser.parse(csvString, CSVFormat.DEFAULT)
         )
         {
             parseRecords(csvParser);
         }
+        // characters rather than bytes, which is the same thing for the mostly ASCII data we read
+        recordParse(start, csvString.length());
+        ExtractionEvents.endTableParse(event, null, totalRecords, eachRecordSize, csvString.length());
     }
 
     private void parseRecords(CSVParser csvParser) throws IOException, DatasetIntegrityError {
-        setRecords(csvParser.getRecords());
+        List<String[]> recordsRead = new ArrayList<>();
+        for (CSVRecord record : csvParser) {
+            String[] cells = new String[record.size()];
+            for (int column = 0; column < cells.length; column++) {
+                cells[column] = normalizer.normalize(record.get(column));
+            }
+            recordsRead.add(cells);
+        }
+        setRecords(recordsRead);
+    }
+
+    private void recordParse(long start, long bytes) {
+        PipelineMetrics metrics = PipelineMetrics.get();
+        metrics.recordSince(Stage.CSV_PARSE, start);
+        metrics.addBytesRead(bytes);
+        metrics.addRowsRead(totalRecords);
+        metrics.addCellsRead((long) totalRecords * eachRecordSize);
     }
 
-    private void setRecords(List<CSVRecord> recordsRead) throws DatasetIntegrityError {
+    private void setRecords(List<String[]> recordsRead) throws DatasetIntegrityError {
         records = recordsRead;
         validateRecords();
         calculateParams();
@@ -84,9 +174,9 @@ public class CSVTable implements Table {
     }
 
     private boolean checkRecordsEqualSize() {
-        int sizeOfFirstRecord = records.get(0).size();
-        for (CSVRecord record: records) {
-            if (record.size() != sizeOfFirstRecord) {
+        int sizeOfFirstRecord = records.get(0).length;
+        for (String[] record: records) {
+            if (record.length != sizeOfFirstRecord) {
                 return false;
             }
         }
@@ -99,32 +189,73 @@ public class CSVTable implements Table {
 
     private void calculateRecordSizes() {
         // We verify that all records are equal size during validation
-        eachRecordSize = records.get(0).size();
+        eachRecordSize = records.get(0).length;
 
         totalRecords = records.size();
     }
 
+    /**
+     * @return a read-only view of the rows, which copies nothing
+     */
     @Override
     public List<List<String>> getTable() {
-        List<List<String>> table = new ArrayList<>();
-        for (int record = 0; record < totalRecords; record++) {
-            table.add(getRow(record));
-        }
-        return table;
+        return new AbstractList<List<String>>() {
+            @Override
+            public List<String> get(int rowNumber) {
+                return getRow(rowNumber);
+            }
+
+            @Override
+            public int size() {
+                return totalRecords;
+            }
+        };
     }
 
     @Override
     public List<String> getRow(int rowNumber) {
-        List<String> row = new ArrayList<>();
-        records.get(rowNumber).forEach(row::add);
-        return row;
+        return Collections.unmodifiableList(Arrays.asList(records.get(rowNumber)));
     }
 
+    @Override
+    public String getCell(int rowNumber, int columnNumber) {
+        return records.get(rowNumber)[columnNumber];
+    }
+
+    @Override
+    public void forEachCell(TableRangeReference rangeReference, CellVisitor visitor) {
+        int startRow = rangeReference.getStartingCell().getRow();
+        int startColumn = rangeReference.getStartingCell().getColumn();
+        int endRow = Math.min(rangeReference.getEndingCell().getRow(), totalRecords - 1);
+        int endColumn = Math.min(rangeReference.getEndingCell().getColumn(), eachRecordSize - 1);
+
+        for (int row = startRow; row <= endRow; row++) {
+            String[] record = records.get(row);
+            for (int column = startColumn; column <= endColumn; column++) {
+                visitor.visit(row, column, record[column]);
+            }
+        }
+    }
+
+    /**
+     * @return a read-only view of the column, which copies nothing
+     */
     @Override
     public List<String> getColumn(int columnNumber) {
-        List<String> column = new ArrayList<>();
-        records.forEach(record -> column.add(record.get(columnNumber)));
-        return column;
+        if (columnNumber < 0 || columnNumber >= eachRecordSize) {
+            throw new IndexOutOfBoundsException("Column " + columnNumber + " of " + eachRecordSize);
+        }
+        return new AbstractList<String>() {
+            @Override
+            public String get(int rowNumber) {
+                return records.get(rowNumber)[columnNumber];
+            }
+
+            @Override
+            public int size() {
+                return totalRecords;
+            }
+        };
     }
 
     @Override
@@ -0,0 +1,389 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.offheap;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.table.CellNormalizer;
+import org.metastringfoundation.datareader.dataset.table.CellVisitor;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+import org.metastringfoundation.datareader.events.ExtractionEvents;
+import org.metastringfoundation.datareader.helpers.FileManager;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+import org.metastringfoundation.datareader.metrics.Stage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A table whose cells live outside the Java heap, for inputs too large to keep as strings.
+ *
+ * The UTF-8 bytes of all cells are appended to an arena of direct buffers, and an index, also in direct buffers,
+ * keeps where each cell starts and how long it is. The heap only holds a few dozen buffer objects however large
+ * the table, so heap use and GC pressure do not grow with the input. Strings are made only when a cell is asked
+ * for with {@link #getCell(int, int)}; {@link #forEachCell(TableRangeReference, CellVisitor)} hands out a reused
+ * character sequence instead.
+ *
+ * The memory is given back by {@link #close()}, after which the table cannot be used. Close it only when no other
+ * thread is reading it.
+ */
+public class OffHeapTable implements Table, Closeable {
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private static final int FIRST_ARENA_CHUNK_BYTES = 64 * 1024;
+    private static final int MAX_ARENA_CHUNK_BYTES = 64 * 1024 * 1024;
+    /** a long for where the cell starts (arena chunk in the high half, offset in the low half) and an int for its length */
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int INDEX_CHUNK_SHIFT = 16;
+    private static final int CELLS_PER_INDEX_CHUNK = 1 << INDEX_CHUNK_SHIFT;
+
+    private final long memoryCap;
+    private final List<ByteBuffer> arena = new ArrayList<>();
+    private final List<ByteBuffer> index = new ArrayList<>();
+    private long allocatedBytes;
+    private int numberOfRows;
+    private int numberOfColumns;
+    private long numberOfCells;
+    private boolean closed;
+
+    private OffHeapTable(long memoryCap) {
+        this.memoryCap = memoryCap;
+    }
+
+    public static OffHeapTable fromPath(Path path) throws IOException, DatasetIntegrityError {
+        return fromPath(path, UNLIMITED);
+    }
+
+    /**
+     * @param memoryCap most direct memory the table may take; reading fails with an IOException beyond it
+     */
+    public static OffHeapTable fromPath(Path path, long memoryCap) throws IOException, DatasetIntegrityError {
+        return fromPath(path, memoryCap, CellNormalizer.none());
+    }
+
+    /**
+     * @param normalizer applied to each cell before it is stored; interning gains nothing off the heap
+     */
+    public static OffHeapTable fromPath(Path path, long memoryCap, CellNormalizer normalizer) throws IOException, DatasetIntegrityError {
+        Object event = ExtractionEvents.beginTableParse();
+        long start = System.nanoTime();
+        OffHeapTable table;
+        try (Reader reader = FileManager.getFileReader(path)) {
+            table = read(reader, memoryCap, normalizer);
+        }
+        long bytes = Files.size(path);
+        table.recordParse(start, bytes);
+        ExtractionEvents.endTableParse(event, path.toString(), table.numberOfRows, table.numberOfColumns, bytes);
+        return table;
+    }
+
+    public static OffHeapTable fromString(String csvString, long memoryCap) throws IOException, DatasetIntegrityError {
+        Object event = ExtractionEvents.beginTableParse();
+        long start = System.nanoTime();
+        OffHeapTable table = read(new StringReader(csvString), memoryCap, CellNormalizer.none());
+        table.recordParse(start, csvString.length());
+        ExtractionEvents.endTableParse(event, null, table.numberOfRows, table.numberOfColumns, csvString.length());
+        return table;
+    }
+
+    private static OffHeapTable read(Reader reader, long memoryCap, CellNormalizer normalizer) throws IOException, DatasetIntegrityError {
+        OffHeapTable table = new OffHeapTable(memoryCap);
+        try (CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT)) {
+            for (CSVRecord record : parser) {
+                table.appendRow(record, normalizer);
+            }
+            if (table.numberOfRows == 0) {
+                throw new DatasetIntegrityError("There should be more than 0 records and all of equal size");
+            }
+        } catch (IOException | DatasetIntegrityError | RuntimeException e) {
+            table.close();
+            throw e;
+        }
+        return table;
+    }
+
+    private void appendRow(CSVRecord record, CellNormalizer normalizer) throws IOException, DatasetIntegrityError {
+        if (numberOfRows == 0) {
+            numberOfColumns = record.size();
+        } else if (record.size() != numberOfColumns) {
+            throw new DatasetIntegrityError("There should be more than 0 records and all of equal size");
+        }
+        for (String value : record) {
+            appendCell(normalizer.normalize(value));
+        }
+        numberOfRows++;
+    }
+
+    private void appendCell(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer chunk = arena.isEmpty() ? null : arena.get(arena.size() - 1);
+        if (chunk == null || chunk.remaining() < bytes.length) {
+            int previousSize = chunk == null ? FIRST_ARENA_CHUNK_BYTES / 2 : chunk.capacity();
+            chunk = allocate(Math.max(bytes.length, Math.min(MAX_ARENA_CHUNK_BYTES, previousSize * 2)));
+            arena.add(chunk);
+        }
+        long start = ((long) (arena.size() - 1) << 32) | chunk.position();
+        chunk.put(bytes);
+
+        int indexChunk = (int) (numberOfCells >>> INDEX_CHUNK_SHIFT);
+        if (indexChunk == index.size()) {
+            index.add(allocate(CELLS_PER_INDEX_CHUNK * INDEX_ENTRY_BYTES));
+        }
+        int entry = (int) (numberOfCells & (CELLS_PER_INDEX_CHUNK - 1)) * INDEX_ENTRY_BYTES;
+        index.get(indexChunk).putLong(entry, start);
+        index.get(indexChunk).putInt(entry + Long.BYTES, bytes.length);
+        numberOfCells++;
+    }
+
+    private ByteBuffer allocate(int bytes) throws IOException {
+        if (allocatedBytes + bytes > memoryCap) {
+            throw new IOException("Table needs more than the off-heap memory cap of " + memoryCap + " bytes");
+        }
+        allocatedBytes += bytes;
+        return ByteBuffer.allocateDirect(bytes);
+    }
+
+    private void recordParse(long start, long bytes) {
+        PipelineMetrics metrics = PipelineMetrics.get();
+        metrics.recordSince(Stage.CSV_PARSE, start);
+        metrics.addBytesRead(bytes);
+        metrics.addRowsRead(numberOfRows);
+        metrics.addCellsRead(numberOfCells);
+    }
+
+    /**
+     * @return direct memory taken by the table, including space not yet filled in its last buffers
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String getCell(int rowNumber, int columnNumber) {
+        checkOpen();
+        checkRow(rowNumber);
+        checkColumn(columnNumber);
+        long cell = (long) rowNumber * numberOfColumns + columnNumber;
+        ByteBuffer indexChunk = index.get((int) (cell >>> INDEX_CHUNK_SHIFT));
+        int entry = (int) (cell & (CELLS_PER_INDEX_CHUNK - 1)) * INDEX_ENTRY_BYTES;
+        long start = indexChunk.getLong(entry);
+        int length = indexChunk.getInt(entry + Long.BYTES);
+        byte[] bytes = new byte[length];
+        readInto(bytes, arena.get((int) (start >>> 32)), (int) start, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies bytes out of an arena chunk through a duplicate, whose position is its own, so concurrent readers
+     * do not disturb each other
+     */
+    private static void readInto(byte[] bytes, ByteBuffer chunk, int offset, int length) {
+        ByteBuffer cell = chunk.duplicate();
+        cell.position(offset);
+        cell.get(bytes, 0, length);
+    }
+
+    @Override
+    public void forEachCell(TableRangeReference rangeReference, CellVisitor visitor) {
+        checkOpen();
+        int startRow = rangeReference.getStartingCell().getRow();
+        int startColumn = rangeReference.getStartingCell().getColumn();
+        int endRow = Math.min(rangeReference.getEndingCell().getRow(), numberOfRows - 1);
+        int endColumn = Math.min(rangeReference.getEndingCell().getColumn(), numberOfColumns - 1);
+
+        CellChars value = new CellChars();
+        for (int row = startRow; row <= endRow; row++) {
+            for (int column = startColumn; column <= endColumn; column++) {
+                long cell = (long) row * numberOfColumns + column;
+                ByteBuffer indexChunk = index.get((int) (cell >>> INDEX_CHUNK_SHIFT));
+                int entry = (int) (cell & (CELLS_PER_INDEX_CHUNK - 1)) * INDEX_ENTRY_BYTES;
+                long start = indexChunk.getLong(entry);
+                value.load(arena.get((int) (start >>> 32)), (int) start, indexChunk.getInt(entry + Long.BYTES));
+                visitor.visit(row, column, value);
+            }
+        }
+    }
+
+    @Override
+    public int nextNonEmptyColumn(int rowNumber, int fromColumn, int toColumn) {
+        checkOpen();
+        checkRow(rowNumber);
+        int endColumn = Math.min(toColumn, numberOfColumns - 1);
+        for (int column = fromColumn; column <= endColumn; column++) {
+            long cell = (long) rowNumber * numberOfColumns + column;
+            int entry = (int) (cell & (CELLS_PER_INDEX_CHUNK - 1)) * INDEX_ENTRY_BYTES;
+            if (index.get((int) (cell >>> INDEX_CHUNK_SHIFT)).getInt(entry + Long.BYTES) > 0) {
+                return column;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public List<List<String>> getTable() {
+        return new AbstractList<List<String>>() {
+            @Override
+            public List<String> get(int rowNumber) {
+                return getRow(rowNumber);
+            }
+
+            @Override
+            public int size() {
+                return numberOfRows;
+            }
+        };
+    }
+
+    @Override
+    public List<String> getRow(int rowNumber) {
+        checkRow(rowNumber);
+        return new AbstractList<String>() {
+            @Override
+            public String get(int columnNumber) {
+                return getCell(rowNumber, columnNumber);
+            }
+
+            @Override
+            public int size() {
+                return numberOfColumns;
+            }
+        };
+    }
+
+    @Override
+    public List<String> getColumn(int columnNumber) {
+        checkColumn(columnNumber);
+        return new AbstractList<String>() {
+            @Override
+            public String get(int rowNumber) {
+                return getCell(rowNumber, columnNumber);
+            }
+
+            @Override
+            public int size() {
+                return numberOfRows;
+            }
+        };
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        arena.forEach(DirectBuffers::free);
+        index.forEach(DirectBuffers::free);
+        arena.clear();
+        index.clear();
+        allocatedBytes = 0;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Table has been closed");
+        }
+    }
+
+    private void checkRow(int rowNumber) {
+        if (rowNumber < 0 || rowNumber >= numberOfRows) {
+            throw new IndexOutOfBoundsException("Row " + rowNumber + " of " + numberOfRows);
+        }
+    }
+
+    private void checkColumn(int columnNumber) {
+        if (columnNumber < 0 || columnNumber >= numberOfColumns) {
+            throw new IndexOutOfBoundsException("Column " + columnNumber + " of " + numberOfColumns);
+        }
+    }
+
+    /**
+     * The characters of one cell at a time, decoded into reused arrays. ASCII, which is nearly all of our data,
+     * is copied straight across; anything else goes through a String.
+     */
+    private static class CellChars implements CharSequence {
+        private byte[] bytes = new byte[64];
+        private char[] chars = new char[64];
+        private int length;
+
+        void load(ByteBuffer chunk, int offset, int byteLength) {
+            if (bytes.length < byteLength) {
+                bytes = new byte[Math.max(byteLength, bytes.length * 2)];
+                chars = new char[bytes.length];
+            }
+            readInto(bytes, chunk, offset, byteLength);
+            boolean ascii = true;
+            for (int i = 0; i < byteLength; i++) {
+                byte b = bytes[i];
+                chars[i] = (char) b;
+                ascii &= b >= 0;
+            }
+            if (ascii) {
+                length = byteLength;
+            } else {
+                String decoded = new String(bytes, 0, byteLength, StandardCharsets.UTF_8);
+                length = decoded.length();
+                decoded.getChars(0, length, chars, 0);
+            }
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index " + index + " of " + length);
+            }
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.snapshot;
+
+import org.metastringfoundation.datareader.dataset.table.CellVisitor;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * A table backed by a memory-mapped snapshot file, see {@link TableSnapshot}.
+ * Opening one only reads the header; cells are decoded from the mapping when asked for.
+ */
+public class SnapshotTable implements Table {
+    private final int numberOfRows;
+    private final int numberOfColumns;
+    private final ByteBuffer cells;
+    private final ByteBuffer offsets;
+    private final ByteBuffer strings;
+
+    SnapshotTable(int numberOfRows, int numberOfColumns, ByteBuffer cells, ByteBuffer offsets, ByteBuffer strings) {
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+        this.cells = cells;
+        this.offsets = offsets;
+        this.strings = strings;
+    }
+
+    @Override
+    public List<List<String>> getTable() {
+        return new AbstractList<List<String>>() {
+            @Override
+            public List<String> get(int rowNumber) {
+                return getRow(rowNumber);
+            }
+
+            @Override
+            public int size() {
+                return numberOfRows;
+            }
+        };
+    }
+
+    @Override
+    public List<String> getRow(int rowNumber) {
+        checkRow(rowNumber);
+        return new AbstractList<String>() {
+            @Override
+            public String get(int columnNumber) {
+                return getCell(rowNumber, columnNumber);
+            }
+
+            @Override
+            public int size() {
+                return numberOfColumns;
+            }
+        };
+    }
+
+    @Override
+    public List<String> getColumn(int columnNumber) {
+        checkColumn(columnNumber);
+        return new AbstractList<String>() {
+            @Override
+            public String get(int rowNumber) {
+                return getCell(rowNumber, columnNumber);
+            }
+
+            @Override
+            public int size() {
+                return numberOfRows;
+            }
+        };
+    }
+
+    @Override
+    public String getCell(int rowNumber, int columnNumber) {
+        checkRow(rowNumber);
+        checkColumn(columnNumber);
+        int stringIndex = cells.getInt((rowNumber * numberOfColumns + columnNumber) * Integer.BYTES);
+        return decode(stringIndex);
+    }
+
+    @Override
+    public void forEachCell(TableRangeReference rangeReference, CellVisitor visitor) {
+        int startRow = rangeReference.getStartingCell().getRow();
+        int startColumn = rangeReference.getStartingCell().getColumn();
+        int endRow = Math.min(rangeReference.getEndingCell().getRow(), numberOfRows - 1);
+        int endColumn = Math.min(rangeReference.getEndingCell().getColumn(), numberOfColumns - 1);
+
+        for (int row = startRow; row <= endRow; row++) {
+            for (int column = startColumn; column <= endColumn; column++) {
+                visitor.visit(row, column, decode(cells.getInt((row * numberOfColumns + column) * Integer.BYTES)));
+            }
+        }
+    }
+
+    private String decode(int stringIndex) {
+        int start = (int) offsets.getLong(stringIndex * Long.BYTES);
+        int end = (int) offsets.getLong((stringIndex + 1) * Long.BYTES);
+        byte[] bytes = new byte[end - start];
+        // a duplicate has its own position, so concurrent readers do not disturb each other
+        ByteBuffer string = strings.duplicate();
+        string.position(start);
+        string.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void checkRow(int rowNumber) {
+        if (rowNumber < 0 || rowNumber >= numberOfRows) {
+            throw new IndexOutOfBoundsException("Row " + rowNumber + " of " + numberOfRows);
+        }
+    }
+
+    private void checkColumn(int columnNumber) {
+        if (columnNumber < 0 || columnNumber >= numberOfColumns) {
+            throw new IndexOutOfBoundsException("Column " + columnNumber + " of " + numberOfColumns);
+        }
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.snapshot;
+
+import org.metastringfoundation.datareader.dataset.table.Table;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshot of a parsed table, which can be memory-mapped back without parsing.
+ *
+ * <pre>
+ * header  := MAGIC VERSION:int rows:int columns:int dictionarySize:int reserved:int
+ *            sourceSize:long sourceModifiedMillis:long sourceChecksum:long
+ * cells   := dictionaryIndex:int{rows * columns}         (row by row)
+ * offsets := byteOffset:long{dictionarySize + 1}         (into strings)
+ * strings := utf8-bytes of every distinct cell value
+ * </pre>
+ *
+ * The source fields record the size, modification time and CRC32 of the file the table was parsed from,
+ * so that a snapshot is only used while it matches its source.
+ */
+public class TableSnapshot {
+    private static final Logger LOG = Logger.getLogger(TableSnapshot.class.getName());
+    private static final byte[] MAGIC = {'D', 'R', 'T', 'S'};
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 48;
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    public static Path snapshotPathFor(Path source) {
+        return source.resolveSibling(source.getFileName() + SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Size, modification time and checksum of a source file at one moment
+     */
+    public static final class Source {
+        private final long size;
+        private final long modifiedMillis;
+        private final long checksum;
+
+        private Source(long size, long modifiedMillis, long checksum) {
+            this.size = size;
+            this.modifiedMillis = modifiedMillis;
+            this.checksum = checksum;
+        }
+
+        /**
+         * Take this before parsing the file, so that an edit made while it is parsed makes the snapshot stale
+         * instead of fresh
+         */
+        public static Source of(Path file) throws IOException {
+            return new Source(Files.size(file), Files.getLastModifiedTime(file).toMillis(), checksumOf(file));
+        }
+    }
+
+    /**
+     * Writes the snapshot of a table parsed from the source as it was when stamped. The snapshot file is replaced atomically.
+     */
+    public static void write(Table table, Source source, Path snapshot) throws IOException {
+        int rows = table.getNumberOfRows();
+        int columns = table.getNumberOfColumns();
+        if ((long) rows * columns * Integer.BYTES > Integer.MAX_VALUE) {
+            throw new IOException("Table with " + rows + " rows and " + columns + " columns is too large for a snapshot");
+        }
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<byte[]> distinctValues = new ArrayList<>();
+        int[] cells = new int[rows * columns];
+        long stringsSize = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                String value = table.getCell(row, column);
+                Integer index = dictionary.get(value);
+                if (index == null) {
+                    index = distinctValues.size();
+                    dictionary.put(value, index);
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    distinctValues.add(bytes);
+                    stringsSize += bytes.length;
+                }
+                cells[row * columns + column] = index;
+            }
+        }
+        if (stringsSize > Integer.MAX_VALUE || (long) (distinctValues.size() + 1) * Long.BYTES > Integer.MAX_VALUE) {
+            throw new IOException("Table has too many distinct values for a snapshot");
+        }
+
+        Path temporary = snapshot.resolveSibling(snapshot.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.write(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(rows);
+                output.writeInt(columns);
+                output.writeInt(distinctValues.size());
+                output.writeInt(0);
+                output.writeLong(source.size);
+                output.writeLong(source.modifiedMillis);
+                output.writeLong(source.checksum);
+                for (int cell : cells) {
+                    output.writeInt(cell);
+                }
+                long offset = 0;
+                output.writeLong(offset);
+                for (byte[] value : distinctValues) {
+                    offset += value.length;
+                    output.writeLong(offset);
+                }
+                for (byte[] value : distinctValues) {
+                    output.write(value);
+                }
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @return the snapshot, if it exists and was taken from the source as stamped
+     */
+    public static Optional<SnapshotTable> openIfFresh(Path snapshot, Source source) throws IOException {
+        if (!Files.isRegularFile(snapshot)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(channel);
+            if (header == null) {
+                LOG.info("Ignoring unreadable snapshot " + snapshot);
+                return Optional.empty();
+            }
+            // size and time alone would miss in-place edits within the same second; the checksum catches those
+            boolean fresh = header.getLong(24) == source.size
+                    && header.getLong(32) == source.modifiedMillis
+                    && header.getLong(40) == source.checksum;
+            if (!fresh) {
+                LOG.fine("Snapshot " + snapshot + " is stale");
+                return Optional.empty();
+            }
+            return Optional.of(map(channel, header));
+        }
+    }
+
+    public static SnapshotTable open(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(channel);
+            if (header == null) {
+                throw new IOException("Not a table snapshot: " + snapshot);
+            }
+            return map(channel, header);
+        }
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                return null;
+            }
+        }
+        byte[] magic = Arrays.copyOf(header.array(), MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC) || header.getInt(4) != VERSION) {
+            return null;
+        }
+        return header;
+    }
+
+    // mappings stay valid after the channel is closed
+    private static SnapshotTable map(FileChannel channel, ByteBuffer header) throws IOException {
+        int rows = header.getInt(8);
+        int columns = header.getInt(12);
+        int dictionarySize = header.getInt(16);
+
+        long cellsStart = HEADER_SIZE;
+        long cellsSize = (long) rows * columns * Integer.BYTES;
+        long offsetsStart = cellsStart + cellsSize;
+        long offsetsSize = (long) (dictionarySize + 1) * Long.BYTES;
+        long stringsStart = offsetsStart + offsetsSize;
+        long stringsSize = channel.size() - stringsStart;
+        if (stringsSize < 0) {
+            throw new IOException("Truncated table snapshot");
+        }
+
+        return new SnapshotTable(
+                rows,
+                columns,
+                channel.map(FileChannel.MapMode.READ_ONLY, cellsStart, cellsSize),
+                channel.map(FileChannel.MapMode.READ_ONLY, offsetsStart, offsetsSize),
+                channel.map(FileChannel.MapMode.READ_ONLY, stringsStart, stringsSize)
+        );
+    }
+
+    static long checksumOf(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+}
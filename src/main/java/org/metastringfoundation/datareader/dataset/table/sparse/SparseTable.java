@@ -0,0 +1,286 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.sparse;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.table.CellNormalizer;
+import org.metastringfoundation.datareader.dataset.table.CellVisitor;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+import org.metastringfoundation.datareader.events.ExtractionEvents;
+import org.metastringfoundation.datareader.helpers.FileManager;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+import org.metastringfoundation.datareader.metrics.Stage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A table that keeps only its non-empty cells, for sheets that are mostly empty.
+ *
+ * The cells are kept in compressed sparse row form: the columns and values of the non-empty cells, row after row
+ * and in column order within a row, and where each row starts in them. Memory then follows the number of filled
+ * cells rather than the area of the sheet, and so does {@link #forEachNonEmptyCell}. Looking up a single cell is
+ * a binary search within its row. Empty cells read as the empty string, as they do in {@link
+ * org.metastringfoundation.datareader.dataset.table.csv.CSVTable}.
+ */
+public class SparseTable implements Table {
+    private static final String EMPTY = "";
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int numberOfRows = 0;
+    private int numberOfColumns = -1;
+    private int numberOfCells = 0;
+    /** where the cells of each row start in columns and values; a row ends where the next one starts */
+    private int[] rowStarts = new int[INITIAL_CAPACITY];
+    private int[] columns = new int[INITIAL_CAPACITY];
+    private String[] values = new String[INITIAL_CAPACITY];
+
+    public static SparseTable fromPath(Path path) throws IOException, DatasetIntegrityError {
+        return fromPath(path, CellNormalizer.interning());
+    }
+
+    public static SparseTable fromPath(Path path, CellNormalizer normalizer) throws IOException, DatasetIntegrityError {
+        Object event = ExtractionEvents.beginTableParse();
+        long start = System.nanoTime();
+        SparseTable table = new SparseTable();
+        try (
+                Reader csvReader = FileManager.getFileReader(path);
+                CSVParser csvParser = new CSVParser(csvReader, CSVFormat.DEFAULT)
+        ) {
+            table.parseRecords(csvParser, normalizer);
+        }
+        long bytes = Files.size(path);
+        table.recordParse(start, bytes);
+        ExtractionEvents.endTableParse(event, path.toString(), table.numberOfRows, table.numberOfColumns, bytes);
+        return table;
+    }
+
+    public static SparseTable fromString(String csvString) throws IOException, DatasetIntegrityError {
+        return fromString(csvString, CellNormalizer.interning());
+    }
+
+    public static SparseTable fromString(String csvString, CellNormalizer normalizer) throws IOException, DatasetIntegrityError {
+        Object event = ExtractionEvents.beginTableParse();
+        long start = System.nanoTime();
+        SparseTable table = new SparseTable();
+        try (CSVParser csvParser = CSVParser.parse(csvString, CSVFormat.DEFAULT)) {
+            table.parseRecords(csvParser, normalizer);
+        }
+        table.recordParse(start, csvString.length());
+        ExtractionEvents.endTableParse(event, null, table.numberOfRows, table.numberOfColumns, csvString.length());
+        return table;
+    }
+
+    /**
+     * Copies the non-empty cells of another table
+     */
+    public static SparseTable of(Table table) throws DatasetIntegrityError {
+        SparseTable sparseTable = new SparseTable();
+        for (int row = 0; row < table.getNumberOfRows(); row++) {
+            List<String> cells = table.getRow(row);
+            sparseTable.startRow(cells.size());
+            for (int column = 0; column < cells.size(); column++) {
+                sparseTable.appendCell(column, cells.get(column));
+            }
+            sparseTable.endRow();
+        }
+        sparseTable.finish();
+        return sparseTable;
+    }
+
+    private SparseTable() {
+    }
+
+    private void parseRecords(CSVParser csvParser, CellNormalizer normalizer) throws DatasetIntegrityError {
+        for (CSVRecord record : csvParser) {
+            startRow(record.size());
+            for (int column = 0; column < record.size(); column++) {
+                appendCell(column, normalizer.normalize(record.get(column)));
+            }
+            endRow();
+        }
+        finish();
+    }
+
+    private void startRow(int size) throws DatasetIntegrityError {
+        if (numberOfColumns == -1) {
+            numberOfColumns = size;
+        } else if (size != numberOfColumns) {
+            throw new DatasetIntegrityError("There should be more than 0 records and all of equal size");
+        }
+    }
+
+    private void appendCell(int column, String value) {
+        if (value.isEmpty()) {
+            return;
+        }
+        if (numberOfCells == columns.length) {
+            columns = Arrays.copyOf(columns, columns.length * 2);
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        columns[numberOfCells] = column;
+        values[numberOfCells] = value;
+        numberOfCells++;
+    }
+
+    private void endRow() {
+        numberOfRows++;
+        if (numberOfRows == rowStarts.length) {
+            rowStarts = Arrays.copyOf(rowStarts, rowStarts.length * 2);
+        }
+        rowStarts[numberOfRows] = numberOfCells;
+    }
+
+    private void finish() throws DatasetIntegrityError {
+        if (numberOfRows == 0) {
+            throw new DatasetIntegrityError("There should be more than 0 records and all of equal size");
+        }
+        rowStarts = Arrays.copyOf(rowStarts, numberOfRows + 1);
+        columns = Arrays.copyOf(columns, numberOfCells);
+        values = Arrays.copyOf(values, numberOfCells);
+    }
+
+    private void recordParse(long start, long bytes) {
+        PipelineMetrics metrics = PipelineMetrics.get();
+        metrics.recordSince(Stage.CSV_PARSE, start);
+        metrics.addBytesRead(bytes);
+        metrics.addRowsRead(numberOfRows);
+        metrics.addCellsRead((long) numberOfRows * numberOfColumns);
+    }
+
+    /**
+     * @return how many cells are not empty, which is how many the table holds
+     */
+    public int getNumberOfNonEmptyCells() {
+        return numberOfCells;
+    }
+
+    @Override
+    public String getCell(int rowNumber, int columnNumber) {
+        checkRow(rowNumber);
+        if (columnNumber < 0 || columnNumber >= numberOfColumns) {
+            throw new IndexOutOfBoundsException("Column " + columnNumber + " of " + numberOfColumns);
+        }
+        int cell = Arrays.binarySearch(columns, rowStarts[rowNumber], rowStarts[rowNumber + 1], columnNumber);
+        return cell >= 0 ? values[cell] : EMPTY;
+    }
+
+    @Override
+    public List<String> getRow(int rowNumber) {
+        checkRow(rowNumber);
+        List<String> row = new ArrayList<>(Collections.nCopies(numberOfColumns, EMPTY));
+        for (int cell = rowStarts[rowNumber]; cell < rowStarts[rowNumber + 1]; cell++) {
+            row.set(columns[cell], values[cell]);
+        }
+        return row;
+    }
+
+    @Override
+    public List<String> getColumn(int columnNumber) {
+        List<String> column = new ArrayList<>(numberOfRows);
+        for (int row = 0; row < numberOfRows; row++) {
+            column.add(getCell(row, columnNumber));
+        }
+        return column;
+    }
+
+    @Override
+    public List<List<String>> getTable() {
+        List<List<String>> table = new ArrayList<>(numberOfRows);
+        for (int row = 0; row < numberOfRows; row++) {
+            table.add(getRow(row));
+        }
+        return table;
+    }
+
+    @Override
+    public void forEachCell(TableRangeReference rangeReference, CellVisitor visitor) {
+        int startRow = rangeReference.getStartingCell().getRow();
+        int startColumn = rangeReference.getStartingCell().getColumn();
+        int endRow = Math.min(rangeReference.getEndingCell().getRow(), numberOfRows - 1);
+        int endColumn = Math.min(rangeReference.getEndingCell().getColumn(), numberOfColumns - 1);
+
+        for (int row = startRow; row <= endRow; row++) {
+            int cell = firstCellFrom(row, startColumn);
+            int rowEnd = rowStarts[row + 1];
+            for (int column = startColumn; column <= endColumn; column++) {
+                if (cell < rowEnd && columns[cell] == column) {
+                    visitor.visit(row, column, values[cell]);
+                    cell++;
+                } else {
+                    visitor.visit(row, column, EMPTY);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void forEachNonEmptyCell(TableRangeReference rangeReference, CellVisitor visitor) {
+        int startRow = rangeReference.getStartingCell().getRow();
+        int startColumn = rangeReference.getStartingCell().getColumn();
+        int endRow = Math.min(rangeReference.getEndingCell().getRow(), numberOfRows - 1);
+        int endColumn = rangeReference.getEndingCell().getColumn();
+
+        for (int row = startRow; row <= endRow; row++) {
+            int rowEnd = rowStarts[row + 1];
+            for (int cell = firstCellFrom(row, startColumn); cell < rowEnd && columns[cell] <= endColumn; cell++) {
+                visitor.visit(row, columns[cell], values[cell]);
+            }
+        }
+    }
+
+    @Override
+    public int nextNonEmptyColumn(int rowNumber, int fromColumn, int toColumn) {
+        checkRow(rowNumber);
+        int cell = firstCellFrom(rowNumber, fromColumn);
+        return cell < rowStarts[rowNumber + 1] && columns[cell] <= toColumn ? columns[cell] : -1;
+    }
+
+    /**
+     * @return the first cell held for the row at or after the column, or the start of the next row if there is none
+     */
+    private int firstCellFrom(int row, int column) {
+        int cell = Arrays.binarySearch(columns, rowStarts[row], rowStarts[row + 1], column);
+        return cell >= 0 ? cell : -cell - 1;
+    }
+
+    private void checkRow(int rowNumber) {
+        if (rowNumber < 0 || rowNumber >= numberOfRows) {
+            throw new IndexOutOfBoundsException("Row " + rowNumber + " of " + numberOfRows);
+        }
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+}
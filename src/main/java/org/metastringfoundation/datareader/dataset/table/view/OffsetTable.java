@@ -0,0 +1,118 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.view;
+
+import org.metastringfoundation.datareader.dataset.table.CellVisitor;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableCellReference;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+
+/**
+ * A table without its first rows and columns, such as the title and notes above the actual table in a sheet.
+ * Cell (0, 0) of the view is cell (rowOffset, columnOffset) of the table underneath.
+ */
+public class OffsetTable extends TableView {
+    private final int rowOffset;
+    private final int columnOffset;
+    private final int numberOfRows;
+    private final int numberOfColumns;
+
+    public OffsetTable(Table table, int rowOffset, int columnOffset) {
+        this(table, rowOffset, columnOffset,
+                Math.max(0, table.getNumberOfRows() - rowOffset), Math.max(0, table.getNumberOfColumns() - columnOffset));
+    }
+
+    OffsetTable(Table table, int rowOffset, int columnOffset, int numberOfRows, int numberOfColumns) {
+        super(table);
+        if (rowOffset < 0 || columnOffset < 0) {
+            throw new IllegalArgumentException("Offsets should not be negative");
+        }
+        this.rowOffset = rowOffset;
+        this.columnOffset = columnOffset;
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+    }
+
+    public int getRowOffset() {
+        return rowOffset;
+    }
+
+    public int getColumnOffset() {
+        return columnOffset;
+    }
+
+    @Override
+    public String getCell(int rowNumber, int columnNumber) {
+        checkRow(rowNumber);
+        checkColumn(columnNumber);
+        return table.getCell(rowNumber + rowOffset, columnNumber + columnOffset);
+    }
+
+    @Override
+    public void forEachCell(TableRangeReference rangeReference, CellVisitor visitor) {
+        TableRangeReference underlying = toUnderlying(rangeReference);
+        if (underlying != null) {
+            table.forEachCell(underlying, (row, column, value) -> visitor.visit(row - rowOffset, column - columnOffset, value));
+        }
+    }
+
+    @Override
+    public void forEachNonEmptyCell(TableRangeReference rangeReference, CellVisitor visitor) {
+        TableRangeReference underlying = toUnderlying(rangeReference);
+        if (underlying != null) {
+            table.forEachNonEmptyCell(underlying, (row, column, value) -> visitor.visit(row - rowOffset, column - columnOffset, value));
+        }
+    }
+
+    @Override
+    public int nextNonEmptyColumn(int rowNumber, int fromColumn, int toColumn) {
+        checkRow(rowNumber);
+        int endColumn = Math.min(toColumn, numberOfColumns - 1);
+        if (fromColumn > endColumn) {
+            return -1;
+        }
+        int column = table.nextNonEmptyColumn(rowNumber + rowOffset, fromColumn + columnOffset, endColumn + columnOffset);
+        return column < 0 ? -1 : column - columnOffset;
+    }
+
+    /**
+     * @return the part of the range that lies within the view, in the coordinates of the table underneath,
+     * or null if none of it does
+     */
+    private TableRangeReference toUnderlying(TableRangeReference rangeReference) {
+        int startRow = rangeReference.getStartingCell().getRow();
+        int startColumn = rangeReference.getStartingCell().getColumn();
+        int endRow = Math.min(rangeReference.getEndingCell().getRow(), numberOfRows - 1);
+        int endColumn = Math.min(rangeReference.getEndingCell().getColumn(), numberOfColumns - 1);
+        if (startRow > endRow || startColumn > endColumn) {
+            return null;
+        }
+        return new TableRangeReference(
+                new TableCellReference(startRow + rowOffset, startColumn + columnOffset),
+                new TableCellReference(endRow + rowOffset, endColumn + columnOffset));
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+}
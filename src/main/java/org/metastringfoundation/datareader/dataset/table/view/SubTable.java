@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.view;
+
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+
+/**
+ * The part of a table within a range, as a table of its own: cell (0, 0) of the view is the first cell of the range.
+ * Open-ended ranges such as "B3:" reach to the edge of the table underneath.
+ */
+public class SubTable extends OffsetTable {
+    public SubTable(Table table, TableRangeReference rangeReference) {
+        super(table, rangeReference.getStartingCell().getRow(), rangeReference.getStartingCell().getColumn(),
+                size(rangeReference.getStartingCell().getRow(), rangeReference.getEndingCell().getRow(), table.getNumberOfRows()),
+                size(rangeReference.getStartingCell().getColumn(), rangeReference.getEndingCell().getColumn(), table.getNumberOfColumns()));
+    }
+
+    public SubTable(Table table, String rangeReference) {
+        this(table, new TableRangeReference(rangeReference));
+    }
+
+    private static int size(int start, int end, int available) {
+        return Math.max(0, Math.min(end, available - 1) - start + 1);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.view;
+
+import org.metastringfoundation.datareader.dataset.table.Table;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * A table that holds no cells of its own but looks them up in another table. Rows, columns and the whole table
+ * are lists that look cells up as they are read, so making a view and asking it for rows copies nothing.
+ */
+abstract class TableView implements Table {
+    protected final Table table;
+
+    TableView(Table table) {
+        this.table = table;
+    }
+
+    @Override
+    public List<List<String>> getTable() {
+        return new AbstractList<List<String>>() {
+            @Override
+            public List<String> get(int rowNumber) {
+                return getRow(rowNumber);
+            }
+
+            @Override
+            public int size() {
+                return getNumberOfRows();
+            }
+        };
+    }
+
+    @Override
+    public List<String> getRow(int rowNumber) {
+        checkRow(rowNumber);
+        return new AbstractList<String>() {
+            @Override
+            public String get(int columnNumber) {
+                return getCell(rowNumber, columnNumber);
+            }
+
+            @Override
+            public int size() {
+                return getNumberOfColumns();
+            }
+        };
+    }
+
+    @Override
+    public List<String> getColumn(int columnNumber) {
+        checkColumn(columnNumber);
+        return new AbstractList<String>() {
+            @Override
+            public String get(int rowNumber) {
+                return getCell(rowNumber, columnNumber);
+            }
+
+            @Override
+            public int size() {
+                return getNumberOfRows();
+            }
+        };
+    }
+
+    protected void checkRow(int rowNumber) {
+        if (rowNumber < 0 || rowNumber >= getNumberOfRows()) {
+            throw new IndexOutOfBoundsException("Row " + rowNumber + " of " + getNumberOfRows());
+        }
+    }
+
+    protected void checkColumn(int columnNumber) {
+        if (columnNumber < 0 || columnNumber >= getNumberOfColumns()) {
+            throw new IndexOutOfBoundsException("Column " + columnNumber + " of " + getNumberOfColumns());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.view;
+
+import org.metastringfoundation.datareader.dataset.table.Table;
+
+import java.util.List;
+
+/**
+ * A table with its rows and columns swapped, for sheets that put their records in columns.
+ * Row r of the view is column r of the table underneath.
+ */
+public class TransposedTable extends TableView {
+    public TransposedTable(Table table) {
+        super(table);
+    }
+
+    @Override
+    public String getCell(int rowNumber, int columnNumber) {
+        checkRow(rowNumber);
+        checkColumn(columnNumber);
+        return table.getCell(columnNumber, rowNumber);
+    }
+
+    @Override
+    public List<String> getRow(int rowNumber) {
+        checkRow(rowNumber);
+        return table.getColumn(rowNumber);
+    }
+
+    @Override
+    public List<String> getColumn(int columnNumber) {
+        checkColumn(columnNumber);
+        return table.getRow(columnNumber);
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return table.getNumberOfColumns();
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return table.getNumberOfRows();
+    }
+}
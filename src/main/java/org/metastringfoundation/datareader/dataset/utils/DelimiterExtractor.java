@@ -0,0 +1,108 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.utils;
+
+/**
+ * Extracts the text on one side of a literal delimiter using plain string searches.
+ * Gives exactly what the equivalent regex would, for values that do not contain line terminators.
+ * Values that do are handed over to the regex, since '.' does not match them.
+ */
+public class DelimiterExtractor implements ValueExtractor {
+    public enum Side {
+        /** {@code (.*)D.*} and {@code (.*)D} */
+        BEFORE_LAST,
+        /** {@code .*D(.*)} */
+        AFTER_LAST,
+        /** {@code D(.*)} */
+        AFTER_FIRST,
+        /** {@code ^D(.*)} */
+        AFTER_LEADING,
+        /** {@code (.*)D$} */
+        BEFORE_TRAILING,
+        /** {@code (.*)}, where there is no delimiter */
+        WHOLE
+    }
+
+    private final Side side;
+    private final String delimiter;
+    private final ValueExtractor fallback;
+
+    public DelimiterExtractor(Side side, String delimiter, ValueExtractor fallback) {
+        this.side = side;
+        this.delimiter = delimiter;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String extract(String raw) {
+        if (containsLineTerminator(raw)) {
+            return fallback.extract(raw);
+        }
+        int index;
+        switch (side) {
+            case BEFORE_LAST:
+                index = raw.lastIndexOf(delimiter);
+                return index < 0 ? null : raw.substring(0, index);
+            case AFTER_LAST:
+                index = raw.lastIndexOf(delimiter);
+                return index < 0 ? null : raw.substring(index + delimiter.length());
+            case AFTER_FIRST:
+                index = raw.indexOf(delimiter);
+                return index < 0 ? null : raw.substring(index + delimiter.length());
+            case AFTER_LEADING:
+                return raw.startsWith(delimiter) ? raw.substring(delimiter.length()) : null;
+            case BEFORE_TRAILING:
+                return raw.endsWith(delimiter) ? raw.substring(0, raw.length() - delimiter.length()) : null;
+            case WHOLE:
+                return raw;
+            default:
+                throw new IllegalStateException("Unknown side " + side);
+        }
+    }
+
+    // '.' in java.util.regex does not match these (without DOTALL or UNIX_LINES)
+    private static boolean containsLineTerminator(String raw) {
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Side getSide() {
+        return side;
+    }
+
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    @Override
+    public boolean usesRegex() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "DelimiterExtractor{" +
+                "side=" + side +
+                ", delimiter='" + delimiter + '\'' +
+                '}';
+    }
+}
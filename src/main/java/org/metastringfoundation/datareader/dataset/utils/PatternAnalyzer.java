@@ -0,0 +1,118 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.utils;
+
+import java.util.regex.Pattern;
+
+/**
+ * Recognizes patterns that only pick the text before or after a literal delimiter,
+ * like {@code (.*) - .*} or {@code .* - (.*)}, and runs them without a regex.
+ * Every other pattern is run as a regex.
+ */
+public class PatternAnalyzer {
+    private static final String CAPTURE_ALL = "(.*)";
+    private static final String MATCH_ALL = ".*";
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    public static ValueExtractor analyze(Pattern pattern) {
+        ValueExtractor regexExtractor = new RegexExtractor(pattern);
+        if (pattern.flags() != 0) {
+            return regexExtractor;
+        }
+        DelimiterExtractor delimiterExtractor = recognize(pattern.pattern(), regexExtractor);
+        if (delimiterExtractor == null) {
+            return regexExtractor;
+        }
+        return delimiterExtractor;
+    }
+
+    private static DelimiterExtractor recognize(String regex, ValueExtractor fallback) {
+        boolean anchoredAtStart = regex.startsWith("^");
+        boolean anchoredAtEnd = regex.endsWith("$") && !isEscapedAt(regex, regex.length() - 1);
+        String body = regex.substring(anchoredAtStart ? 1 : 0, regex.length() - (anchoredAtEnd ? 1 : 0));
+
+        if (body.equals(CAPTURE_ALL)) {
+            return new DelimiterExtractor(DelimiterExtractor.Side.WHOLE, "", fallback);
+        }
+
+        String before = leadingPart(body);
+        String after = trailingPart(body.substring(before.length()));
+        String literal = parseLiteral(body.substring(before.length(), body.length() - after.length()));
+        if (literal == null || literal.isEmpty()) {
+            return null;
+        }
+
+        DelimiterExtractor.Side side = null;
+        if (before.equals(CAPTURE_ALL) && after.equals(MATCH_ALL)) {
+            side = DelimiterExtractor.Side.BEFORE_LAST;
+        } else if (before.equals(CAPTURE_ALL) && after.isEmpty()) {
+            side = anchoredAtEnd ? DelimiterExtractor.Side.BEFORE_TRAILING : DelimiterExtractor.Side.BEFORE_LAST;
+        } else if (before.equals(MATCH_ALL) && after.equals(CAPTURE_ALL)) {
+            side = DelimiterExtractor.Side.AFTER_LAST;
+        } else if (before.isEmpty() && after.equals(CAPTURE_ALL)) {
+            side = anchoredAtStart ? DelimiterExtractor.Side.AFTER_LEADING : DelimiterExtractor.Side.AFTER_FIRST;
+        }
+        return side == null ? null : new DelimiterExtractor(side, literal, fallback);
+    }
+
+    private static String leadingPart(String body) {
+        if (body.startsWith(CAPTURE_ALL)) return CAPTURE_ALL;
+        if (body.startsWith(MATCH_ALL)) return MATCH_ALL;
+        return "";
+    }
+
+    private static String trailingPart(String rest) {
+        if (rest.endsWith(CAPTURE_ALL) && !isEscapedAt(rest, rest.length() - CAPTURE_ALL.length())) return CAPTURE_ALL;
+        if (rest.endsWith(MATCH_ALL) && !isEscapedAt(rest, rest.length() - MATCH_ALL.length())) return MATCH_ALL;
+        return "";
+    }
+
+    // whether the character at the index is preceded by an odd number of backslashes
+    private static boolean isEscapedAt(String text, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && text.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    /**
+     * @return the text matched by the regex fragment, or null if it is not a plain literal
+     */
+    private static String parseLiteral(String fragment) {
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < fragment.length(); i++) {
+            char c = fragment.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == fragment.length()) {
+                    return null;
+                }
+                char escaped = fragment.charAt(++i);
+                // escapes like \d, \s or \Q have a meaning of their own
+                if (Character.isLetterOrDigit(escaped)) {
+                    return null;
+                }
+                literal.append(escaped);
+            } else if (REGEX_METACHARACTERS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.toString();
+    }
+}
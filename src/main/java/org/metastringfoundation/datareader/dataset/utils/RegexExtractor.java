@@ -0,0 +1,44 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.utils;
+
+import java.util.regex.Pattern;
+
+public class RegexExtractor implements ValueExtractor {
+    private final Pattern pattern;
+
+    public RegexExtractor(Pattern pattern) {
+        this.pattern = pattern;
+    }
+
+    @Override
+    public String extract(String raw) {
+        return RegexHelper.getFirstMatchOrNull(raw, pattern);
+    }
+
+    @Override
+    public boolean usesRegex() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "RegexExtractor{" +
+                "pattern=" + pattern +
+                '}';
+    }
+}
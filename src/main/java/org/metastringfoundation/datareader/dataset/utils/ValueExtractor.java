@@ -0,0 +1,32 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.utils;
+
+/**
+ * Pulls out the part of a raw cell value that a pattern is interested in
+ */
+public interface ValueExtractor {
+    /**
+     * @return the value captured by the first group of the pattern, or null if the pattern does not match
+     */
+    String extract(String raw);
+
+    /**
+     * @return whether extraction runs through java.util.regex
+     */
+    boolean usesRegex();
+}
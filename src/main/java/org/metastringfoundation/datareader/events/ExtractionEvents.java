@@ -0,0 +1,65 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.events;
+
+/**
+ * Flight recorder events for the extraction stages.
+ *
+ * Each stage calls a begin method before it starts and the matching end method with what it did. The begin
+ * methods return a token to hand back to the end method; it is null when nothing is being recorded, and the end
+ * methods do nothing with a null token, so callers can skip gathering details when the token is null.
+ *
+ * This is the baseline (Java 8) implementation, in which nothing is ever recorded. The multi-release JAR carries
+ * a replacement under META-INF/versions/11 that emits JDK Flight Recorder events.
+ */
+public class ExtractionEvents {
+
+    public static Object beginTableParse() {
+        return null;
+    }
+
+    /**
+     * @param source the file the table came from; null for tables read from strings
+     */
+    public static void endTableParse(Object token, String source, int rows, int columns, long bytes) {
+    }
+
+    public static Object beginDescriptionCompile() {
+        return null;
+    }
+
+    public static void endDescriptionCompile(Object token, int fields, int evaluations) {
+    }
+
+    public static Object beginFieldEvaluation() {
+        return null;
+    }
+
+    /**
+     * @param fields names of the fields that the pattern gives values to
+     * @param nulls cells in which the pattern found nothing
+     */
+    public static void endFieldEvaluation(Object token, String fields, String pattern, String range, int cells, int matches, int nulls) {
+    }
+
+    public static Object beginDatasetEmit() {
+        return null;
+    }
+
+    public static void endDatasetEmit(Object token, String source, long dataPoints) {
+    }
+}
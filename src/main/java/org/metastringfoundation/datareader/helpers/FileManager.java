@@ -34,6 +34,12 @@ public class FileManager {
     }
 
     public static String getFileContentsAsString(String path) throws IOException {
-        return IOUtils.toString(new FileInputStream(path), StandardCharsets.UTF_8);
+        try (InputStream inputStream = getFileInputStream(path)) {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+
+    public static InputStream getFileInputStream(String path) throws FileNotFoundException {
+        return new BufferedInputStream(new FileInputStream(path));
     }
 }
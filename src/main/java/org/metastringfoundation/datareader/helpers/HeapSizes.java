@@ -0,0 +1,63 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.helpers;
+
+import java.util.Map;
+
+/**
+ * Rough sizes of the objects we keep many of, for deciding ahead of time whether they will fit in the heap.
+ *
+ * The numbers assume a 64-bit JVM without compressed references and strings of two bytes a character,
+ * so they err on the large side on JVMs that do better.
+ */
+public class HeapSizes {
+    public static final int REFERENCE_BYTES = 8;
+    public static final int OBJECT_OVERHEAD_BYTES = 16;
+    public static final int STRING_OVERHEAD_BYTES = 40;
+    public static final int MAP_ENTRY_BYTES = 48;
+    public static final int MAP_OVERHEAD_BYTES = 80;
+
+    public static long ofString(String string) {
+        return string == null ? 0 : ofString(string.length());
+    }
+
+    public static long ofString(double length) {
+        return STRING_OVERHEAD_BYTES + (long) Math.ceil(2 * length);
+    }
+
+    public static long ofArray(long length) {
+        return OBJECT_OVERHEAD_BYTES + REFERENCE_BYTES * length;
+    }
+
+    /**
+     * A map of strings, such as a data point, not counting strings it shares with other objects
+     */
+    public static long ofMap(Map<String, String> map) {
+        long bytes = MAP_OVERHEAD_BYTES + ofArray(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            bytes += MAP_ENTRY_BYTES + ofString(entry.getKey()) + ofString(entry.getValue());
+        }
+        return bytes;
+    }
+
+    /**
+     * A map of strings with the given number of entries, keys sharing one copy with other maps and values not
+     */
+    public static long ofMap(int entries, double averageValueLength) {
+        return MAP_OVERHEAD_BYTES + ofArray(entries) + entries * (MAP_ENTRY_BYTES + ofString(averageValueLength));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.helpers;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed number of slots that hand out one shared instance for strings that are equal, so that a value repeated
+ * across a table is kept once.
+ *
+ * Each string goes to the slot its hash picks. When two different strings keep picking the same slot they take
+ * turns, and the pool forgets the one that was there, so memory stays bounded however many distinct values go
+ * through it. Threads share the pool without locking; at worst, a race costs one duplicate.
+ */
+public class InternPool {
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+
+    /**
+     * @param size number of slots, rounded up to a power of two
+     */
+    public InternPool(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Intern pool should have at least 1 slot");
+        }
+        int slotCount = Integer.highestOneBit(size - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(Math.max(1, slotCount));
+        this.mask = slots.length() - 1;
+    }
+
+    public String intern(String string) {
+        if (string == null) {
+            return null;
+        }
+        int hash = string.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String pooled = slots.get(slot);
+        if (string.equals(pooled)) {
+            return pooled;
+        }
+        slots.lazySet(slot, string);
+        return string;
+    }
+
+    public int getSize() {
+        return slots.length();
+    }
+}
@@ -16,16 +16,26 @@
 
 package org.metastringfoundation.datareader.helpers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 public class Jsonizer {
     private static final JsonMapper jsonMapper = JsonMapper.builder()
             .enable(JsonReadFeature.ALLOW_TRAILING_COMMA).build();
+    private static final JsonMapper canonicalJsonMapper = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
 
     public static <E> String getJSONString(List<E> someList) throws JsonProcessingException {
         return jsonMapper.writeValueAsString(someList);
@@ -35,7 +45,26 @@ public class Jsonizer {
         return jsonMapper.writeValueAsString(object);
     }
 
+    /**
+     * JSON in which properties and map entries are sorted, so that equal objects always give the same string
+     */
+    public static String asCanonicalJSON(Object object) throws JsonProcessingException {
+        return canonicalJsonMapper.writeValueAsString(object);
+    }
+
+    public static JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        return jsonMapper.getFactory().createGenerator(outputStream);
+    }
+
     public static <T> Object fromJSON(String json, Class<T> classType) throws IOException {
         return jsonMapper.readValue(json, classType);
     }
+
+    public static <T> Object fromJSON(InputStream json, Class<T> classType) throws IOException {
+        return jsonMapper.readValue(json, classType);
+    }
+
+    public static JsonNode readTree(InputStream json) throws IOException {
+        return jsonMapper.readTree(json);
+    }
 }
@@ -23,20 +23,19 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class ListUtils <T> {
+    /**
+     * Copies the lists with rows and columns swapped. Rows may be of different lengths: a shorter row leaves out its
+     * values from the columns it does not reach. To swap the rows and columns of a table without copying it,
+     * see {@link org.metastringfoundation.datareader.dataset.table.view.TransposedTable}.
+     */
     public static <T> List<List<T>> transpose(List<List<T>> listToTranspose) {
         List<List<T>> transposedList = new ArrayList<>();
         for (List<T> currentRow : listToTranspose) {
             for (int column = 0; column < currentRow.size(); column++) {
-                T currentValue = currentRow.get(column);
-                List<T> targetRow;
-                try {
-                    targetRow = transposedList.get(column);
-                    targetRow.add(currentValue);
-                } catch (IndexOutOfBoundsException e) {
-                    targetRow = new ArrayList<>();
-                    targetRow.add(currentValue);
-                    transposedList.add(targetRow);
+                if (column == transposedList.size()) {
+                    transposedList.add(new ArrayList<>());
                 }
+                transposedList.get(column).add(currentRow.get(column));
             }
         }
 
@@ -0,0 +1,189 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.binary.BinaryDataset;
+import org.metastringfoundation.datareader.dataset.cache.DatasetCache;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Reads many data files concurrently. Each file is read, converted to a dataset using its description
+ * and handed over to the sink as one independent task.
+ *
+ * Tasks run on the executor given by {@link IngestionExecutors}, which means virtual threads on JDK 21+
+ * and a fixed pool of platform threads on older JVMs. Either way, no more than the given parallelism of files
+ * is read at once, so memory stays bounded however many files there are.
+ *
+ * Given an {@link ExecutionPlanner}, each file is read in the mode it picks for it, and the dataset handed to the sink
+ * is closed once the sink is done with it. Without one, every file is parsed into the heap and streamed,
+ * optionally through a snapshot of an earlier parse (see {@link CSVTable#load(Path)}).
+ *
+ * When data points are retained, each file is extracted completely before the sink is given it, so a file that fails
+ * part way through never reaches the sink, and the sink does not hold anything up while the points are made.
+ *
+ * Given a {@link DatasetCache}, files are extracted through it instead: a file seen before with the same description
+ * is read back from the cache, and a new one is parsed into the heap and stored there before the sink is given it.
+ */
+public class BulkIngestion implements AutoCloseable {
+    private static final Logger LOG = Logger.getLogger(BulkIngestion.class.getName());
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final DescriptionResolver descriptionResolver;
+    private final IngestionSink sink;
+    private final boolean shouldAddAddressToDatapoint;
+    private final ExecutionPlanner planner;
+    private final boolean useSnapshots;
+    private final boolean retainDataPoints;
+    private final DatasetCache cache;
+
+    public BulkIngestion(int parallelism, DescriptionResolver descriptionResolver, IngestionSink sink) {
+        this(parallelism, descriptionResolver, sink, false);
+    }
+
+    public BulkIngestion(int parallelism, DescriptionResolver descriptionResolver, IngestionSink sink, boolean shouldAddAddressToDatapoint) {
+        this(parallelism, descriptionResolver, sink, shouldAddAddressToDatapoint, null);
+    }
+
+    /**
+     * @param planner picks how each file is read, with a budget for one file; null to parse every file into the heap
+     */
+    public BulkIngestion(int parallelism, DescriptionResolver descriptionResolver, IngestionSink sink, boolean shouldAddAddressToDatapoint, ExecutionPlanner planner) {
+        this(parallelism, descriptionResolver, sink, shouldAddAddressToDatapoint, planner, false);
+    }
+
+    /**
+     * @param useSnapshots whether files parsed into the heap are reloaded from snapshots while unchanged
+     */
+    public BulkIngestion(int parallelism, DescriptionResolver descriptionResolver, IngestionSink sink, boolean shouldAddAddressToDatapoint, ExecutionPlanner planner, boolean useSnapshots) {
+        this(parallelism, descriptionResolver, sink, shouldAddAddressToDatapoint, planner, useSnapshots, false);
+    }
+
+    /**
+     * @param retainDataPoints whether every data point of a file is made before the sink is given it: in the heap,
+     *                         or spilled to disk when a planner says they do not fit
+     */
+    public BulkIngestion(int parallelism, DescriptionResolver descriptionResolver, IngestionSink sink, boolean shouldAddAddressToDatapoint, ExecutionPlanner planner, boolean useSnapshots, boolean retainDataPoints) {
+        this(parallelism, descriptionResolver, sink, shouldAddAddressToDatapoint, planner, useSnapshots, retainDataPoints, null);
+    }
+
+    /**
+     * @param cache where extracted datasets are kept between runs, or null to extract every file; the planner and
+     *              snapshots are not used for files read through the cache
+     */
+    public BulkIngestion(int parallelism, DescriptionResolver descriptionResolver, IngestionSink sink, boolean shouldAddAddressToDatapoint, ExecutionPlanner planner, boolean useSnapshots, boolean retainDataPoints, DatasetCache cache) {
+        this.executor = IngestionExecutors.newIngestionExecutor(parallelism);
+        this.permits = new Semaphore(parallelism);
+        this.descriptionResolver = descriptionResolver;
+        this.sink = sink;
+        this.shouldAddAddressToDatapoint = shouldAddAddressToDatapoint;
+        this.planner = planner;
+        this.useSnapshots = useSnapshots;
+        this.retainDataPoints = retainDataPoints;
+        this.cache = cache;
+    }
+
+    /**
+     * Ingests all the files and waits for them to finish. A failure in one file does not stop the others.
+     * @return results in the same order as the files given
+     */
+    public List<IngestionResult> ingest(Collection<Path> dataFiles) throws InterruptedException {
+        LOG.fine("Ingesting " + dataFiles.size() + " files" +
+                (IngestionExecutors.usesVirtualThreads() ? " on virtual threads" : " on platform threads"));
+        List<Future<IngestionResult>> futures = new ArrayList<>();
+        for (Path dataFile : dataFiles) {
+            futures.add(executor.submit(() -> ingestOne(dataFile)));
+        }
+
+        List<IngestionResult> results = new ArrayList<>();
+        for (Future<IngestionResult> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                // ingestOne catches everything it can report on; anything else is a bug
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private IngestionResult ingestOne(Path dataFile) throws InterruptedException {
+        permits.acquire();
+        long start = System.nanoTime();
+        try {
+            TableDescription tableDescription = descriptionResolver.resolve(dataFile);
+            if (cache != null) {
+                try (BinaryDataset dataset = cache.getOrExtract(dataFile, tableDescription, shouldAddAddressToDatapoint)) {
+                    sink.accept(dataFile, dataset);
+                    return IngestionResult.success(dataFile, dataset.getNumberOfDataPoints(), System.nanoTime() - start);
+                }
+            }
+            if (planner != null) {
+                try (PlannedDataset dataset = planner.open(dataFile, tableDescription, shouldAddAddressToDatapoint, retainDataPoints)) {
+                    sink.accept(dataFile, dataset);
+                    return IngestionResult.success(dataFile, dataset.getNumberOfDataPoints(), System.nanoTime() - start);
+                }
+            }
+            Table table = useSnapshots ? CSVTable.load(dataFile) : CSVTable.fromPath(dataFile);
+            TableToDatasetAdapter dataset = new TableToDatasetAdapter(table, tableDescription, shouldAddAddressToDatapoint);
+            if (retainDataPoints) {
+                dataset.getData();
+            }
+            sink.accept(dataFile, dataset);
+            return IngestionResult.success(dataFile, dataset.getNumberOfDataPoints(), System.nanoTime() - start);
+        } catch (Exception e) {
+            LOG.warning("Could not ingest " + dataFile + ": " + e);
+            if (e instanceof DatasetIntegrityError) {
+                PipelineMetrics.get().countDatasetIntegrityError();
+            }
+            return IngestionResult.failure(dataFile, System.nanoTime() - start, e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Waits a minute at most for files still being read. If interrupted, stops them and keeps the interrupt.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
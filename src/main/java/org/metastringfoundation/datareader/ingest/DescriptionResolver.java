@@ -0,0 +1,31 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Finds the description that should be used to read a data file.
+ */
+@FunctionalInterface
+public interface DescriptionResolver {
+    TableDescription resolve(Path dataFile) throws IOException, DatasetIntegrityError;
+}
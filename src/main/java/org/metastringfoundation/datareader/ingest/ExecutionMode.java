@@ -0,0 +1,42 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+/**
+ * Ways of turning a data file into a dataset, from the one that needs the most heap to the one that needs the least
+ */
+public enum ExecutionMode {
+    /**
+     * The table is parsed into the heap and all its data points are made up front and kept
+     */
+    EAGER,
+    /**
+     * The table is parsed into the heap and data points are made as they are iterated over, and then dropped
+     */
+    LAZY,
+    /**
+     * The table is kept off the heap (see {@link org.metastringfoundation.datareader.dataset.table.offheap.OffHeapTable})
+     * and data points are made as they are iterated over
+     */
+    STREAMING,
+    /**
+     * The table is read off the heap and its data points are collected into a
+     * {@link org.metastringfoundation.datareader.dataset.spill.SpillingDataset}, which keeps what does not fit on disk.
+     * The table is freed once the points are collected.
+     */
+    SPILL
+}
@@ -0,0 +1,56 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+/**
+ * The mode {@link ExecutionPlanner} chose for a data file, and why
+ */
+public class ExecutionPlan {
+    private final ExecutionMode mode;
+    private final FootprintEstimate estimate;
+    private final long heapBudgetBytes;
+
+    ExecutionPlan(ExecutionMode mode, FootprintEstimate estimate, long heapBudgetBytes) {
+        this.mode = mode;
+        this.estimate = estimate;
+        this.heapBudgetBytes = heapBudgetBytes;
+    }
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    public FootprintEstimate getEstimate() {
+        return estimate;
+    }
+
+    public long getHeapBudgetBytes() {
+        return heapBudgetBytes;
+    }
+
+    /**
+     * @return heap the chosen mode is expected to need
+     */
+    public long getEstimatedHeapBytes() {
+        return estimate.getHeapBytes(mode);
+    }
+
+    @Override
+    public String toString() {
+        return mode + " needing about " + getEstimatedHeapBytes() + " of " + heapBudgetBytes + " heap bytes (" + estimate + ")";
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.spill.SpillingDataset;
+import org.metastringfoundation.datareader.dataset.table.FieldDescription;
+import org.metastringfoundation.datareader.dataset.table.PatternDescription;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.metastringfoundation.datareader.dataset.table.offheap.OffHeapTable;
+import org.metastringfoundation.datareader.dataset.table.sparse.SparseTable;
+import org.metastringfoundation.datareader.helpers.HeapSizes;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Picks how to read each data file so that it stays within a heap budget, instead of the caller having to know
+ * ahead of time whether the file fits.
+ *
+ * The footprint is estimated from the size of the file, the rows, columns and cell lengths of a sample from its
+ * start, and the ranges the description takes values from. The cheapest mode that fits the budget wins: see
+ * {@link ExecutionMode}. Every decision is logged and counted in {@link PipelineMetrics}.
+ *
+ * The budget is for one file at a time; when files are read concurrently, give each its share.
+ */
+public class ExecutionPlanner {
+    private static final Logger LOG = Logger.getLogger(ExecutionPlanner.class.getName());
+
+    public static final int SAMPLE_BYTES = 256 * 1024;
+    private static final int OFF_HEAP_INDEX_BYTES_PER_CELL = 12;
+    /** a sparse table looks cells up by binary search, so it is only used when most cells are empty */
+    private static final double SPARSE_MAX_FILLED_FRACTION = 0.5;
+    /** a DataPoint with its packed address, and its LayeredFields: two objects and the references in them */
+    private static final int LAYERED_POINT_BYTES = 2 * HeapSizes.OBJECT_OVERHEAD_BYTES + 8 * HeapSizes.REFERENCE_BYTES + Long.BYTES;
+    /** below this, spilled runs get so small that there is a file for every few points */
+    static final long MIN_SPILL_BUDGET_BYTES = 16L << 20;
+
+    private final long heapBudgetBytes;
+    private final long offHeapCapBytes;
+
+    /**
+     * @param heapBudgetBytes heap a file may take while it is read
+     * @param offHeapCapBytes direct memory an off-heap table may take, or {@link OffHeapTable#UNLIMITED}
+     */
+    public ExecutionPlanner(long heapBudgetBytes, long offHeapCapBytes) {
+        if (heapBudgetBytes < 1) {
+            throw new IllegalArgumentException("Heap budget should be at least 1 byte");
+        }
+        this.heapBudgetBytes = heapBudgetBytes;
+        this.offHeapCapBytes = offHeapCapBytes;
+    }
+
+    public ExecutionPlanner(long heapBudgetBytes) {
+        this(heapBudgetBytes, OffHeapTable.UNLIMITED);
+    }
+
+    /**
+     * Reads sizes such as 512m, 4g, 1t or 1048576
+     */
+    public static long parseSize(String size) {
+        String normalized = size.trim().toLowerCase(Locale.ROOT);
+        long multiplier = 1;
+        char unit = normalized.isEmpty() ? ' ' : normalized.charAt(normalized.length() - 1);
+        if (unit == 'k') {
+            multiplier = 1L << 10;
+        } else if (unit == 'm') {
+            multiplier = 1L << 20;
+        } else if (unit == 'g') {
+            multiplier = 1L << 30;
+        } else if (unit == 't') {
+            multiplier = 1L << 40;
+        }
+        if (multiplier != 1) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        try {
+            return Math.multiplyExact(Long.parseLong(normalized), multiplier);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Not a size: " + size);
+        }
+    }
+
+    public long getHeapBudgetBytes() {
+        return heapBudgetBytes;
+    }
+
+    public FootprintEstimate estimate(Path dataFile, TableDescription description) throws IOException {
+        long fileBytes = Files.size(dataFile);
+        byte[] sample = new byte[(int) Math.min(fileBytes, SAMPLE_BYTES)];
+        int sampleLength;
+        try (InputStream input = Files.newInputStream(dataFile)) {
+            sampleLength = readFully(input, sample);
+        }
+        boolean sampled = sampleLength < fileBytes;
+        if (sampled) {
+            // only whole lines, so that the last record is not cut short
+            int lastLineEnd = sampleLength - 1;
+            while (lastLineEnd > 0 && sample[lastLineEnd] != '\n') {
+                lastLineEnd--;
+            }
+            sampleLength = lastLineEnd + 1;
+        }
+        String text = new String(sample, 0, sampleLength, StandardCharsets.UTF_8);
+
+        // value ranges that leave out their empty cells, with how many of their cells the sample has and how many are filled
+        List<TableRangeReference> skippingRanges = new ArrayList<>();
+        for (FieldDescription field : description.getFieldDescriptionList()) {
+            if (field.getField().equals("value") && field.skipsEmptyCells() && field.getPatterns() != null) {
+                for (PatternDescription pattern : field.getPatterns()) {
+                    if (pattern.getRanges() != null) {
+                        skippingRanges.addAll(pattern.getRanges());
+                    }
+                }
+            }
+        }
+        long[] sampledSkippingRangeCells = new long[skippingRanges.size()];
+        long[] sampledSkippingRangeNonEmptyCells = new long[skippingRanges.size()];
+
+        long sampledRows = 0;
+        int columns = 0;
+        long sampledCells = 0;
+        long sampledNonEmptyCells = 0;
+        long sampledCellChars = 0;
+        long parsedChars = text.length();
+        try (CSVParser parser = CSVParser.parse(text, CSVFormat.DEFAULT)) {
+            for (CSVRecord record : parser) {
+                int row = (int) sampledRows++;
+                columns = Math.max(columns, record.size());
+                for (int column = 0; column < record.size(); column++) {
+                    String value = record.get(column);
+                    sampledCells++;
+                    sampledCellChars += value.length();
+                    if (!value.isEmpty()) {
+                        sampledNonEmptyCells++;
+                    }
+                    for (int i = 0; i < skippingRanges.size(); i++) {
+                        if (contains(skippingRanges.get(i), row, column)) {
+                            sampledSkippingRangeCells[i]++;
+                            if (!value.isEmpty()) {
+                                sampledSkippingRangeNonEmptyCells[i]++;
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (UncheckedIOException | IllegalStateException e) {
+            // a quoted line break in the last line of the sample; extrapolate from what was parsed
+            parsedChars = Math.max(1, text.lastIndexOf('\n', text.length() - 2) + 1);
+        }
+
+        long rows = sampledRows;
+        if (sampled && sampledRows > 0) {
+            double sampledFileBytes = (double) sampleLength * parsedChars / Math.max(1, text.length());
+            rows = (long) Math.ceil(sampledRows * (fileBytes / sampledFileBytes));
+        }
+        double averageCellChars = sampledCells == 0 ? 0 : (double) sampledCellChars / sampledCells;
+        long cells = rows * columns;
+        long nonEmptyCells = sampledCells == 0 ? 0 : (long) Math.ceil((double) cells * sampledNonEmptyCells / sampledCells);
+        double averageNonEmptyCellChars = sampledNonEmptyCells == 0 ? 0 : (double) sampledCellChars / sampledNonEmptyCells;
+
+        long dataPoints = 0;
+        Set<String> fields = new HashSet<>();
+        for (FieldDescription field : description.getFieldDescriptionList()) {
+            fields.add(field.getField());
+            if (!field.getField().equals("value") || field.skipsEmptyCells() || field.getPatterns() == null) {
+                continue;
+            }
+            for (PatternDescription pattern : field.getPatterns()) {
+                if (pattern.getRanges() != null) {
+                    for (TableRangeReference range : pattern.getRanges()) {
+                        dataPoints += countCells(range, rows, columns);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < skippingRanges.size(); i++) {
+            // as filled as the part of the range in the sample, or as the whole sample if the range starts after it
+            double filledFraction = sampledSkippingRangeCells[i] > 0
+                    ? (double) sampledSkippingRangeNonEmptyCells[i] / sampledSkippingRangeCells[i]
+                    : sampledCells == 0 ? 0 : (double) sampledNonEmptyCells / sampledCells;
+            dataPoints += (long) Math.ceil(countCells(skippingRanges.get(i), rows, columns) * filledFraction);
+        }
+        fields.add("value");
+
+        // an array of cells per row, with empty cells sharing one string; other repeated cells are interned too,
+        // so this errs on the large side
+        long denseTableHeapBytes = rows * (HeapSizes.REFERENCE_BYTES + HeapSizes.ofArray(columns))
+                + nonEmptyCells * HeapSizes.ofString(averageNonEmptyCellChars);
+        // where each row starts, then the column and value of each non-empty cell
+        long sparseTableHeapBytes = HeapSizes.OBJECT_OVERHEAD_BYTES + (rows + 1) * Integer.BYTES
+                + nonEmptyCells * (Integer.BYTES + HeapSizes.REFERENCE_BYTES + HeapSizes.ofString(averageNonEmptyCellChars));
+        boolean sparse = nonEmptyCells <= cells * SPARSE_MAX_FILLED_FRACTION && sparseTableHeapBytes < denseTableHeapBytes;
+        long tableHeapBytes = sparse ? sparseTableHeapBytes : denseTableHeapBytes;
+        long tableOffHeapBytes = fileBytes + cells * OFF_HEAP_INDEX_BYTES_PER_CELL;
+        // the fields of each row and column; value cells are walked by a cursor rather than listed
+        long extractionHeapBytes = HeapSizes.ofArray(rows) + HeapSizes.ofArray(columns);
+        // points share the fields of their row, column and table (see LayeredFields) and the value with the table,
+        // and keep their address packed, so only the array holding the value is their own
+        long dataPointsHeapBytes = dataPoints * (HeapSizes.REFERENCE_BYTES + LAYERED_POINT_BYTES + HeapSizes.ofArray(1))
+                + (rows + columns) * HeapSizes.ofMap(fields.size(), averageCellChars);
+
+        return new FootprintEstimate(fileBytes, rows, columns, sampled, dataPoints, sparse,
+                tableHeapBytes, tableOffHeapBytes, extractionHeapBytes, dataPointsHeapBytes);
+    }
+
+    private static int readFully(InputStream input, byte[] buffer) throws IOException {
+        int length = 0;
+        while (length < buffer.length) {
+            int read = input.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    private static long countCells(TableRangeReference range, long rows, int columns) {
+        long rowCount = Math.min(range.getEndingCell().getRow(), rows - 1) - range.getStartingCell().getRow() + 1;
+        long columnCount = Math.min(range.getEndingCell().getColumn(), columns - 1) - range.getStartingCell().getColumn() + 1;
+        return rowCount <= 0 || columnCount <= 0 ? 0 : rowCount * columnCount;
+    }
+
+    private static boolean contains(TableRangeReference range, int row, int column) {
+        return row >= range.getStartingCell().getRow() && row <= range.getEndingCell().getRow()
+                && column >= range.getStartingCell().getColumn() && column <= range.getEndingCell().getColumn();
+    }
+
+    /**
+     * @param retainDataPoints whether the caller keeps the dataset after the table should be gone, which rules out
+     *                         the modes that make data points from the table on every iteration
+     */
+    public ExecutionPlan plan(Path dataFile, TableDescription description, boolean retainDataPoints) throws IOException {
+        FootprintEstimate estimate = estimate(dataFile, description);
+        ExecutionMode mode;
+        if (estimate.getHeapBytes(ExecutionMode.EAGER) <= heapBudgetBytes) {
+            mode = ExecutionMode.EAGER;
+        } else if (retainDataPoints) {
+            mode = ExecutionMode.SPILL;
+        } else if (estimate.getHeapBytes(ExecutionMode.LAZY) <= heapBudgetBytes) {
+            mode = ExecutionMode.LAZY;
+        } else {
+            mode = ExecutionMode.STREAMING;
+        }
+        ExecutionPlan plan = new ExecutionPlan(mode, estimate, heapBudgetBytes);
+        PipelineMetrics.get().countExecutionPlanned(mode.name(), plan.getEstimatedHeapBytes());
+        LOG.fine(() -> "Reading " + dataFile + " " + plan);
+        return plan;
+    }
+
+    /**
+     * Plans how to read the file and reads it that way. Close the dataset once done with it.
+     */
+    public PlannedDataset open(Path dataFile, TableDescription description, boolean shouldAddAddressToDatapoint, boolean retainDataPoints) throws IOException, DatasetIntegrityError {
+        ExecutionPlan plan = plan(dataFile, description, retainDataPoints);
+        switch (plan.getMode()) {
+            case EAGER: {
+                TableToDatasetAdapter dataset = new TableToDatasetAdapter(readOnHeap(dataFile, plan), description, shouldAddAddressToDatapoint);
+                dataset.getData();
+                return new PlannedDataset(plan, dataset, dataset.getNumberOfDataPoints(), null);
+            }
+            case LAZY: {
+                TableToDatasetAdapter dataset = new TableToDatasetAdapter(readOnHeap(dataFile, plan), description, shouldAddAddressToDatapoint);
+                return new PlannedDataset(plan, dataset, dataset.getNumberOfDataPoints(), null);
+            }
+            case STREAMING: {
+                OffHeapTable table = OffHeapTable.fromPath(dataFile, offHeapCapBytes);
+                try {
+                    TableToDatasetAdapter dataset = new TableToDatasetAdapter(table, description, shouldAddAddressToDatapoint);
+                    return new PlannedDataset(plan, dataset, dataset.getNumberOfDataPoints(), table);
+                } catch (DatasetIntegrityError | RuntimeException e) {
+                    table.close();
+                    throw e;
+                }
+            }
+            default: {
+                long spillBudget = Math.max(MIN_SPILL_BUDGET_BYTES, heapBudgetBytes - plan.getEstimatedHeapBytes());
+                try (OffHeapTable table = OffHeapTable.fromPath(dataFile, offHeapCapBytes)) {
+                    TableToDatasetAdapter points = new TableToDatasetAdapter(table, description, shouldAddAddressToDatapoint);
+                    SpillingDataset dataset = SpillingDataset.of(points, spillBudget);
+                    return new PlannedDataset(plan, dataset, dataset.getNumberOfDataPoints(), dataset);
+                }
+            }
+        }
+    }
+
+    private static Table readOnHeap(Path dataFile, ExecutionPlan plan) throws IOException, DatasetIntegrityError {
+        return plan.getEstimate().isSparse() ? SparseTable.fromPath(dataFile) : CSVTable.fromPath(dataFile);
+    }
+}
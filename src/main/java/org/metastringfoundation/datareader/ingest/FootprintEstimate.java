@@ -0,0 +1,127 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+/**
+ * What a data file is expected to take in memory, worked out by {@link ExecutionPlanner} from a sample of it.
+ * All sizes are in bytes and rough.
+ */
+public class FootprintEstimate {
+    private final long fileBytes;
+    private final long rows;
+    private final int columns;
+    private final boolean sampled;
+    private final long dataPoints;
+    private final boolean sparse;
+    private final long tableHeapBytes;
+    private final long tableOffHeapBytes;
+    private final long extractionHeapBytes;
+    private final long dataPointsHeapBytes;
+
+    FootprintEstimate(long fileBytes, long rows, int columns, boolean sampled, long dataPoints, boolean sparse,
+                      long tableHeapBytes, long tableOffHeapBytes, long extractionHeapBytes, long dataPointsHeapBytes) {
+        this.fileBytes = fileBytes;
+        this.rows = rows;
+        this.columns = columns;
+        this.sampled = sampled;
+        this.dataPoints = dataPoints;
+        this.sparse = sparse;
+        this.tableHeapBytes = tableHeapBytes;
+        this.tableOffHeapBytes = tableOffHeapBytes;
+        this.extractionHeapBytes = extractionHeapBytes;
+        this.dataPointsHeapBytes = dataPointsHeapBytes;
+    }
+
+    public long getFileBytes() {
+        return fileBytes;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return whether the file was larger than the sample, making the row count an extrapolation
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public long getDataPoints() {
+        return dataPoints;
+    }
+
+    /**
+     * @return whether enough of the cells are empty that keeping only the others takes less heap
+     */
+    public boolean isSparse() {
+        return sparse;
+    }
+
+    /**
+     * @return heap taken by the parsed table when it is kept on the heap, sparse or not
+     */
+    public long getTableHeapBytes() {
+        return tableHeapBytes;
+    }
+
+    /**
+     * @return direct memory taken by the table when it is kept off the heap
+     */
+    public long getTableOffHeapBytes() {
+        return tableOffHeapBytes;
+    }
+
+    /**
+     * @return heap taken while extracting, whatever the mode: the lookup of fields by row and column
+     */
+    public long getExtractionHeapBytes() {
+        return extractionHeapBytes;
+    }
+
+    /**
+     * @return heap taken by all the data points when they are kept
+     */
+    public long getDataPointsHeapBytes() {
+        return dataPointsHeapBytes;
+    }
+
+    /**
+     * @return heap needed in the given mode, not counting what a spilling dataset is allowed to hold
+     */
+    public long getHeapBytes(ExecutionMode mode) {
+        switch (mode) {
+            case EAGER:
+                return tableHeapBytes + extractionHeapBytes + dataPointsHeapBytes;
+            case LAZY:
+                return tableHeapBytes + extractionHeapBytes;
+            default:
+                return extractionHeapBytes;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (sampled ? "~" : "") + rows + " rows x " + columns + " columns, " + dataPoints + " data points"
+                + ", table " + tableHeapBytes + " bytes on heap" + (sparse ? " (sparse)" : "") + " or " + tableOffHeapBytes + " off heap"
+                + ", extraction " + extractionHeapBytes + " bytes, data points " + dataPointsHeapBytes + " bytes";
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors that run per-file ingestion tasks.
+ *
+ * This is the baseline (Java 8) implementation, which uses a fixed pool of platform threads.
+ * The multi-release JAR carries a replacement under META-INF/versions/21 that runs every task
+ * on its own virtual thread instead.
+ */
+public class IngestionExecutors {
+    private static final String THREAD_NAME_PREFIX = "data-reader-ingest-";
+
+    /**
+     * @param parallelism number of platform threads in the pool
+     * @return an executor for ingestion tasks
+     */
+    public static ExecutorService newIngestionExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be at least 1");
+        }
+        return Executors.newFixedThreadPool(parallelism, newPlatformThreadFactory());
+    }
+
+    public static boolean usesVirtualThreads() {
+        return false;
+    }
+
+    private static ThreadFactory newPlatformThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+import java.nio.file.Path;
+
+public class IngestionResult {
+    private final Path dataFile;
+    private final long numberOfDataPoints;
+    private final long durationNanos;
+    private final Throwable error;
+
+    private IngestionResult(Path dataFile, long numberOfDataPoints, long durationNanos, Throwable error) {
+        this.dataFile = dataFile;
+        this.numberOfDataPoints = numberOfDataPoints;
+        this.durationNanos = durationNanos;
+        this.error = error;
+    }
+
+    public static IngestionResult success(Path dataFile, long numberOfDataPoints, long durationNanos) {
+        return new IngestionResult(dataFile, numberOfDataPoints, durationNanos, null);
+    }
+
+    public static IngestionResult failure(Path dataFile, long durationNanos, Throwable error) {
+        return new IngestionResult(dataFile, 0, durationNanos, error);
+    }
+
+    public Path getDataFile() {
+        return dataFile;
+    }
+
+    public long getNumberOfDataPoints() {
+        return numberOfDataPoints;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "IngestionResult{" +
+                "dataFile=" + dataFile +
+                ", numberOfDataPoints=" + numberOfDataPoints +
+                ", durationNanos=" + durationNanos +
+                ", error=" + error +
+                '}';
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+import org.metastringfoundation.data.Dataset;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Receives the dataset extracted from each data file. Called from ingestion threads, possibly concurrently.
+ */
+@FunctionalInterface
+public interface IngestionSink {
+    void accept(Path dataFile, Dataset dataset) throws IOException;
+}
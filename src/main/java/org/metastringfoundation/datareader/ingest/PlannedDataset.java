@@ -0,0 +1,68 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.data.Dataset;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A dataset made the way an {@link ExecutionPlan} says. Closing it frees whatever the mode holds on to:
+ * the off-heap table, or the spilled runs.
+ */
+public class PlannedDataset implements Dataset, Closeable {
+    private final ExecutionPlan plan;
+    private final Dataset dataset;
+    private final long numberOfDataPoints;
+    private final Closeable resources;
+
+    PlannedDataset(ExecutionPlan plan, Dataset dataset, long numberOfDataPoints, Closeable resources) {
+        this.plan = plan;
+        this.dataset = dataset;
+        this.numberOfDataPoints = numberOfDataPoints;
+        this.resources = resources;
+    }
+
+    public ExecutionPlan getPlan() {
+        return plan;
+    }
+
+    public long getNumberOfDataPoints() {
+        return numberOfDataPoints;
+    }
+
+    @Override
+    public List<DataPoint> getData() {
+        return dataset.getData();
+    }
+
+    @Override
+    public Iterator<DataPoint> iterator() {
+        return dataset.iterator();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (resources != null) {
+            resources.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.metrics;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Logs a summary of the pipeline metrics at a fixed interval, for when nobody is watching over JMX
+ */
+public class MetricsReporter implements AutoCloseable {
+    private static final Logger LOG = Logger.getLogger(MetricsReporter.class.getName());
+
+    private final PipelineMetrics metrics;
+    private final ScheduledExecutorService scheduler;
+
+    private MetricsReporter(PipelineMetrics metrics, long period, TimeUnit unit) {
+        this.metrics = metrics;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "data-reader-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> LOG.info(metrics.summary()), period, period, unit);
+    }
+
+    public static MetricsReporter start(PipelineMetrics metrics, long period, TimeUnit unit) {
+        return new MetricsReporter(metrics, period, unit);
+    }
+
+    /**
+     * Stops reporting, after logging one last summary
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        LOG.info(metrics.summary());
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Counters and latency histograms for the whole pipeline, shared by everything in the JVM.
+ *
+ * Everything is recorded with {@link LongAdder}s and lock free histograms, so instrumented code pays a few
+ * nanoseconds per call and nothing is allocated. Call {@link #registerMBean()} once to see the numbers over JMX,
+ * and use {@link MetricsReporter} to have them logged periodically.
+ */
+public class PipelineMetrics implements PipelineMetricsMXBean {
+    private static final Logger LOG = Logger.getLogger(PipelineMetrics.class.getName());
+    public static final String OBJECT_NAME = "org.metastringfoundation.datareader:type=PipelineMetrics";
+
+    private static final PipelineMetrics INSTANCE = new PipelineMetrics();
+
+    private final Map<Stage, LatencyHistogram> histograms = new EnumMap<>(Stage.class);
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder cellsRead = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder dataPointsEmitted = new LongAdder();
+    private final LongAdder extractionCacheHits = new LongAdder();
+    private final LongAdder extractionCacheMisses = new LongAdder();
+    private final LongAdder datasetIntegrityErrors = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> executionModes = new ConcurrentHashMap<>();
+    private final AtomicLong lastEstimatedFootprintBytes = new AtomicLong();
+
+    PipelineMetrics() {
+        for (Stage stage : Stage.values()) {
+            histograms.put(stage, new LatencyHistogram());
+        }
+    }
+
+    public static PipelineMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server. Registering again does nothing.
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            LOG.fine("Pipeline metrics are already registered");
+        } catch (JMException e) {
+            LOG.warning("Could not register pipeline metrics: " + e);
+        }
+    }
+
+    public void record(Stage stage, long nanos) {
+        histograms.get(stage).record(nanos);
+    }
+
+    /**
+     * Records the time since {@code startNanos}, as given by {@link System#nanoTime()}
+     */
+    public void recordSince(Stage stage, long startNanos) {
+        record(stage, System.nanoTime() - startNanos);
+    }
+
+    public LatencyHistogram getHistogram(Stage stage) {
+        return histograms.get(stage);
+    }
+
+    public void addRowsRead(long rows) {
+        rowsRead.add(rows);
+    }
+
+    public void addCellsRead(long cells) {
+        cellsRead.add(cells);
+    }
+
+    public void addBytesRead(long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    public void countDataPointEmitted() {
+        dataPointsEmitted.increment();
+    }
+
+    /**
+     * Adds the lookups an extraction cache took over some work, as read from its statistics afterwards
+     */
+    public void addExtractionCacheLookups(long hits, long misses) {
+        extractionCacheHits.add(hits);
+        extractionCacheMisses.add(misses);
+    }
+
+    /**
+     * Counts a file or request that failed with a DatasetIntegrityError, where the failure is reported
+     */
+    public void countDatasetIntegrityError() {
+        datasetIntegrityErrors.increment();
+    }
+
+    /**
+     * Counts a file planned to run in the given execution mode, with the heap it was estimated to need
+     */
+    public void countExecutionPlanned(String mode, long estimatedFootprintBytes) {
+        executionModes.computeIfAbsent(mode, name -> new LongAdder()).increment();
+        lastEstimatedFootprintBytes.set(estimatedFootprintBytes);
+    }
+
+    @Override
+    public long getRowsRead() {
+        return rowsRead.sum();
+    }
+
+    @Override
+    public long getCellsRead() {
+        return cellsRead.sum();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public long getDataPointsEmitted() {
+        return dataPointsEmitted.sum();
+    }
+
+    @Override
+    public long getExtractionCacheHits() {
+        return extractionCacheHits.sum();
+    }
+
+    @Override
+    public long getExtractionCacheMisses() {
+        return extractionCacheMisses.sum();
+    }
+
+    @Override
+    public long getDatasetIntegrityErrors() {
+        return datasetIntegrityErrors.sum();
+    }
+
+    @Override
+    public Map<String, Long> getExecutionModes() {
+        Map<String, Long> modes = new TreeMap<>();
+        executionModes.forEach((mode, count) -> modes.put(mode, count.sum()));
+        return modes;
+    }
+
+    @Override
+    public long getLastEstimatedFootprintBytes() {
+        return lastEstimatedFootprintBytes.get();
+    }
+
+    @Override
+    public Map<String, StageStatistics> getStages() {
+        Map<String, StageStatistics> stages = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            stages.put(stage.getMetricName(), new StageStatistics(histograms.get(stage)));
+        }
+        return stages;
+    }
+
+    @Override
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+        rowsRead.reset();
+        cellsRead.reset();
+        bytesRead.reset();
+        dataPointsEmitted.reset();
+        extractionCacheHits.reset();
+        extractionCacheMisses.reset();
+        datasetIntegrityErrors.reset();
+        executionModes.clear();
+        lastEstimatedFootprintBytes.set(0);
+    }
+
+    /**
+     * One line with everything, for logs
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder()
+                .append("rows=").append(getRowsRead())
+                .append(" cells=").append(getCellsRead())
+                .append(" bytes=").append(getBytesRead())
+                .append(" points=").append(getDataPointsEmitted())
+                .append(" cacheHits=").append(getExtractionCacheHits())
+                .append(" cacheMisses=").append(getExtractionCacheMisses())
+                .append(" integrityErrors=").append(getDatasetIntegrityErrors())
+                .append(" executionModes=").append(getExecutionModes());
+        for (Map.Entry<String, StageStatistics> stage : getStages().entrySet()) {
+            summary.append(" | ").append(stage.getKey()).append(' ').append(stage.getValue());
+        }
+        return summary.toString();
+    }
+}
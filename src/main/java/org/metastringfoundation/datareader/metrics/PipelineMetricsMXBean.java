@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.metrics;
+
+import java.util.Map;
+
+/**
+ * The pipeline metrics as seen over JMX, under {@link PipelineMetrics#OBJECT_NAME}
+ */
+public interface PipelineMetricsMXBean {
+    long getRowsRead();
+
+    long getCellsRead();
+
+    long getBytesRead();
+
+    long getDataPointsEmitted();
+
+    long getExtractionCacheHits();
+
+    long getExtractionCacheMisses();
+
+    long getDatasetIntegrityErrors();
+
+    /**
+     * How many files the execution planner sent to each execution mode
+     */
+    Map<String, Long> getExecutionModes();
+
+    /**
+     * Heap the execution planner estimated the last file it planned would need in the mode it chose
+     */
+    long getLastEstimatedFootprintBytes();
+
+    /**
+     * Latency statistics of every stage, by {@link Stage#getMetricName()}
+     */
+    Map<String, StageStatistics> getStages();
+
+    void reset();
+}
@@ -0,0 +1,41 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.metrics;
+
+/**
+ * The parts of the pipeline whose latency is tracked
+ */
+public enum Stage {
+    /** reading a CSV into a table */
+    CSV_PARSE("csvParse"),
+    /** validating a description and working out its extraction plan */
+    DESCRIPTION_COMPILE("descriptionCompile"),
+    /** evaluating header and other field patterns against a table */
+    PATTERN_EVALUATION("patternEvaluation"),
+    /** walking the value cells of one dataset and writing out its data points, which happen together */
+    OUTPUT("output");
+
+    private final String metricName;
+
+    Stage(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
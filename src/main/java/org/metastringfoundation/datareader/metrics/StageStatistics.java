@@ -0,0 +1,67 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.metrics;
+
+/**
+ * What one stage's histogram looked like when it was read, in the units JMX consoles show well
+ */
+public class StageStatistics {
+    private final long count;
+    private final long totalMillis;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+
+    StageStatistics(LatencyHistogram histogram) {
+        this.count = histogram.getCount();
+        this.totalMillis = histogram.getTotalNanos() / 1_000_000;
+        this.meanMicros = count == 0 ? 0 : histogram.getTotalNanos() / count / 1000;
+        this.p50Micros = histogram.getPercentileNanos(50) / 1000;
+        this.p99Micros = histogram.getPercentileNanos(99) / 1000;
+        this.maxMicros = histogram.getMaxNanos() / 1000;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public long getMeanMicros() {
+        return meanMicros;
+    }
+
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + " mean=" + meanMicros + "us p50=" + p50Micros + "us p99=" + p99Micros + "us max=" + maxMicros + "us";
+    }
+}
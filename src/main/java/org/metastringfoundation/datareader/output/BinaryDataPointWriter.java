@@ -0,0 +1,49 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.output;
+
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.datareader.dataset.binary.BinaryDatasetWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The binary dataset format, readable with {@link org.metastringfoundation.datareader.dataset.binary.BinaryDatasetReader}
+ */
+public class BinaryDataPointWriter implements DataPointWriter {
+    private final BinaryDatasetWriter writer;
+
+    public BinaryDataPointWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BinaryDatasetWriter(outputStream);
+    }
+
+    @Override
+    public void write(DataPoint dataPoint) throws IOException {
+        writer.write(dataPoint);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // the binary writer only flushes as part of finishing; buffered points go out on close
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.output;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.metastringfoundation.data.DataPoint;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV with one row per data point. The columns have to be known up front because the header is written first;
+ * fields a data point does not have are left empty.
+ */
+public class CsvDataPointWriter implements DataPointWriter {
+    private final CSVPrinter printer;
+    private final List<String> columns;
+    private final Map<String, Integer> columnIndices = new HashMap<>();
+
+    public CsvDataPointWriter(OutputStream outputStream, List<String> columns) throws IOException {
+        this.columns = new ArrayList<>(columns);
+        for (int i = 0; i < this.columns.size(); i++) {
+            columnIndices.put(this.columns.get(i), i);
+        }
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.printer = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(this.columns.toArray(new String[0])));
+    }
+
+    @Override
+    public void write(DataPoint dataPoint) throws IOException {
+        Object[] row = new Object[columns.size()];
+        for (Map.Entry<String, String> field : dataPoint.getFieldsExceptAddress().entrySet()) {
+            row[indexOf(field.getKey())] = field.getValue();
+        }
+        if (dataPoint.hasAddress()) {
+            // straight from the packed address, without going through its map view
+            row[indexOf(DataPoint.DATA_FILE_TYPE_FIELD)] = dataPoint.getDataFileType();
+            row[indexOf(DataPoint.ROW_FIELD)] = dataPoint.getRow();
+            row[indexOf(DataPoint.COLUMN_FIELD)] = dataPoint.getColumn();
+        }
+        printer.printRecord(row);
+    }
+
+    private int indexOf(String field) {
+        Integer index = columnIndices.get(field);
+        if (index == null) {
+            throw new IllegalArgumentException("Field " + field + " is not one of the CSV columns " + columns);
+        }
+        return index;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        printer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        printer.close();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.output;
+
+import org.metastringfoundation.data.DataPoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes data points out one at a time, so that a dataset never has to be held in memory to be written.
+ * {@link #close()} completes the output (closing brackets, end markers and so on).
+ */
+public interface DataPointWriter extends Closeable {
+    void write(DataPoint dataPoint) throws IOException;
+
+    default void writeAll(Iterable<DataPoint> dataPoints) throws IOException {
+        for (DataPoint dataPoint : dataPoints) {
+            write(dataPoint);
+        }
+    }
+
+    void flush() throws IOException;
+}
@@ -0,0 +1,58 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.datareader.helpers.Jsonizer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * A single JSON array of data point objects, written incrementally
+ */
+public class JsonDataPointWriter implements DataPointWriter {
+    private final JsonGenerator generator;
+
+    public JsonDataPointWriter(OutputStream outputStream) throws IOException {
+        this.generator = Jsonizer.createGenerator(outputStream);
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void write(DataPoint dataPoint) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<String, String> field : dataPoint.entrySet()) {
+            generator.writeStringField(field.getKey(), field.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.writeRaw('\n');
+        generator.close();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+
+public enum OutputFormat {
+    JSON,
+    NDJSON,
+    CSV,
+    BINARY;
+
+    public static OutputFormat fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown output format " + name + "; use json, ndjson, csv or binary");
+        }
+    }
+
+    /**
+     * @param columns the CSV columns; ignored by the other formats
+     */
+    public DataPointWriter newWriter(OutputStream outputStream, List<String> columns) throws IOException {
+        switch (this) {
+            case JSON:
+                return new JsonDataPointWriter(outputStream);
+            case NDJSON:
+                return new NdjsonDataPointWriter(outputStream);
+            case CSV:
+                return new CsvDataPointWriter(outputStream, columns);
+            case BINARY:
+                return new BinaryDataPointWriter(outputStream);
+            default:
+                throw new IllegalStateException("No writer for " + this);
+        }
+    }
+
+    public boolean needsColumns() {
+        return this == CSV;
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableDescriptionRegistry;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.metastringfoundation.datareader.events.ExtractionEvents;
+import org.metastringfoundation.datareader.helpers.Jsonizer;
+import org.metastringfoundation.datareader.ingest.IngestionExecutors;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+import org.metastringfoundation.datareader.metrics.Stage;
+import org.metastringfoundation.datareader.output.NdjsonDataPointWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Long running extraction service on the JDK's built-in HTTP server.
+ *
+ * Compiled descriptions and parsed tables stay in memory between requests, so a repeated extraction only pays
+ * for walking the table. Endpoints:
+ * <ul>
+ *     <li>{@code GET /health}</li>
+ *     <li>{@code GET /descriptions} lists the registered description names</li>
+ *     <li>{@code PUT /descriptions/{name}} registers the description JSON in the body; {@code DELETE} removes it</li>
+ *     <li>{@code POST /extract?description={name}[&withAddress=true]} extracts from the CSV in the body
+ *     using a registered description</li>
+ *     <li>{@code POST /extract} with a JSON body {@code {"description": {...}, "csv": "...", "withAddress": false}}
+ *     extracts using an inline description</li>
+ * </ul>
+ * Extraction responses are newline delimited JSON, one data point per line. Should extraction fail once the
+ * response has started, the last line is an {@code {"error": ...}} record instead of a data point.
+ */
+public class ExtractionServer implements AutoCloseable {
+    private static final Logger LOG = Logger.getLogger(ExtractionServer.class.getName());
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final long DEFAULT_TABLE_CACHE_BYTES = 256L * 1024 * 1024;
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String DESCRIPTIONS_PATH = "/descriptions";
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final TableDescriptionRegistry registry;
+    private final ConcurrentMap<String, TableDescription> registeredDescriptions = new ConcurrentHashMap<>();
+    private final Cache<String, Table> tables;
+
+    public ExtractionServer(int port) throws IOException {
+        this(new InetSocketAddress(port), new TableDescriptionRegistry(), Runtime.getRuntime().availableProcessors(), DEFAULT_TABLE_CACHE_BYTES);
+    }
+
+    /**
+     * @param address where to listen; port 0 picks a free port (see {@link #getPort()})
+     * @param registry compiled descriptions, shared with anyone else using the same registry
+     * @param parallelism number of requests served at once; the others wait for their turn
+     * @param tableCacheBytes heap the parsed tables kept warm may take, as estimated from their number of cells
+     *                        rather than measured
+     */
+    public ExtractionServer(InetSocketAddress address, TableDescriptionRegistry registry, int parallelism, long tableCacheBytes) throws IOException {
+        this.registry = registry;
+        this.tables = CacheBuilder.newBuilder()
+                .maximumWeight(tableCacheBytes)
+                .<String, Table>weigher((key, table) -> weightOf(table))
+                .recordStats()
+                .build();
+        // on JDK 21 the executor starts a virtual thread per request whatever the parallelism, so it is enforced here
+        this.executor = IngestionExecutors.newIngestionExecutor(parallelism);
+        this.permits = new Semaphore(parallelism);
+        this.httpServer = HttpServer.create(address, 0);
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/health", exchange -> handle(exchange, this::health));
+        httpServer.createContext(DESCRIPTIONS_PATH, exchange -> handle(exchange, this::descriptions));
+        httpServer.createContext("/extract", exchange -> handle(exchange, this::extract));
+    }
+
+    public void start() {
+        httpServer.start();
+        LOG.info("Extraction server listening on port " + getPort());
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    public void registerDescription(String name, TableDescription tableDescription) {
+        registeredDescriptions.put(name, tableDescription);
+    }
+
+    /**
+     * Registers every *.json file in the directory under its file name without the extension
+     */
+    public void registerDescriptionsFrom(Path directory) throws IOException, DatasetIntegrityError {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String name = fileName.substring(0, fileName.length() - ".json".length());
+                registerDescription(name, registry.get(file));
+                LOG.info("Registered description " + name + " from " + file);
+            }
+        }
+    }
+
+    public CacheStats getTableCacheStats() {
+        return tables.stats();
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void health(HttpExchange exchange) throws IOException, RequestError {
+        requireMethod(exchange, "GET");
+        respond(exchange, 200, "text/plain", "ok\n");
+    }
+
+    private void descriptions(HttpExchange exchange) throws IOException, DatasetIntegrityError, RequestError {
+        String path = exchange.getRequestURI().getPath();
+        String name = path.length() > DESCRIPTIONS_PATH.length() + 1 ? path.substring(DESCRIPTIONS_PATH.length() + 1) : "";
+        if (name.isEmpty()) {
+            requireMethod(exchange, "GET");
+            List<String> names = new ArrayList<>(registeredDescriptions.keySet());
+            Collections.sort(names);
+            respond(exchange, 200, "application/json", Jsonizer.getJSONString(names));
+            return;
+        }
+        switch (exchange.getRequestMethod()) {
+            case "PUT":
+            case "POST":
+                String json = new String(readBody(exchange), StandardCharsets.UTF_8);
+                registerDescription(name, registry.get(json));
+                respond(exchange, 204, null, null);
+                break;
+            case "DELETE":
+                if (registeredDescriptions.remove(name) == null) {
+                    throw new RequestError(404, "No description named " + name);
+                }
+                respond(exchange, 204, null, null);
+                break;
+            default:
+                throw new RequestError(405, "Use PUT, POST or DELETE on a description");
+        }
+    }
+
+    private void extract(HttpExchange exchange) throws IOException, DatasetIntegrityError, RequestError {
+        requireMethod(exchange, "POST");
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+
+        TableDescription tableDescription;
+        byte[] csv;
+        boolean withAddress;
+        if (contentType != null && contentType.startsWith("application/json")) {
+            JsonNode envelope;
+            try (InputStream body = exchange.getRequestBody()) {
+                envelope = Jsonizer.readTree(body);
+            }
+            JsonNode description = envelope.get("description");
+            JsonNode csvNode = envelope.get("csv");
+            if (description == null || csvNode == null) {
+                throw new RequestError(400, "A JSON request needs both \"description\" and \"csv\"");
+            }
+            tableDescription = description.isTextual() ? findDescription(description.asText()) : registry.get(description.toString());
+            csv = csvNode.asText().getBytes(StandardCharsets.UTF_8);
+            withAddress = envelope.path("withAddress").asBoolean(false);
+        } else {
+            String name = query.get("description");
+            if (name == null) {
+                throw new RequestError(400, "Pass ?description=<name> or send a JSON request with an inline description");
+            }
+            tableDescription = findDescription(name);
+            csv = readBody(exchange);
+            withAddress = Boolean.parseBoolean(query.get("withAddress"));
+        }
+
+        TableToDatasetAdapter dataset = new TableToDatasetAdapter(tableOf(csv), tableDescription, withAddress);
+
+        exchange.getResponseHeaders().set("Content-Type", NDJSON);
+        exchange.sendResponseHeaders(200, 0);
+        Object event = ExtractionEvents.beginDatasetEmit();
+        long start = System.nanoTime();
+        long dataPoints;
+        try (NdjsonDataPointWriter writer = new NdjsonDataPointWriter(exchange.getResponseBody())) {
+            dataPoints = stream(dataset, writer);
+        }
+        PipelineMetrics.get().recordSince(Stage.OUTPUT, start);
+        ExtractionEvents.endDatasetEmit(event, exchange.getRequestURI().toString(), dataPoints);
+    }
+
+    /**
+     * The status is already out by the time the data points are made, so a failure among them is reported
+     * as the last record of the stream
+     */
+    static long stream(Iterable<DataPoint> dataset, NdjsonDataPointWriter writer) throws IOException {
+        long dataPoints = 0;
+        try {
+            for (DataPoint dataPoint : dataset) {
+                writer.write(dataPoint);
+                dataPoints++;
+            }
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Extraction failed after " + dataPoints + " data points", e);
+            writer.writeError(e.toString());
+        }
+        return dataPoints;
+    }
+
+    private TableDescription findDescription(String name) throws RequestError {
+        TableDescription tableDescription = registeredDescriptions.get(name);
+        if (tableDescription == null) {
+            throw new RequestError(404, "No description named " + name);
+        }
+        return tableDescription;
+    }
+
+    private Table tableOf(byte[] csv) throws IOException, DatasetIntegrityError {
+        String key = Hashing.sha256().hashBytes(csv).toString();
+        Table table = tables.getIfPresent(key);
+        if (table == null) {
+            table = new CSVTable(new String(csv, StandardCharsets.UTF_8));
+            tables.put(key, table);
+        }
+        return table;
+    }
+
+    private static int weightOf(Table table) {
+        // an estimate, not a measurement: cells are short and the bulk of a parsed table is object overhead
+        long cells = (long) table.getNumberOfRows() * table.getNumberOfColumns();
+        return (int) Math.min(Integer.MAX_VALUE, cells * 64);
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respondQuietly(exchange, 503, "Shutting down");
+            exchange.close();
+            return;
+        }
+        try {
+            handler.handle(exchange);
+        } catch (RequestError e) {
+            respondQuietly(exchange, e.status, e.getMessage());
+        } catch (DatasetIntegrityError e) {
+            PipelineMetrics.get().countDatasetIntegrityError();
+            respondQuietly(exchange, 422, e.getMessage());
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Request failed", e);
+            respondQuietly(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Request failed", e);
+            respondQuietly(exchange, 500, e.toString());
+        } finally {
+            permits.release();
+            exchange.close();
+        }
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) throws RequestError {
+        if (!method.equals(exchange.getRequestMethod())) {
+            throw new RequestError(405, "Use " + method);
+        }
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            return IOUtils.toByteArray(body);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private static void respondQuietly(HttpExchange exchange, int status, String message) {
+        try {
+            respond(exchange, status, "text/plain", (message == null ? "" : message) + "\n");
+        } catch (IOException e) {
+            // the headers may already be out if the failure happened mid-stream; nothing more can be said to the client
+            LOG.log(Level.FINE, "Could not report the error to the client", e);
+        }
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(key, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+        }
+        return parameters;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException, DatasetIntegrityError, RequestError;
+    }
+
+    private static class RequestError extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        private RequestError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.events;
+
+import jdk.jfr.EventType;
+
+/**
+ * Flight recorder events for the extraction stages.
+ *
+ * Each stage calls a begin method before it starts and the matching end method with what it did. The begin
+ * methods return a token to hand back to the end method; it is null when nothing is being recorded, and the end
+ * methods do nothing with a null token, so callers can skip gathering details when the token is null.
+ *
+ * This is the JDK 11+ implementation, packaged under META-INF/versions/11 of the multi-release JAR.
+ * When an event type is not enabled in any recording, its begin method costs one volatile read.
+ */
+public class ExtractionEvents {
+    private static final EventType TABLE_PARSED = EventType.getEventType(TableParsedEvent.class);
+    private static final EventType DESCRIPTION_COMPILED = EventType.getEventType(DescriptionCompiledEvent.class);
+    private static final EventType FIELD_EVALUATED = EventType.getEventType(FieldEvaluatedEvent.class);
+    private static final EventType DATASET_EMITTED = EventType.getEventType(DatasetEmittedEvent.class);
+
+    public static Object beginTableParse() {
+        if (!TABLE_PARSED.isEnabled()) {
+            return null;
+        }
+        TableParsedEvent event = new TableParsedEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param source the file the table came from; null for tables read from strings
+     */
+    public static void endTableParse(Object token, String source, int rows, int columns, long bytes) {
+        if (token == null) {
+            return;
+        }
+        TableParsedEvent event = (TableParsedEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.rows = rows;
+            event.columns = columns;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    public static Object beginDescriptionCompile() {
+        if (!DESCRIPTION_COMPILED.isEnabled()) {
+            return null;
+        }
+        DescriptionCompiledEvent event = new DescriptionCompiledEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endDescriptionCompile(Object token, int fields, int evaluations) {
+        if (token == null) {
+            return;
+        }
+        DescriptionCompiledEvent event = (DescriptionCompiledEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.fields = fields;
+            event.evaluations = evaluations;
+            event.commit();
+        }
+    }
+
+    public static Object beginFieldEvaluation() {
+        if (!FIELD_EVALUATED.isEnabled()) {
+            return null;
+        }
+        FieldEvaluatedEvent event = new FieldEvaluatedEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param fields names of the fields that the pattern gives values to
+     * @param nulls cells in which the pattern found nothing
+     */
+    public static void endFieldEvaluation(Object token, String fields, String pattern, String range, int cells, int matches, int nulls) {
+        if (token == null) {
+            return;
+        }
+        FieldEvaluatedEvent event = (FieldEvaluatedEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.fields = fields;
+            event.pattern = pattern;
+            event.range = range;
+            event.cells = cells;
+            event.matches = matches;
+            event.nulls = nulls;
+            event.commit();
+        }
+    }
+
+    public static Object beginDatasetEmit() {
+        if (!DATASET_EMITTED.isEnabled()) {
+            return null;
+        }
+        DatasetEmittedEvent event = new DatasetEmittedEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endDatasetEmit(Object token, String source, long dataPoints) {
+        if (token == null) {
+            return;
+        }
+        DatasetEmittedEvent event = (DatasetEmittedEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.dataPoints = dataPoints;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.metastringfoundation.datareader.FieldEvaluated")
+@Label("Field Evaluated")
+@Description("A pattern was applied to every cell of its range; patterns sharing a range share the scan, so their events overlap")
+@Category("Data Reader")
+class FieldEvaluatedEvent extends Event {
+    @Label("Fields")
+    String fields;
+
+    @Label("Pattern")
+    String pattern;
+
+    @Label("Range")
+    String range;
+
+    @Label("Cells")
+    int cells;
+
+    @Label("Matches")
+    int matches;
+
+    @Label("Nulls")
+    int nulls;
+}
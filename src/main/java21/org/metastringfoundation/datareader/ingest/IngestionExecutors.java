@@ -0,0 +1,45 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executors that run per-file ingestion tasks.
+ *
+ * This is the JDK 21+ implementation, packaged under META-INF/versions/21 of the multi-release JAR.
+ * Ingestion tasks spend most of their time blocked on reads, so each one gets its own virtual thread.
+ */
+public class IngestionExecutors {
+    private static final String THREAD_NAME_PREFIX = "data-reader-ingest-";
+
+    /**
+     * @param parallelism ignored; callers bound their own concurrency, see {@link BulkIngestion}
+     * @return an executor for ingestion tasks
+     */
+    public static ExecutorService newIngestionExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be at least 1");
+        }
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory());
+    }
+
+    public static boolean usesVirtualThreads() {
+        return true;
+    }
+}
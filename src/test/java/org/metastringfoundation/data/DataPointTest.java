@@ -0,0 +1,81 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataPointTest {
+
+    private static DataPoint addressed() {
+        return new DataPoint(new HashMap<>(Map.of("indicator", "MMR", "value", "1.3")), "table", 4, 2);
+    }
+
+    private static DataPoint spelledOut() {
+        return DataPoint.of("indicator", "MMR", "value", "1.3",
+                "meta.dataFileType", "table", "meta.addressInDataFile.row", "4", "meta.addressInDataFile.column", "2");
+    }
+
+    @Test
+    void showsAPackedAddressAsFields() {
+        DataPoint dataPoint = addressed();
+
+        assertTrue(dataPoint.hasAddress());
+        assertEquals(4, dataPoint.getRow());
+        assertEquals(2, dataPoint.getColumn());
+        assertEquals(5, dataPoint.size());
+        assertEquals("4", dataPoint.get(DataPoint.ROW_FIELD));
+        assertEquals("table", dataPoint.get(DataPoint.DATA_FILE_TYPE_FIELD));
+        assertTrue(dataPoint.containsKey(DataPoint.COLUMN_FIELD));
+        assertEquals(2, dataPoint.getFieldsExceptAddress().size());
+        assertEquals(spelledOut().keySet(), dataPoint.keySet());
+        assertEquals(new HashMap<>(spelledOut()), new HashMap<>(dataPoint));
+    }
+
+    @Test
+    void looksForNullValuesLikeAMap() {
+        DataPoint dataPoint = addressed();
+
+        assertFalse(dataPoint.containsValue(null));
+        assertFalse(dataPoint.containsValue((String) null));
+        assertTrue(dataPoint.containsValue("4"));
+    }
+
+    @Test
+    void equalsThePointWithTheAddressSpelledOut() {
+        assertEquals(spelledOut(), addressed());
+        assertEquals(addressed(), spelledOut());
+        assertEquals(spelledOut().hashCode(), addressed().hashCode());
+        assertNotEquals(new DataPoint(new HashMap<>(Map.of("indicator", "MMR", "value", "1.3")), "table", 4, 3), addressed());
+    }
+
+    @Test
+    void unpacksTheAddressWhenItIsWritten() {
+        DataPoint dataPoint = addressed();
+
+        dataPoint.put(DataPoint.ROW_FIELD, "5");
+
+        assertFalse(dataPoint.hasAddress());
+        assertEquals("5", dataPoint.get(DataPoint.ROW_FIELD));
+        assertEquals("2", dataPoint.get(DataPoint.COLUMN_FIELD));
+        assertEquals(5, dataPoint.size());
+    }
+}
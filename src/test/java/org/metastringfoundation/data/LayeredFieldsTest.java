@@ -0,0 +1,81 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayeredFieldsTest {
+    private static final Map<String, String> UNIVERSAL = Map.of("source", "NFHS", "indicator", "default");
+    private static final Map<String, String> ROW = Map.of("entity.state", "Kerala", "settlement", "Urban");
+    private static final Map<String, String> COLUMN = Map.of("indicator", "MMR", "settlement", "Rural");
+
+    private static LayeredFields point(String value) {
+        return new LayeredFields(UNIVERSAL, ROW, COLUMN, new String[]{"value"}, new String[]{value});
+    }
+
+    @Test
+    void looksFieldsUpThroughTheLayersInOrder() {
+        LayeredFields fields = point("1.3");
+
+        assertEquals("1.3", fields.get("value"));
+        assertEquals("MMR", fields.get("indicator"));
+        assertEquals("Rural", fields.get("settlement"));
+        assertEquals("Kerala", fields.get("entity.state"));
+        assertEquals("NFHS", fields.get("source"));
+        assertNull(fields.get("missing"));
+        assertFalse(fields.containsKey("missing"));
+    }
+
+    @Test
+    void behavesLikeTheMapItStandsFor() {
+        Map<String, String> expected = new HashMap<>(UNIVERSAL);
+        expected.putAll(ROW);
+        expected.putAll(COLUMN);
+        expected.put("value", "1.3");
+
+        LayeredFields fields = point("1.3");
+
+        assertEquals(5, fields.size());
+        assertEquals(expected, fields);
+        assertEquals(fields, expected);
+        assertEquals(expected.hashCode(), fields.hashCode());
+        assertEquals(expected.entrySet(), fields.entrySet());
+        assertEquals(new DataPoint(expected), new DataPoint(fields));
+    }
+
+    @Test
+    void copiesOnWrite() {
+        Map<String, String> row = new HashMap<>(ROW);
+        LayeredFields first = new LayeredFields(UNIVERSAL, row, COLUMN, new String[]{"value"}, new String[]{"1"});
+        LayeredFields second = new LayeredFields(UNIVERSAL, row, COLUMN, new String[]{"value"}, new String[]{"2"});
+
+        assertEquals("Kerala", first.put("entity.state", "Goa"));
+        first.remove("source");
+
+        assertEquals("Goa", first.get("entity.state"));
+        assertFalse(first.containsKey("source"));
+        assertEquals(4, first.size());
+        assertEquals("Kerala", second.get("entity.state"));
+        assertEquals("NFHS", second.get("source"));
+        assertEquals(ROW, row);
+    }
+}
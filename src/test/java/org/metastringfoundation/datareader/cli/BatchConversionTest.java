@@ -0,0 +1,136 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metastringfoundation.datareader.dataset.cache.DatasetCache;
+import org.metastringfoundation.datareader.dataset.table.TableDescriptionRegistry;
+import org.metastringfoundation.datareader.ingest.ExecutionPlanner;
+import org.metastringfoundation.datareader.ingest.IngestionResult;
+import org.metastringfoundation.datareader.output.OutputFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchConversionTest {
+    private static final String DESCRIPTION = """
+            {
+                "fields": [
+                    {
+                        "field": "y",
+                        "range": "A2:A"
+                    }, {
+                        "field": "x",
+                        "range": "B1:1"
+                    }, {
+                        "field": "value",
+                        "range": "B2:"
+                    }
+                ]
+            }
+            """;
+
+    @Test
+    void convertsADirectoryUsingSiblingDescriptions(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("first.csv"), "a,b,c\np,1,2\n");
+        Files.writeString(directory.resolve("first.description.json"), DESCRIPTION);
+        Files.createDirectory(directory.resolve("nested"));
+        Files.writeString(directory.resolve("nested/second.csv"), "a,b,c\nq,3,4\n");
+        Files.writeString(directory.resolve("nested/second.metadata.json"), DESCRIPTION);
+        Files.writeString(directory.resolve("orphan.csv"), "a,b,c\nr,5,6\n");
+
+        List<Path> dataFiles = InputFiles.expand(directory.toString());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BatchConversion conversion = new BatchConversion(dataFiles, BatchConversion.siblingDescriptions(new TableDescriptionRegistry()), OutputFormat.CSV, 2, false);
+        List<IngestionResult> results = conversion.run(output);
+
+        assertEquals(3, results.size());
+        assertEquals(1, results.stream().filter(result -> !result.isSuccessful()).count());
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("y,x,value", lines.get(0));
+        assertEquals(5, lines.size());
+        assertTrue(lines.contains("q,c,4"));
+    }
+
+    @Test
+    void expandsGlobs(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("one.csv"), "");
+        Files.writeString(directory.resolve("two.csv"), "");
+        Files.writeString(directory.resolve("notes.txt"), "");
+
+        List<Path> files = InputFiles.expand(directory.toString() + "/*.csv");
+
+        assertEquals(List.of(directory.resolve("one.csv"), directory.resolve("two.csv")), files);
+    }
+
+    @Test
+    void matchesNoDirectoriesWithDoubleStar(@TempDir Path directory) throws Exception {
+        Files.createDirectories(directory.resolve("a/b"));
+        Files.writeString(directory.resolve("top.csv"), "");
+        Files.writeString(directory.resolve("a/middle.csv"), "");
+        Files.writeString(directory.resolve("a/b/bottom.csv"), "");
+
+        List<Path> files = InputFiles.expand(directory.toString() + "/**/*.csv");
+
+        assertEquals(List.of(directory.resolve("a/b/bottom.csv"), directory.resolve("a/middle.csv"), directory.resolve("top.csv")), files);
+    }
+
+    @Test
+    void readsFilesSeenBeforeFromTheCache(@TempDir Path directory) throws Exception {
+        Path dataFile = Files.writeString(directory.resolve("data.csv"), "a,b,c\np,1,2\nq,3,4\n");
+        Files.writeString(directory.resolve("data.description.json"), DESCRIPTION);
+        DatasetCache cache = new DatasetCache(directory.resolve("cache"), Long.MAX_VALUE);
+
+        List<String> outputs = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            BatchConversion conversion = new BatchConversion(List.of(dataFile), BatchConversion.siblingDescriptions(new TableDescriptionRegistry()),
+                    OutputFormat.CSV, 1, false, null, false, cache);
+            List<IngestionResult> results = conversion.run(output);
+            assertEquals(4, results.get(0).getNumberOfDataPoints());
+            outputs.add(output.toString(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(outputs.get(0), outputs.get(1));
+        assertTrue(outputs.get(0).contains("q,c,4"));
+        try (Stream<Path> entries = Files.list(cache.getDirectory())) {
+            assertEquals(1, entries.filter(entry -> entry.toString().endsWith(".drds")).count());
+        }
+    }
+
+    @Test
+    void spillsFilesThatDoNotFitTheMemoryBudget(@TempDir Path directory) throws Exception {
+        Path dataFile = Files.writeString(directory.resolve("data.csv"), "a,b,c\np,1,2\nq,3,4\n");
+        Files.writeString(directory.resolve("data.description.json"), DESCRIPTION);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BatchConversion conversion = new BatchConversion(List.of(dataFile), BatchConversion.siblingDescriptions(new TableDescriptionRegistry()),
+                OutputFormat.CSV, 1, false, new ExecutionPlanner(1));
+        List<IngestionResult> results = conversion.run(output);
+
+        assertTrue(results.get(0).isSuccessful());
+        assertEquals(List.of("y,x,value", "p,b,1", "p,c,2", "q,b,3", "q,c,4"), output.toString(StandardCharsets.UTF_8).lines().toList());
+    }
+}
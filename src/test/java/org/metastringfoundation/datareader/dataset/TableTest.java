@@ -44,4 +44,14 @@ public class TableTest {
 
         assertEquals(expectedRange, obtainedRange);
     }
+
+    @Test
+    public void forEachCellVisitsTheRangeWithinTheTable() throws DatasetIntegrityError, IOException {
+        String simpleSample = this.getClass().getResource("sampleData.csv").getPath();
+        CSVTable table = CSVTable.fromPath(simpleSample);
+        List<TableCell> visited = new ArrayList<>();
+        table.forEachCell(new TableRangeReference("C2:"), (row, column, value) -> visited.add(new TableCell(row, column, value.toString())));
+
+        assertEquals(table.getRange(new TableRangeReference("C2:D3")), visited);
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.binary;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metastringfoundation.data.DataPoint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryDatasetTest {
+
+    @Test
+    void keepsPackedAddressesPacked(@TempDir Path directory) throws Exception {
+        List<DataPoint> dataPoints = List.of(
+                new DataPoint(new HashMap<>(Map.of("indicator", "MMR", "value", "1.3")), "table", 1, 2),
+                new DataPoint(new HashMap<>(Map.of("indicator", "MMR", "value", "NA")), "table", 70_000, 3),
+                DataPoint.of("indicator", "IMR", "value", "2")
+        );
+        Path file = directory.resolve("points.bin");
+
+        BinaryDataset.write(dataPoints, file);
+        List<DataPoint> read = new BinaryDataset(file).getData();
+
+        assertEquals(dataPoints, read);
+        assertTrue(read.get(1).hasAddress());
+        assertEquals(70_000, read.get(1).getRow());
+        assertFalse(read.get(2).hasAddress());
+    }
+
+    @Test
+    void failedWriteIsNotReadBackAsComplete(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("points.bin");
+        Iterable<DataPoint> failing = () -> List.of(DataPoint.of("value", "1"), DataPoint.of("value", "2")).stream()
+                .map(dataPoint -> {
+                    if (dataPoint.get("value").equals("2")) {
+                        throw new UncheckedIOException(new IOException("source went away"));
+                    }
+                    return dataPoint;
+                })
+                .iterator();
+
+        assertThrows(UncheckedIOException.class, () -> BinaryDataset.write(failing, file));
+
+        assertThrows(UncheckedIOException.class, () -> new BinaryDataset(file).getData());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.datareader.dataset.binary.BinaryDataset;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetCacheTest {
+    private static final String DESCRIPTION = """
+            {
+                "fields": [
+                    {
+                        "field": "y",
+                        "range": "A2:A"
+                    }, {
+                        "field": "x",
+                        "range": "B1:1"
+                    }, {
+                        "field": "value",
+                        "range": "B2:"
+                    }
+                ]
+            }
+            """;
+
+    @Test
+    void secondReadComesFromTheCache(@TempDir Path directory) throws Exception {
+        Path dataFile = Files.writeString(directory.resolve("data.csv"), "a,b,c\np,1,2\nq,3,4\n");
+        TableDescription description = TableDescription.fromString(DESCRIPTION);
+        List<DataPoint> expected = new TableToDatasetAdapter(CSVTable.fromPath(dataFile), description, true).getData();
+        DatasetCache cache = new DatasetCache(directory.resolve("cache"), Long.MAX_VALUE);
+
+        try (BinaryDataset extracted = cache.getOrExtract(dataFile, description, true);
+             BinaryDataset cached = cache.getOrExtract(dataFile, description, true)) {
+            assertEquals(extracted.getPath(), cached.getPath());
+            assertTrue(extracted.getPath().startsWith(cache.getDirectory()));
+            List<DataPoint> streamed = new ArrayList<>();
+            cached.forEach(streamed::add);
+            assertEquals(expected, streamed);
+            assertEquals(expected, extracted.getData());
+            assertEquals(expected.size(), cached.getNumberOfDataPoints());
+        }
+    }
+
+    @Test
+    void anEntryLargerThanTheCacheIsStillReturned(@TempDir Path directory) throws Exception {
+        Path dataFile = Files.writeString(directory.resolve("data.csv"), "a,b,c\np,1,2\nq,3,4\n");
+        TableDescription description = TableDescription.fromString(DESCRIPTION);
+        DatasetCache cache = new DatasetCache(directory.resolve("cache"), 0);
+
+        try (BinaryDataset extracted = cache.getOrExtract(dataFile, description, false)) {
+            assertTrue(Files.notExists(extracted.getPath()));
+            assertEquals(4, extracted.getData().size());
+        }
+    }
+
+    @Test
+    void keyDependsOnEveryInput(@TempDir Path directory) throws Exception {
+        Path dataFile = Files.writeString(directory.resolve("data.csv"), "a,b,c\np,1,2\n");
+        Path changedDataFile = Files.writeString(directory.resolve("changed.csv"), "a,b,c\np,1,3\n");
+        TableDescription description = TableDescription.fromString(DESCRIPTION);
+        DatasetCache cache = new DatasetCache(directory.resolve("cache"), Long.MAX_VALUE);
+
+        String key = cache.keyOf(dataFile, description, false);
+        assertEquals(key, cache.keyOf(dataFile, TableDescription.fromString(DESCRIPTION), false));
+        assertNotEquals(key, cache.keyOf(dataFile, description, true));
+        assertNotEquals(key, cache.keyOf(changedDataFile, description, false));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntries(@TempDir Path directory) throws Exception {
+        TableDescription description = TableDescription.fromString(DESCRIPTION);
+        Path first = Files.writeString(directory.resolve("first.csv"), "a,b,c\np,1,2\n");
+        Path second = Files.writeString(directory.resolve("second.csv"), "a,b,c\nq,3,4\n");
+        Path cacheDirectory = directory.resolve("cache");
+        DatasetCache unbounded = new DatasetCache(cacheDirectory, Long.MAX_VALUE);
+        unbounded.getOrExtract(first, description, false).close();
+        unbounded.getOrExtract(second, description, false).close();
+        String firstKey = unbounded.keyOf(first, description, false);
+        String secondKey = unbounded.keyOf(second, description, false);
+        Path firstEntry = unbounded.get(firstKey).orElseThrow().getPath();
+        Path secondEntry = unbounded.get(secondKey).orElseThrow().getPath();
+        Files.setLastModifiedTime(secondEntry, FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(firstEntry, FileTime.fromMillis(2000));
+
+        new DatasetCache(cacheDirectory, Files.size(firstEntry)).evict();
+
+        assertTrue(unbounded.get(firstKey).isPresent());
+        assertTrue(unbounded.get(secondKey).isEmpty());
+    }
+
+    @Test
+    void hitCanBeReadAfterItIsEvicted(@TempDir Path directory) throws Exception {
+        Path dataFile = Files.writeString(directory.resolve("data.csv"), "a,b,c\np,1,2\nq,3,4\n");
+        TableDescription description = TableDescription.fromString(DESCRIPTION);
+        DatasetCache cache = new DatasetCache(directory.resolve("cache"), Long.MAX_VALUE);
+        List<DataPoint> extracted;
+        try (BinaryDataset dataset = cache.getOrExtract(dataFile, description, false)) {
+            extracted = dataset.getData();
+        }
+
+        try (BinaryDataset hit = cache.get(cache.keyOf(dataFile, description, false)).orElseThrow()) {
+            new DatasetCache(cache.getDirectory(), 0).evict();
+
+            assertTrue(Files.notExists(hit.getPath()));
+            assertEquals(extracted, hit.getData());
+        }
+    }
+}
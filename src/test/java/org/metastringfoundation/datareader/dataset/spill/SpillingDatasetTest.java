@@ -0,0 +1,90 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.spill;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metastringfoundation.data.DataPoint;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillingDatasetTest {
+
+    private static List<DataPoint> points(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> DataPoint.of("entity.district", "District " + (i * 7919 % count), "value", String.valueOf(i)))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void keepsSmallDatasetsInMemory(@TempDir Path directory) throws Exception {
+        try (SpillingDataset dataset = new SpillingDataset(1 << 20, directory, null)) {
+            dataset.addAll(points(10));
+
+            assertEquals(0, dataset.getNumberOfRuns());
+            assertEquals(points(10), dataset.getData());
+        }
+    }
+
+    @Test
+    void spillsBeyondTheBudgetAndKeepsTheOrderPointsWereAddedIn(@TempDir Path directory) throws Exception {
+        try (SpillingDataset dataset = new SpillingDataset(16 * 1024, directory, null)) {
+            dataset.addAll(points(1000));
+
+            assertTrue(dataset.getNumberOfRuns() > 1);
+            assertTrue(dataset.getSpilledBytes() > 0);
+            assertEquals(1000, dataset.getNumberOfDataPoints());
+            List<DataPoint> iterated = new ArrayList<>();
+            dataset.forEach(iterated::add);
+            assertEquals(points(1000), iterated);
+        }
+    }
+
+    @Test
+    void mergesSortedRuns(@TempDir Path directory) throws Exception {
+        Comparator<DataPoint> byDistrict = Comparator.comparing(dataPoint -> dataPoint.get("entity.district"));
+        try (SpillingDataset dataset = new SpillingDataset(16 * 1024, directory, byDistrict)) {
+            dataset.addAll(points(1000));
+
+            List<DataPoint> expected = new ArrayList<>(points(1000));
+            expected.sort(byDistrict);
+            assertTrue(dataset.getNumberOfRuns() > 1);
+            assertEquals(expected, dataset.getData());
+        }
+    }
+
+    @Test
+    void deletesRunsOnClose(@TempDir Path directory) throws Exception {
+        SpillingDataset dataset = new SpillingDataset(1024, directory, null);
+        dataset.addAll(points(100));
+        dataset.iterator().next();
+        assertTrue(Files.list(directory).findAny().isPresent());
+
+        dataset.close();
+
+        assertFalse(Files.list(directory).findAny().isPresent());
+        assertThrows(IllegalStateException.class, dataset::iterator);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import org.junit.jupiter.api.Test;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.metastringfoundation.datareader.helpers.InternPool;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CellNormalizerTest {
+
+    @Test
+    void noneLeavesCellsAlone() {
+        assertEquals(" n/a ", CellNormalizer.none().normalize(" n/a "));
+    }
+
+    @Test
+    void interningDoesNotChangeValues() {
+        assertEquals(" n/a ", CellNormalizer.interning().normalize(" n/a "));
+    }
+
+    @Test
+    void cleaningTrimsAndCanonicalizesNotAvailable() {
+        CellNormalizer cleaning = CellNormalizer.cleaning();
+        assertEquals("Kerala", cleaning.normalize("  Kerala "));
+        assertEquals(CellNormalizer.NOT_AVAILABLE, cleaning.normalize(" n/a "));
+        assertEquals(CellNormalizer.NOT_AVAILABLE, cleaning.normalize("--"));
+        assertEquals("", cleaning.normalize("   "));
+    }
+
+    @Test
+    void customTokens() {
+        CellNormalizer normalizer = new CellNormalizer(false, Collections.singleton("?"), "", null);
+        assertEquals("", normalizer.normalize("?"));
+        assertEquals(" ? ", normalizer.normalize(" ? "));
+    }
+
+    @Test
+    void repeatedCellsShareOneString() throws Exception {
+        CSVTable table = new CSVTable("state,value\nKerala,1\nKerala,2\n");
+        String first = table.getCell(1, 0);
+        String second = table.getCell(2, 0);
+        assertEquals("Kerala", first);
+        assertSame(first, second);
+    }
+
+    @Test
+    void tablesCanBeReadWithoutInterning() throws Exception {
+        CSVTable table = new CSVTable("state,value\nKerala,1\nKerala,2\n", CellNormalizer.none());
+        assertNotSame(table.getCell(1, 0), table.getCell(2, 0));
+    }
+
+    @Test
+    void tablesCanBeCleaned() throws Exception {
+        CSVTable table = new CSVTable("state,value\n Kerala ,N/A\n", CellNormalizer.cleaning());
+        assertEquals("Kerala", table.getCell(1, 0));
+        assertEquals(CellNormalizer.NOT_AVAILABLE, table.getCell(1, 1));
+    }
+
+    @Test
+    void internPoolIsBounded() {
+        InternPool pool = new InternPool(3);
+        assertEquals(4, pool.getSize());
+        String first = pool.intern(new String("a"));
+        assertSame(first, pool.intern(new String("a")));
+        for (int i = 0; i < 1000; i++) {
+            pool.intern("value" + i);
+        }
+        assertEquals(4, pool.getSize());
+        assertEquals("a", pool.intern(new String("a")));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import org.junit.jupiter.api.Test;
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataPointCursorTest {
+    private static final String TABLE = """
+            State,Indicator,MMR,IMR
+            Karnataka,Rural,1.3,2.5
+            Kerala,Urban,0.9,NA
+            """;
+    private static final String DESCRIPTION = """
+            {
+                "fields": [
+                    {"field": "entity.state", "range": "A2:A"},
+                    {"field": "settlement", "range": "B2:B"},
+                    {"field": "indicator", "range": "C1:1"},
+                    {"field": "source", "value": "NFHS"},
+                    {"field": "value", "range": "C2:"}
+                ]
+            }
+            """;
+
+    @Test
+    void visitsTheSamePointsAsTheAdapter() throws Exception {
+        TableToDatasetAdapter adapter = new TableToDatasetAdapter(new CSVTable(TABLE), TableDescription.fromString(DESCRIPTION), true);
+
+        List<DataPoint> visited = new ArrayList<>();
+        DataPointCursor cursor = adapter.cursor();
+        while (cursor.next()) {
+            Map<String, String> fields = new HashMap<>();
+            cursor.forEachField(fields::put);
+            assertEquals(fields.get("indicator"), cursor.get("indicator"));
+            assertEquals(fields.get("value"), cursor.getValue());
+            visited.add(new DataPoint(fields));
+        }
+
+        assertEquals(4, visited.size());
+        assertEquals(adapter.getData(), visited);
+        assertTrue(visited.contains(DataPoint.of("entity.state", "Kerala", "settlement", "Urban", "indicator", "IMR",
+                "source", "NFHS", "value", "NA", "meta.dataFileType", "table",
+                "meta.addressInDataFile.row", "2", "meta.addressInDataFile.column", "3")));
+    }
+
+    @Test
+    void visitsCellsInOverlappingRangesOnce() throws Exception {
+        String description = """
+                {
+                    "fields": [
+                        {"field": "indicator", "range": "C1:1"},
+                        {"field": "value", "ranges": ["C2:D2", "C2:C3"]}
+                    ]
+                }
+                """;
+        TableToDatasetAdapter adapter = new TableToDatasetAdapter(new CSVTable(TABLE), TableDescription.fromString(description));
+
+        List<String> cells = new ArrayList<>();
+        DataPointCursor cursor = adapter.cursor();
+        while (cursor.next()) {
+            cells.add(cursor.getRow() + ":" + cursor.getColumn());
+        }
+
+        assertEquals(List.of("1:2", "1:3", "2:2"), cells);
+        assertEquals(3, adapter.getNumberOfDataPoints());
+    }
+
+    @Test
+    void isOnlyValidOnAPoint() throws Exception {
+        DataPointCursor cursor = new TableToDatasetAdapter(new CSVTable(TABLE), TableDescription.fromString(DESCRIPTION)).cursor();
+
+        assertThrows(IllegalStateException.class, cursor::getValue);
+        while (cursor.next()) {
+            assertNotNull(cursor.get("entity.state"));
+            assertNull(cursor.get("meta.addressInDataFile.row"));
+        }
+        assertThrows(IllegalStateException.class, () -> cursor.get("value"));
+    }
+
+    @Test
+    void allocatesNothingPerPoint() throws Exception {
+        StringBuilder csv = new StringBuilder("State,Indicator,MMR,IMR\n");
+        for (int row = 0; row < 20_000; row++) {
+            csv.append("State ").append(row % 30).append(",Rural,").append(row).append(",1\n");
+        }
+        TableToDatasetAdapter adapter = new TableToDatasetAdapter(new CSVTable(csv.toString()), TableDescription.fromString(DESCRIPTION));
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long[] lengths = new long[1];
+        for (int round = 0; round < 3; round++) {
+            DataPointCursor cursor = adapter.cursor();
+            long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            while (cursor.next()) {
+                lengths[0] += cursor.get("entity.state").length() + cursor.getValue().length();
+            }
+            long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+            assertTrue(allocated < 40_000, "Allocated " + allocated + " bytes for 40000 points");
+        }
+        assertTrue(lengths[0] > 0);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import org.junit.jupiter.api.Test;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DescriptionExplainerTest {
+    private static final String CSV = """
+            State,MMR - Urban,MMR - Rural
+            Kerala,1,NA
+            Karnataka,2,
+            """;
+    private static final String DESCRIPTION = """
+            {
+                "fields": [
+                    {"field": "entity.state", "range": "A2:A"},
+                    {"field": "indicator", "range": "B1:1", "pattern": "(.*) - .*"},
+                    {"field": "settlement", "range": "B1:1", "pattern": ".* - (.*)"},
+                    {"field": "unit", "range": "B1:1", "pattern": "([A-Z]+)[^A-Z]"},
+                    {"field": "source", "value": "survey"},
+                    {"field": "value", "range": "B2:"}
+                ]
+            }
+            """;
+
+    @Test
+    void explainsRangesAndExtractionWithoutRunningIt() throws Exception {
+        Explanation explanation = DescriptionExplainer.explain(TableDescription.fromString(DESCRIPTION), new CSVTable(CSV));
+
+        List<PatternExplanation> patterns = explanation.getPatterns();
+        assertEquals(6, patterns.size());
+
+        PatternExplanation state = patterns.get(0);
+        assertEquals("A2:A", state.getRange());
+        assertEquals("A2:A3", state.getResolvedRange());
+        assertEquals(TableRangeReference.RangeType.COLUMN_ONLY, state.getRangeType());
+        assertEquals(2, state.getCells());
+
+        PatternExplanation indicator = patterns.get(1);
+        assertEquals("B1:C1", indicator.getResolvedRange());
+        assertFalse(indicator.isUsesRegex());
+        assertTrue(indicator.isSharedScan());
+        assertTrue(indicator.getExtraction().startsWith("split"));
+        assertTrue(patterns.get(3).isUsesRegex());
+
+        assertEquals(PatternExplanation.Role.CONSTANT, patterns.get(4).getRole());
+        assertEquals(PatternExplanation.Role.VALUE, patterns.get(5).getRole());
+        assertEquals(4, explanation.getEstimatedDataPoints());
+        assertNull(indicator.getMatches());
+        assertNull(explanation.getDataPoints());
+    }
+
+    @Test
+    void analyzeMeasuresMatchesAndTheWholeExtraction() throws Exception {
+        Explanation explanation = DescriptionExplainer.analyze(TableDescription.fromString(DESCRIPTION), new CSVTable(CSV));
+
+        PatternExplanation indicator = explanation.getPatterns().get(1);
+        assertEquals(2, indicator.getMatches());
+        assertEquals(0, indicator.getNulls());
+        assertNotNull(indicator.getNanos());
+        PatternExplanation values = explanation.getPatterns().get(5);
+        assertEquals(3, values.getMatches());
+        assertEquals(1, values.getNulls());
+        assertEquals(4, explanation.getDataPoints());
+        assertTrue(explanation.toString().startsWith("EXPLAIN ANALYZE"));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import org.junit.jupiter.api.Test;
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiDescriptionExtractorTest {
+    private static final String TABLE = """
+            State,MMR - Rural,MMR - Urban,Population
+            Karnataka,1.3,2.5,61
+            Kerala,0.9,1.1,33
+            """;
+    private static final String MORTALITY = """
+            {
+                "fields": [
+                    {"field": "entity.state", "range": "A2:A"},
+                    {"field": "indicator", "range": "B1:C1", "pattern": "(.*) - .*"},
+                    {"field": "settlement", "range": "B1:C1", "pattern": ".* - (.*)"},
+                    {"field": "value", "range": "B2:C"}
+                ]
+            }
+            """;
+    private static final String POPULATION = """
+            {
+                "fields": [
+                    {"field": "entity.state", "range": "A2:A"},
+                    {"field": "indicator", "range": "D1"},
+                    {"field": "value", "range": "D2:D"}
+                ]
+            }
+            """;
+
+    /**
+     * Counts how often each range is read
+     */
+    private static class CountingTable implements Table {
+        private final Table table;
+        private final Map<TableRangeReference, Integer> reads = new HashMap<>();
+
+        CountingTable(Table table) {
+            this.table = table;
+        }
+
+        @Override
+        public List<List<String>> getTable() {
+            return table.getTable();
+        }
+
+        @Override
+        public List<String> getRow(int rowNumber) {
+            return table.getRow(rowNumber);
+        }
+
+        @Override
+        public List<String> getColumn(int columnNumber) {
+            return table.getColumn(columnNumber);
+        }
+
+        @Override
+        public String getCell(int rowNumber, int columnNumber) {
+            return table.getCell(rowNumber, columnNumber);
+        }
+
+        @Override
+        public void forEachCell(TableRangeReference rangeReference, CellVisitor visitor) {
+            reads.merge(rangeReference, 1, Integer::sum);
+            table.forEachCell(rangeReference, visitor);
+        }
+
+        @Override
+        public int getNumberOfRows() {
+            return table.getNumberOfRows();
+        }
+
+        @Override
+        public int getNumberOfColumns() {
+            return table.getNumberOfColumns();
+        }
+    }
+
+    private static List<TableDescription> descriptions() throws Exception {
+        return List.of(TableDescription.fromString(MORTALITY), TableDescription.fromString(POPULATION));
+    }
+
+    @Test
+    void givesTheSameDatasetsAsSeparateAdapters() throws Exception {
+        Table table = new CSVTable(TABLE);
+        List<TableToDatasetAdapter> datasets = new MultiDescriptionExtractor(table, descriptions(), true).getDatasets();
+
+        assertEquals(2, datasets.size());
+        assertEquals(new TableToDatasetAdapter(table, descriptions().get(0), true).getData(), datasets.get(0).getData());
+        assertEquals(new TableToDatasetAdapter(table, descriptions().get(1), true).getData(), datasets.get(1).getData());
+        assertTrue(datasets.get(0).getData().contains(DataPoint.of("entity.state", "Kerala", "indicator", "MMR",
+                "settlement", "Urban", "value", "1.1", "meta.dataFileType", "table",
+                "meta.addressInDataFile.row", "2", "meta.addressInDataFile.column", "2")));
+    }
+
+    @Test
+    void readsSharedRangesOnce() throws Exception {
+        CountingTable table = new CountingTable(new CSVTable(TABLE));
+        new MultiDescriptionExtractor(table, descriptions());
+
+        assertEquals(1, table.reads.get(new TableRangeReference("A2:A")));
+        assertEquals(1, table.reads.get(new TableRangeReference("B1:C1")));
+        assertEquals(1, table.reads.get(new TableRangeReference("D1")));
+    }
+
+    @Test
+    void routesPointsToTheSinkOfTheirDescription() throws Exception {
+        MultiDescriptionExtractor extractor = new MultiDescriptionExtractor(new CSVTable(TABLE), descriptions());
+        List<DataPoint> mortality = new ArrayList<>();
+        List<DataPoint> population = new ArrayList<>();
+        List<String> order = new ArrayList<>();
+        List<Consumer<DataPoint>> sinks = List.of(
+                dataPoint -> { mortality.add(dataPoint); order.add(dataPoint.getAsMap().get("value")); },
+                dataPoint -> { population.add(dataPoint); order.add(dataPoint.getAsMap().get("value")); });
+
+        extractor.extractTo(sinks);
+
+        assertEquals(extractor.getDatasets().get(0).getData(), mortality);
+        assertEquals(extractor.getDatasets().get(1).getData(), population);
+        assertEquals(List.of("1.3", "2.5", "61", "0.9", "1.1", "33"), order);
+    }
+
+    @Test
+    void sharingARangeDoesNotChangeAnyDescriptionsPoints() throws Exception {
+        Table table = new CSVTable("h,x,,z\nr,1,2,3\n");
+        List<TableDescription> descriptions = List.of(
+                TableDescription.fromString("""
+                        {
+                            "fields": [
+                                {"field": "head", "range": "B1:1", "skipEmptyCells": true},
+                                {"field": "value", "range": "B2:"}
+                            ]
+                        }
+                        """),
+                TableDescription.fromString("""
+                        {
+                            "fields": [
+                                {"field": "head", "range": "B1:1"},
+                                {"field": "value", "range": "B2:"}
+                            ]
+                        }
+                        """));
+
+        List<TableToDatasetAdapter> shared = new MultiDescriptionExtractor(table, descriptions).getDatasets();
+
+        for (int i = 0; i < descriptions.size(); i++) {
+            assertEquals(new TableToDatasetAdapter(table, descriptions.get(i)).getData(), shared.get(i).getData());
+        }
+        assertTrue(shared.get(0).getData().contains(DataPoint.of("value", "2")));
+        assertTrue(shared.get(1).getData().contains(DataPoint.of("head", "", "value", "2")));
+    }
+
+    @Test
+    void needsASinkPerDescription() throws Exception {
+        MultiDescriptionExtractor extractor = new MultiDescriptionExtractor(new CSVTable(TABLE), descriptions());
+        assertThrows(IllegalArgumentException.class, () -> extractor.extractTo(List.of(dataPoint -> { })));
+    }
+}
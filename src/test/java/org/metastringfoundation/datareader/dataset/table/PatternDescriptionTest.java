@@ -0,0 +1,45 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternDescriptionTest {
+
+    @Test
+    void extractedValuesAreRemembered() {
+        PatternDescription patternDescription = new PatternDescription(new TableRangeReference("B1:1"), null, "(.*) - .*", null, "IND ");
+
+        assertEquals("IND MMR", patternDescription.extractValue("MMR - Urban"));
+        assertEquals("IND MMR", patternDescription.extractValue("MMR - Urban"));
+        assertNull(patternDescription.extractValue("U5MR"));
+        assertNull(patternDescription.extractValue("U5MR"));
+
+        assertEquals(2, patternDescription.getExtractionCacheStats().hitCount());
+        assertEquals(2, patternDescription.getExtractionCacheStats().missCount());
+    }
+
+    @Test
+    void changingThePrefixForgetsOldValues() {
+        PatternDescription patternDescription = new PatternDescription(new TableRangeReference("A2:A"), null, null, null, "old ");
+        assertEquals("old Kannur", patternDescription.extractValue("Kannur"));
+        patternDescription.setPrefix("new ");
+        assertEquals("new Kannur", patternDescription.extractValue("Kannur"));
+    }
+}
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class QueryableFieldsTest {
 
@@ -59,4 +60,38 @@ class QueryableFieldsTest {
         Map<String, String> expected = Map.of("indicator", "MM 1");
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void patternsSharingARangeGetTheirOwnValues() throws DatasetIntegrityError, IOException {
+        Table table = new CSVTable("""
+                district,MMR - Urban,MMR - Rural,U5MR
+                somewhere,1,2,3
+                """);
+        TableRangeReference header = new TableRangeReference("B1:1");
+        FieldDescription indicator = new FieldDescription("indicator", null, header, null, "(.*) - .*", null, null);
+        FieldDescription settlement = new FieldDescription("settlement", null, header, null, ".* - (.*)", null, null);
+        FieldDescription sameIndicator = new FieldDescription("sameIndicator", null, header, null, "(.*) - .*", null, null);
+        QueryableFields queryableFields = new QueryableFields(List.of(indicator, settlement, sameIndicator), table);
+
+        assertEquals(Map.of("indicator", "MMR", "settlement", "Rural", "sameIndicator", "MMR"), queryableFields.queryFieldsAt(1, 2));
+        assertEquals(Map.of(), queryableFields.queryFieldsAt(1, 3));
+    }
+
+    @Test
+    void aFieldGivenTwiceKeepsItsLastValueOnEveryPath() throws DatasetIntegrityError, IOException {
+        Table table = new CSVTable("""
+                district,mm1,mm2
+                somewhere,1,2
+                """);
+        FieldDescription everyColumn = new FieldDescription("indicator", null, new TableRangeReference("B1:1"), null, null, "first", null);
+        FieldDescription lastColumn = new FieldDescription("indicator", null, new TableRangeReference("C1"), null, null, "second", null);
+        FieldDescription value = new FieldDescription("value", null, new TableRangeReference("C2"), null, null, null, null);
+        QueryableFields queryableFields = new QueryableFields(List.of(everyColumn, lastColumn, value), table);
+
+        DataPointCursor cursor = new DataPointCursor(queryableFields, false);
+        assertTrue(cursor.next());
+        assertEquals("second", cursor.get("indicator"));
+        assertEquals("second", cursor.toDataPoint().get("indicator"));
+        assertEquals("second", queryableFields.queryFieldsAt(1, 2).get("indicator"));
+    }
+}
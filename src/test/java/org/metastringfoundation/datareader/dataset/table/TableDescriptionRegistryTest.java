@@ -0,0 +1,84 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metastringfoundation.data.DatasetIntegrityError;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableDescriptionRegistryTest {
+    private static final String DESCRIPTION = """
+            {
+                "fields": [
+                    {
+                        "field": "x",
+                        "range": "B1:1",
+                        "pattern": "(.*) - .*"
+                    }, {
+                        "field": "value",
+                        "range": "B2:"
+                    }
+                ]
+            }
+            """;
+
+    @Test
+    void repeatedLookupsReturnTheSameCompiledDescription(@TempDir Path directory) throws IOException, DatasetIntegrityError {
+        Path path = Files.writeString(directory.resolve("description.json"), DESCRIPTION);
+        TableDescriptionRegistry registry = new TableDescriptionRegistry();
+
+        TableDescription first = registry.get(path);
+        TableDescription second = registry.get(path);
+
+        assertSame(first, second);
+        assertSame(first.getExtractionPlan(), second.getExtractionPlan());
+        assertSame(registry.get(DESCRIPTION), registry.get(DESCRIPTION));
+        assertEquals(first, registry.get(DESCRIPTION));
+        assertEquals(3, registry.stats().hitCount());
+        assertEquals(2, registry.stats().missCount());
+    }
+
+    @Test
+    void editedFilesAreReadAgain(@TempDir Path directory) throws IOException, DatasetIntegrityError {
+        Path path = Files.writeString(directory.resolve("description.json"), DESCRIPTION);
+        TableDescriptionRegistry registry = new TableDescriptionRegistry();
+        TableDescription original = registry.get(path);
+
+        Files.writeString(path, DESCRIPTION.replace("\"x\"", "\"y\""));
+        Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 1000));
+
+        TableDescription edited = registry.get(path);
+        assertNotSame(original, edited);
+        assertEquals("y", edited.getFieldDescriptionList().get(0).getField());
+    }
+
+    @Test
+    void invalidDescriptionsAreReported() {
+        TableDescriptionRegistry registry = new TableDescriptionRegistry();
+        assertThrows(DatasetIntegrityError.class, () -> registry.get("""
+                { "fields": [ { "field": "x", "range": "A1:B2" } ] }
+                """));
+        assertThrows(IOException.class, () -> registry.get("{ not json"));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.offheap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTableTest {
+    private static final String CSV = """
+            State,District,MMR
+            Karnataka,Bengaluru,1.3
+            ಕರ್ನಾಟಕ,ಮೈಸೂರು,NA
+            Karnataka,,NA
+            """;
+
+    @Test
+    void readsTheSameCellsAsCSVTable(@TempDir Path directory) throws Exception {
+        Path csv = Files.writeString(directory.resolve("data.csv"), CSV);
+        Table expected = CSVTable.fromPath(csv);
+
+        try (OffHeapTable table = OffHeapTable.fromPath(csv)) {
+            assertEquals(expected.getNumberOfRows(), table.getNumberOfRows());
+            assertEquals(expected.getNumberOfColumns(), table.getNumberOfColumns());
+            assertEquals(expected.getTable(), table.getTable());
+            assertEquals(expected.getColumn(1), table.getColumn(1));
+            assertEquals(expected.getRange(new TableRangeReference("A2:")), table.getRange(new TableRangeReference("A2:")));
+            assertTrue(table.getAllocatedBytes() > 0);
+        }
+    }
+
+    @Test
+    void readsFilesThatAreNotValidUtf8LikeCSVTable(@TempDir Path directory) throws Exception {
+        Path csv = Files.write(directory.resolve("latin1.csv"), new byte[]{'a', ',', 'b', '\n', 'c', 'a', 'f', (byte) 0xE9, ',', '1', '\n'});
+
+        try (OffHeapTable table = OffHeapTable.fromPath(csv)) {
+            assertEquals(CSVTable.fromPath(csv).getTable(), table.getTable());
+        }
+    }
+
+    @Test
+    void producesTheSameDataPoints() throws Exception {
+        TableDescription description = TableDescription.fromString("""
+                {
+                  "fields": [
+                    {"range": "A2:A", "field": "entity.state"},
+                    {"range": "B2:B", "field": "entity.district"},
+                    {"range": "C1", "field": "indicator"},
+                    {"range": "C2:C", "field": "value"}
+                  ]
+                }
+                """);
+
+        try (OffHeapTable table = OffHeapTable.fromString(CSV, OffHeapTable.UNLIMITED)) {
+            assertEquals(
+                    new TableToDatasetAdapter(new CSVTable(CSV), description).getData(),
+                    new TableToDatasetAdapter(table, description).getData()
+            );
+        }
+    }
+
+    @Test
+    void keepsCellsThatSpillIntoANewChunk() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int row = 0; row < 70_000; row++) {
+            csv.append(row).append(",cell ").append(row).append('\n');
+        }
+
+        try (OffHeapTable table = OffHeapTable.fromString(csv.toString(), OffHeapTable.UNLIMITED)) {
+            assertEquals(70_000, table.getNumberOfRows());
+            assertEquals("cell 69999", table.getCell(69_999, 1));
+            List<String> visited = new ArrayList<>();
+            table.forEachCell(new TableRangeReference("B65535:B65537"), (row, column, value) -> visited.add(value.toString()));
+            assertEquals(List.of("cell 65534", "cell 65535", "cell 65536"), visited);
+        }
+    }
+
+    @Test
+    void refusesToGrowBeyondTheCap() {
+        assertThrows(IOException.class, () -> OffHeapTable.fromString(CSV, 1024));
+    }
+
+    @Test
+    void cannotBeReadAfterClose() throws Exception {
+        OffHeapTable table = OffHeapTable.fromString(CSV, OffHeapTable.UNLIMITED);
+        table.close();
+
+        assertEquals(0, table.getAllocatedBytes());
+        assertThrows(IllegalStateException.class, () -> table.getCell(0, 0));
+        assertThrows(IllegalStateException.class, () -> table.getRange(new TableRangeReference("A1:")));
+        table.close();
+    }
+}
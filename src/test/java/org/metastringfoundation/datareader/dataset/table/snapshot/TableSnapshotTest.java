@@ -0,0 +1,75 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableSnapshotTest {
+
+    @Test
+    void reloadsFromAFreshSnapshot(@TempDir Path directory) throws Exception {
+        Path csv = Files.writeString(directory.resolve("data.csv"), """
+                State,District,MMR
+                Karnataka,Bengaluru,1.3
+                ಕರ್ನಾಟಕ,ಮೈಸೂರು,NA
+                Karnataka,,NA
+                """);
+
+        Table parsed = CSVTable.load(csv);
+        Table reloaded = CSVTable.load(csv);
+
+        assertTrue(parsed instanceof CSVTable);
+        assertTrue(reloaded instanceof SnapshotTable);
+        assertEquals(parsed.getTable(), reloaded.getTable());
+        assertEquals(parsed.getColumn(1), reloaded.getColumn(1));
+        assertEquals(parsed.getRange(new TableRangeReference("B2:")), reloaded.getRange(new TableRangeReference("B2:")));
+    }
+
+    @Test
+    void ignoresASnapshotOfAnOlderFile(@TempDir Path directory) throws Exception {
+        Path csv = Files.writeString(directory.resolve("data.csv"), "a,b\n1,2\n");
+        CSVTable.load(csv);
+        Files.writeString(csv, "a,b\n1,3\n");
+
+        Table table = CSVTable.load(csv);
+
+        assertTrue(table instanceof CSVTable);
+        assertEquals("3", table.getCell(1, 1));
+        assertEquals("3", CSVTable.load(csv).getCell(1, 1));
+    }
+
+    @Test
+    void fileEditedWhileBeingParsedLeavesAStaleSnapshot(@TempDir Path directory) throws Exception {
+        Path csv = Files.writeString(directory.resolve("data.csv"), "a,b\n1,2\n");
+        Path snapshot = TableSnapshot.snapshotPathFor(csv);
+        TableSnapshot.Source beforeParsing = TableSnapshot.Source.of(csv);
+        Files.writeString(csv, "a,b\n1,3\n");
+        TableSnapshot.write(CSVTable.fromPath(csv), beforeParsing, snapshot);
+
+        assertTrue(TableSnapshot.openIfFresh(snapshot, TableSnapshot.Source.of(csv)).isEmpty());
+        assertEquals("3", CSVTable.load(csv).getCell(1, 1));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.sparse;
+
+import org.junit.jupiter.api.Test;
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.table.TableCell;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseTableTest {
+    private static final String TABLE = """
+            State,A,B,C,D
+            Karnataka,,1.3,,
+            Kerala,,,,0.9
+            Goa,,,,
+            """;
+    private static final String DESCRIPTION = """
+            {
+                "fields": [
+                    {"field": "entity.state", "range": "A2:A"},
+                    {"field": "indicator", "range": "B1:1"},
+                    {"field": "value", "range": "B2:", "skipEmptyCells": true}
+                ]
+            }
+            """;
+
+    @Test
+    void readsLikeADenseTable() throws Exception {
+        SparseTable sparse = SparseTable.fromString(TABLE);
+        CSVTable dense = new CSVTable(TABLE);
+
+        assertEquals(dense.getNumberOfRows(), sparse.getNumberOfRows());
+        assertEquals(dense.getNumberOfColumns(), sparse.getNumberOfColumns());
+        assertEquals(dense.getTable(), sparse.getTable());
+        assertEquals(dense.getColumn(4), sparse.getColumn(4));
+        TableRangeReference range = new TableRangeReference("B2:E4");
+        assertEquals(dense.getRange(range), sparse.getRange(range));
+        assertEquals(dense.getTable(), SparseTable.of(dense).getTable());
+    }
+
+    @Test
+    void holdsOnlyNonEmptyCells() throws Exception {
+        assertEquals(10, SparseTable.fromString(TABLE).getNumberOfNonEmptyCells());
+    }
+
+    @Test
+    void visitsOnlyNonEmptyCells() throws Exception {
+        SparseTable table = SparseTable.fromString(TABLE);
+        List<TableCell> cells = new ArrayList<>();
+        table.forEachNonEmptyCell(new TableRangeReference("B2:E4"),
+                (row, column, value) -> cells.add(new TableCell(row, column, value.toString())));
+
+        assertEquals(List.of(new TableCell(1, 2, "1.3"), new TableCell(2, 4, "0.9")), cells);
+        assertEquals(4, table.nextNonEmptyColumn(2, 1, 4));
+        assertEquals(-1, table.nextNonEmptyColumn(2, 1, 3));
+        assertEquals(-1, table.nextNonEmptyColumn(3, 1, 4));
+    }
+
+    @Test
+    void findsTheSameNonEmptyCellsAsADenseTable() throws Exception {
+        List<TableCell> sparseCells = new ArrayList<>();
+        List<TableCell> denseCells = new ArrayList<>();
+        TableRangeReference range = new TableRangeReference("A1:D3");
+        SparseTable.fromString(TABLE).forEachNonEmptyCell(range, (row, column, value) -> sparseCells.add(new TableCell(row, column, value.toString())));
+        new CSVTable(TABLE).forEachNonEmptyCell(range, (row, column, value) -> denseCells.add(new TableCell(row, column, value.toString())));
+        assertEquals(denseCells, sparseCells);
+    }
+
+    @Test
+    void rejectsRaggedTables() {
+        assertThrows(DatasetIntegrityError.class, () -> SparseTable.fromString("a,b\nc\n"));
+    }
+
+    @Test
+    void skipsEmptyValueCellsWhenAsked() throws Exception {
+        TableDescription description = TableDescription.fromString(DESCRIPTION);
+        TableToDatasetAdapter sparse = new TableToDatasetAdapter(SparseTable.fromString(TABLE), description);
+        TableToDatasetAdapter dense = new TableToDatasetAdapter(new CSVTable(TABLE), description);
+
+        assertEquals(2, sparse.getNumberOfDataPoints());
+        assertEquals(new HashSet<>(dense.getData()), new HashSet<>(sparse.getData()));
+        assertTrue(sparse.getData().contains(DataPoint.of("entity.state", "Kerala", "indicator", "D", "value", "0.9")));
+    }
+
+    @Test
+    void skipsEmptyCellsPerFieldWhenARangeIsShared() throws Exception {
+        String table = "h,x,,z\nr,1,2,3\n";
+        TableDescription description = TableDescription.fromString("""
+                {
+                    "fields": [
+                        {"field": "head", "range": "B1:1", "skipEmptyCells": true},
+                        {"field": "label", "range": "B1:1"},
+                        {"field": "value", "range": "B2:"}
+                    ]
+                }
+                """);
+
+        for (TableToDatasetAdapter adapter : List.of(new TableToDatasetAdapter(new CSVTable(table), description),
+                new TableToDatasetAdapter(SparseTable.fromString(table), description))) {
+            assertTrue(adapter.getData().contains(DataPoint.of("label", "", "value", "2")));
+            assertTrue(adapter.getData().contains(DataPoint.of("head", "x", "label", "x", "value", "1")));
+        }
+    }
+
+    @Test
+    void keepsEmptyValueCellsByDefault() throws Exception {
+        TableDescription description = TableDescription.fromString(DESCRIPTION.replace(", \"skipEmptyCells\": true", ""));
+        TableToDatasetAdapter adapter = new TableToDatasetAdapter(SparseTable.fromString(TABLE), description);
+
+        assertEquals(12, adapter.getNumberOfDataPoints());
+        assertEquals(12, adapter.getData().size());
+    }
+}
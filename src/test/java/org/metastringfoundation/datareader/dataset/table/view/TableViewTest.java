@@ -0,0 +1,121 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.table.view;
+
+import org.junit.jupiter.api.Test;
+import org.metastringfoundation.datareader.dataset.table.Table;
+import org.metastringfoundation.datareader.dataset.table.TableCell;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableRangeReference;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableViewTest {
+    private static final String TABLE = """
+            Health indicators,,,
+            ,,,
+            State,MMR,IMR,
+            Karnataka,1.3,2.5,
+            Kerala,0.9,,x
+            """;
+    private static final String TRANSPOSED = """
+            State,Karnataka,Kerala
+            MMR,1.3,0.9
+            IMR,2.5,
+            """;
+    private static final String DESCRIPTION = """
+            {
+                "fields": [
+                    {"field": "entity.state", "range": "A2:A"},
+                    {"field": "indicator", "range": "B1:1"},
+                    {"field": "value", "range": "B2:"}
+                ]
+            }
+            """;
+
+    @Test
+    void subTableShowsOnlyItsRange() throws Exception {
+        Table table = new CSVTable(TABLE);
+        Table sub = new SubTable(table, "A3:C5");
+
+        assertEquals(3, sub.getNumberOfRows());
+        assertEquals(3, sub.getNumberOfColumns());
+        assertEquals(List.of("State", "MMR", "IMR"), sub.getRow(0));
+        assertEquals(List.of("MMR", "1.3", "0.9"), sub.getColumn(1));
+        assertEquals("", sub.getCell(2, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> sub.getCell(0, 3));
+        assertEquals(List.of(new TableCell(1, 1, "1.3"), new TableCell(1, 2, "2.5"), new TableCell(2, 1, "0.9"), new TableCell(2, 2, "")),
+                sub.getRange(new TableRangeReference("B2:")));
+    }
+
+    @Test
+    void openEndedSubTableReachesTheEdge() throws Exception {
+        Table sub = new SubTable(new CSVTable(TABLE), "B4:");
+        assertEquals(2, sub.getNumberOfRows());
+        assertEquals(3, sub.getNumberOfColumns());
+        assertEquals("x", sub.getCell(1, 2));
+    }
+
+    @Test
+    void offsetTableSkipsLeadingRowsAndColumns() throws Exception {
+        Table offset = new OffsetTable(new CSVTable(TABLE), 2, 1);
+
+        assertEquals(3, offset.getNumberOfRows());
+        assertEquals(3, offset.getNumberOfColumns());
+        assertEquals(List.of("MMR", "IMR", ""), offset.getRow(0));
+        assertEquals(2, offset.nextNonEmptyColumn(2, 1, 2));
+        assertEquals(-1, offset.nextNonEmptyColumn(2, 1, 1));
+        assertEquals(List.of(new TableCell(2, 0, "0.9"), new TableCell(2, 2, "x")),
+                offset.getRange(new TableRangeReference("A3:C3")).stream().filter(cell -> !cell.getValue().isEmpty()).toList());
+    }
+
+    @Test
+    void transposedTableSwapsRowsAndColumns() throws Exception {
+        Table transposed = new TransposedTable(new CSVTable(TRANSPOSED));
+
+        assertEquals(3, transposed.getNumberOfRows());
+        assertEquals(3, transposed.getNumberOfColumns());
+        assertEquals(List.of("State", "MMR", "IMR"), transposed.getRow(0));
+        assertEquals(List.of("IMR", "2.5", ""), transposed.getColumn(2));
+        assertEquals("0.9", transposed.getCell(2, 1));
+    }
+
+    @Test
+    void extractsFromViewsAsFromCopies() throws Exception {
+        TableDescription description = TableDescription.fromString(DESCRIPTION);
+        Table copy = new CSVTable("State,MMR,IMR\nKarnataka,1.3,2.5\nKerala,0.9,\n");
+        Table slice = new SubTable(new CSVTable(TABLE), "A3:C5");
+        Table transposed = new TransposedTable(new CSVTable(TRANSPOSED));
+
+        HashSet<Object> expected = new HashSet<>(new TableToDatasetAdapter(copy, description).getData());
+        assertEquals(expected, new HashSet<>(new TableToDatasetAdapter(slice, description).getData()));
+        assertEquals(expected, new HashSet<>(new TableToDatasetAdapter(transposed, description).getData()));
+    }
+
+    @Test
+    void csvTableRowsAndColumnsAreReadOnlyViews() throws Exception {
+        CSVTable table = new CSVTable(TABLE);
+        assertEquals(List.of("State", "Karnataka", "Kerala"), table.getColumn(0).subList(2, 5));
+        assertThrows(UnsupportedOperationException.class, () -> table.getRow(0).set(0, "changed"));
+        assertThrows(UnsupportedOperationException.class, () -> table.getTable().remove(0));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.dataset.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternAnalyzerTest {
+
+    @Test
+    void recognizesSplitsAroundADelimiter() {
+        assertSide(DelimiterExtractor.Side.BEFORE_LAST, " - ", "(.*) - .*");
+        assertSide(DelimiterExtractor.Side.BEFORE_LAST, " - ", "^(.*) - ");
+        assertSide(DelimiterExtractor.Side.AFTER_LAST, " - ", ".* - (.*)");
+        assertSide(DelimiterExtractor.Side.AFTER_FIRST, "(", "\\((.*)");
+        assertSide(DelimiterExtractor.Side.AFTER_LEADING, "$", "^\\$(.*)");
+        assertSide(DelimiterExtractor.Side.BEFORE_TRAILING, "%", "(.*)%$");
+        assertSide(DelimiterExtractor.Side.WHOLE, "", "^(.*)$");
+    }
+
+    @Test
+    void leavesEverythingElseToRegex() {
+        for (String regex : List.of(".* - (.*) - .*", "(\\d+) - .*", "(.*) - .*?", ".*", "(.*) | .*", "(?i)(.*)x.*", "\\Q-\\E(.*)")) {
+            assertTrue(PatternAnalyzer.analyze(Pattern.compile(regex)).usesRegex(), regex);
+        }
+        assertTrue(PatternAnalyzer.analyze(Pattern.compile("(.*) - .*", Pattern.CASE_INSENSITIVE)).usesRegex());
+    }
+
+    @Test
+    void givesTheSameResultsAsTheRegex() {
+        List<String> regexes = List.of("(.*) - .*", ".* - (.*)", "(.*) - ", " - (.*)", "^ - (.*)", "(.*) - $", "(.*)--.*", ".*--(.*)", "(.*)", "^(.*)$");
+        Random random = new Random(42);
+        String[] pieces = {"a", "b", " ", "-", " - ", "--", "\n", "\r\n", " ", ""};
+        List<String> inputs = new ArrayList<>(List.of("", " - ", "Karnataka - Bangalore", "MMR - Urban - NFHS", "x\n - y"));
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                input.append(pieces[random.nextInt(pieces.length)]);
+            }
+            inputs.add(input.toString());
+        }
+
+        for (String regex : regexes) {
+            Pattern pattern = Pattern.compile(regex);
+            ValueExtractor extractor = PatternAnalyzer.analyze(pattern);
+            assertFalse(extractor.usesRegex(), regex);
+            for (String input : inputs) {
+                assertEquals(RegexHelper.getFirstMatchOrNull(input, pattern), extractor.extract(input), regex + " on '" + input + "'");
+            }
+        }
+    }
+
+    private void assertSide(DelimiterExtractor.Side side, String delimiter, String regex) {
+        ValueExtractor extractor = PatternAnalyzer.analyze(Pattern.compile(regex));
+        assertTrue(extractor instanceof DelimiterExtractor, regex);
+        assertEquals(side, ((DelimiterExtractor) extractor).getSide(), regex);
+        assertEquals(delimiter, ((DelimiterExtractor) extractor).getDelimiter(), regex);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.events;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metastringfoundation.datareader.cli.BatchConversion;
+import org.metastringfoundation.datareader.dataset.table.TableDescriptionRegistry;
+import org.metastringfoundation.datareader.ingest.IngestionResult;
+import org.metastringfoundation.datareader.output.OutputFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ExtractionEventsTest {
+    private static final String PREFIX = "org.metastringfoundation.datareader.";
+
+    /**
+     * Only meaningful against the packaged jar (see the failsafe plugin in the pom): surefire loads the Java 8
+     * ExtractionEvents, which records nothing.
+     */
+    @Test
+    void conversionIsRecordedByTheFlightRecorder(@TempDir Path directory) throws Exception {
+        assumeTrue(Boolean.getBoolean("datareader.test.packaged"));
+        Path csv = Files.writeString(directory.resolve("data.csv"), """
+                a,b - x,c - y
+                p,1,2
+                q,3,
+                """);
+        Files.writeString(directory.resolve("data.description.json"), """
+                {
+                    "fields": [
+                        {"field": "y", "range": "A2:A"},
+                        {"field": "x", "range": "B1:1", "pattern": "(.*) - .*"},
+                        {"field": "value", "range": "B2:"}
+                    ]
+                }
+                """);
+
+        Path dump = directory.resolve("recording.jfr");
+        List<IngestionResult> results;
+        try (Recording recording = new Recording()) {
+            for (String event : List.of("TableParsed", "DescriptionCompiled", "FieldEvaluated", "DatasetEmitted")) {
+                recording.enable(PREFIX + event).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            BatchConversion conversion = new BatchConversion(List.of(csv), BatchConversion.siblingDescriptions(new TableDescriptionRegistry()), OutputFormat.NDJSON, 1, false);
+            results = conversion.run(new ByteArrayOutputStream());
+            recording.stop();
+            recording.dump(dump);
+        }
+        assertTrue(results.get(0).isSuccessful());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        RecordedEvent tableParsed = only(events, "TableParsed");
+        assertEquals(csv.toString(), tableParsed.getString("source"));
+        assertEquals(3, tableParsed.getInt("rows"));
+        assertEquals(3, tableParsed.getInt("columns"));
+        assertEquals(Files.size(csv), tableParsed.getLong("bytes"));
+
+        assertTrue(named(events, "DescriptionCompiled").stream().allMatch(event -> event.getInt("fields") == 3));
+
+        RecordedEvent headers = named(events, "FieldEvaluated").stream()
+                .filter(event -> "x".equals(event.getString("fields")))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("(.*) - .*", headers.getString("pattern"));
+        assertTrue(headers.getString("range").startsWith("B1"), headers.getString("range"));
+        assertEquals(2, headers.getInt("cells"));
+        assertEquals(2, headers.getInt("matches"));
+        assertEquals(0, headers.getInt("nulls"));
+
+        RecordedEvent datasetEmitted = only(events, "DatasetEmitted");
+        assertEquals(csv.toString(), datasetEmitted.getString("source"));
+        assertEquals(results.get(0).getNumberOfDataPoints(), datasetEmitted.getLong("dataPoints"));
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(PREFIX + name))
+                .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> named = named(events, name);
+        assertEquals(1, named.size(), name + " events");
+        return named.get(0);
+    }
+}
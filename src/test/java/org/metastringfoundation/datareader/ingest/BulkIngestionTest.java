@@ -0,0 +1,130 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BulkIngestionTest {
+
+    @Test
+    void ingestsEveryFileAndReportsFailures(@TempDir Path directory) throws Exception {
+        Path first = Files.writeString(directory.resolve("first.csv"), """
+                a,b,c
+                p,1,2
+                """);
+        Path second = Files.writeString(directory.resolve("second.csv"), """
+                a,b,c
+                q,3,4
+                r,5,6
+                """);
+        Path broken = Files.writeString(directory.resolve("broken.csv"), """
+                a,b,c
+                q,3
+                """);
+        TableDescription description = TableDescription.fromString("""
+                {
+                    "fields": [
+                        {
+                            "field": "y",
+                            "range": "A2:A"
+                        }, {
+                            "field": "x",
+                            "range": "B1:1"
+                        }, {
+                            "field": "value",
+                            "range": "B2:"
+                        }
+                    ]
+                }
+                """);
+
+        Map<Path, List<DataPoint>> received = new ConcurrentHashMap<>();
+        List<IngestionResult> results;
+        try (BulkIngestion ingestion = new BulkIngestion(2, file -> description, (file, dataset) -> received.put(file, dataset.getData()))) {
+            results = ingestion.ingest(List.of(first, second, broken));
+        }
+
+        assertEquals(3, results.size());
+        assertEquals(2, results.get(0).getNumberOfDataPoints());
+        assertEquals(4, results.get(1).getNumberOfDataPoints());
+        assertFalse(results.get(2).isSuccessful());
+        assertTrue(received.get(first).contains(DataPoint.of("x", "c", "y", "p", "value", "2")));
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    void spillsRetainedDataPointsThatDoNotFitTheBudget(@TempDir Path directory) throws Exception {
+        Path dataFile = Files.writeString(directory.resolve("data.csv"), """
+                a,b,c
+                p,1,2
+                q,3,4
+                """);
+        TableDescription description = TableDescription.fromString("""
+                {
+                    "fields": [
+                        {"field": "y", "range": "A2:A"},
+                        {"field": "x", "range": "B1:1"},
+                        {"field": "value", "range": "B2:"}
+                    ]
+                }
+                """);
+
+        Map<Path, ExecutionMode> modes = new ConcurrentHashMap<>();
+        Map<Path, List<DataPoint>> received = new ConcurrentHashMap<>();
+        try (BulkIngestion ingestion = new BulkIngestion(1, file -> description, (file, dataset) -> {
+            modes.put(file, ((PlannedDataset) dataset).getPlan().getMode());
+            received.put(file, dataset.getData());
+        }, false, new ExecutionPlanner(1), false, true)) {
+            ingestion.ingest(List.of(dataFile));
+        }
+
+        assertEquals(ExecutionMode.SPILL, modes.get(dataFile));
+        assertEquals(4, received.get(dataFile).size());
+    }
+
+    /**
+     * Only meaningful against the packaged jar (see the failsafe plugin in the pom): the classes directory surefire
+     * uses never has the classes under META-INF/versions.
+     */
+    @Test
+    void runsOnVirtualThreadsFromTheJarOnJdk21() throws Exception {
+        assumeTrue(Boolean.getBoolean("datareader.test.packaged"));
+        boolean expected = Runtime.version().feature() >= 21;
+
+        assertEquals(expected, IngestionExecutors.usesVirtualThreads());
+        ExecutorService executor = IngestionExecutors.newIngestionExecutor(1);
+        try {
+            String threadClass = executor.submit(() -> Thread.currentThread().getClass().getName()).get();
+            assertEquals(expected, threadClass.contains("VirtualThread"), threadClass);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
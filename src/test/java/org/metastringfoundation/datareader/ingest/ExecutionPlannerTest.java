@@ -0,0 +1,175 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.ingest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.metastringfoundation.datareader.metrics.PipelineMetrics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionPlannerTest {
+    private static final int ROWS = 20_000;
+
+    @TempDir
+    static Path directory;
+    private static Path dataFile;
+    private static TableDescription description;
+    private static List<DataPoint> expected;
+
+    @BeforeAll
+    static void writeDataFile() throws Exception {
+        StringBuilder csv = new StringBuilder("district,indicator 1,indicator 2,indicator 3\n");
+        for (int row = 1; row < ROWS; row++) {
+            csv.append("District ").append(row).append(',').append(row % 97).append(".5,NA,").append(row).append('\n');
+        }
+        dataFile = Files.writeString(directory.resolve("data.csv"), csv);
+        description = TableDescription.fromString("""
+                {
+                    "fields": [
+                        {"field": "entity.district", "range": "A2:A"},
+                        {"field": "indicator", "range": "B1:1"},
+                        {"field": "value", "range": "B2:"}
+                    ]
+                }
+                """);
+        expected = new TableToDatasetAdapter(CSVTable.fromPath(dataFile), description).getData();
+    }
+
+    private static List<DataPoint> read(PlannedDataset dataset) {
+        List<DataPoint> dataPoints = new ArrayList<>();
+        dataset.forEach(dataPoints::add);
+        return dataPoints;
+    }
+
+    @Test
+    void estimatesTheSizeOfTheFileFromASample() throws Exception {
+        FootprintEstimate estimate = new ExecutionPlanner(1).estimate(dataFile, description);
+
+        assertTrue(Files.size(dataFile) > ExecutionPlanner.SAMPLE_BYTES);
+        assertTrue(estimate.isSampled());
+        assertEquals(4, estimate.getColumns());
+        assertEquals(ROWS, estimate.getRows(), ROWS / 20.0);
+        assertEquals(3L * ROWS, estimate.getDataPoints(), 3 * ROWS / 20.0);
+        assertTrue(estimate.getHeapBytes(ExecutionMode.EAGER) > estimate.getHeapBytes(ExecutionMode.LAZY));
+        assertTrue(estimate.getHeapBytes(ExecutionMode.LAZY) > estimate.getHeapBytes(ExecutionMode.STREAMING));
+    }
+
+    @Test
+    void picksTheModeThatFitsTheBudget() throws Exception {
+        FootprintEstimate estimate = new ExecutionPlanner(1).estimate(dataFile, description);
+        long eager = estimate.getHeapBytes(ExecutionMode.EAGER);
+        long lazy = estimate.getHeapBytes(ExecutionMode.LAZY);
+
+        assertEquals(ExecutionMode.EAGER, new ExecutionPlanner(eager).plan(dataFile, description, false).getMode());
+        assertEquals(ExecutionMode.LAZY, new ExecutionPlanner(eager - 1).plan(dataFile, description, false).getMode());
+        assertEquals(ExecutionMode.STREAMING, new ExecutionPlanner(lazy - 1).plan(dataFile, description, false).getMode());
+        assertEquals(ExecutionMode.SPILL, new ExecutionPlanner(eager - 1).plan(dataFile, description, true).getMode());
+    }
+
+    @Test
+    void everyModeGivesTheSameDataPoints() throws Exception {
+        long eager = new ExecutionPlanner(1).estimate(dataFile, description).getHeapBytes(ExecutionMode.EAGER);
+
+        for (ExecutionPlanner planner : List.of(new ExecutionPlanner(eager), new ExecutionPlanner(eager - 1), new ExecutionPlanner(1))) {
+            try (PlannedDataset dataset = planner.open(dataFile, description, false, false)) {
+                assertEquals(expected.size(), dataset.getNumberOfDataPoints(), dataset.getPlan().toString());
+                assertEquals(expected, read(dataset), dataset.getPlan().toString());
+            }
+        }
+        try (PlannedDataset dataset = new ExecutionPlanner(64 * 1024).open(dataFile, description, false, true)) {
+            assertEquals(ExecutionMode.SPILL, dataset.getPlan().getMode());
+            assertEquals(expected, read(dataset));
+        }
+    }
+
+    @Test
+    void readsMostlyEmptyFilesSparsely() throws Exception {
+        StringBuilder csv = new StringBuilder("district");
+        for (int column = 1; column < 200; column++) {
+            csv.append(",indicator ").append(column);
+        }
+        csv.append('\n');
+        for (int row = 1; row < 100; row++) {
+            csv.append("District ").append(row);
+            for (int column = 1; column < 200; column++) {
+                csv.append(',').append(column == row ? "1.5" : "");
+            }
+            csv.append('\n');
+        }
+        Path sparseFile = Files.writeString(directory.resolve("sparse.csv"), csv);
+
+        assertFalse(new ExecutionPlanner(1).estimate(dataFile, description).isSparse());
+        assertTrue(new ExecutionPlanner(1).estimate(sparseFile, description).isSparse());
+        List<DataPoint> dense = new TableToDatasetAdapter(CSVTable.fromPath(sparseFile), description).getData();
+        try (PlannedDataset dataset = new ExecutionPlanner(Long.MAX_VALUE).open(sparseFile, description, false, false)) {
+            assertEquals(ExecutionMode.EAGER, dataset.getPlan().getMode());
+            assertEquals(dense, read(dataset));
+        }
+    }
+
+    @Test
+    void countsOnlyTheFilledCellsOfRangesThatSkipEmptyCells() throws Exception {
+        StringBuilder csv = new StringBuilder("district,indicator 1,indicator 2,indicator 3,indicator 4\n");
+        for (int row = 1; row < 1000; row++) {
+            csv.append("District ").append(row).append(row % 2 == 0 ? ",1,,," : ",,,,").append('\n');
+        }
+        Path halfEmptyColumn = Files.writeString(directory.resolve("half-empty.csv"), csv);
+        TableDescription skipping = TableDescription.fromString("""
+                {
+                    "fields": [
+                        {"field": "entity.district", "range": "A2:A"},
+                        {"field": "indicator", "range": "B1:1"},
+                        {"field": "value", "range": "B2:", "skipEmptyCells": true}
+                    ]
+                }
+                """);
+
+        assertEquals(4 * 999, new ExecutionPlanner(1).estimate(halfEmptyColumn, description).getDataPoints());
+        assertEquals(499, new ExecutionPlanner(1).estimate(halfEmptyColumn, skipping).getDataPoints());
+    }
+
+    @Test
+    void reportsDecisionsThroughMetrics() throws Exception {
+        long before = PipelineMetrics.get().getExecutionModes().getOrDefault("STREAMING", 0L);
+
+        ExecutionPlan plan = new ExecutionPlanner(1).plan(dataFile, description, false);
+
+        assertEquals(before + 1, PipelineMetrics.get().getExecutionModes().get("STREAMING"));
+        assertEquals(plan.getEstimatedHeapBytes(), PipelineMetrics.get().getLastEstimatedFootprintBytes());
+    }
+
+    @Test
+    void parsesSizes() {
+        assertEquals(512L << 20, ExecutionPlanner.parseSize("512m"));
+        assertEquals(2L << 30, ExecutionPlanner.parseSize("2G"));
+        assertEquals(10L << 40, ExecutionPlanner.parseSize("10T"));
+        assertEquals(1000, ExecutionPlanner.parseSize("1000"));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionPlanner.parseSize("lots"));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionPlanner.parseSize("9000000t"));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metastringfoundation.data.DatasetIntegrityError;
+import org.metastringfoundation.datareader.dataset.table.TableDescription;
+import org.metastringfoundation.datareader.dataset.table.TableToDatasetAdapter;
+import org.metastringfoundation.datareader.dataset.table.csv.CSVTable;
+import org.metastringfoundation.datareader.ingest.BulkIngestion;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineMetricsTest {
+
+    @Test
+    void histogramPercentilesAreWithinABucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(100_000, histogram.getMaxNanos());
+        long median = histogram.getPercentileNanos(50);
+        assertTrue(median >= 50_000 && median < 100_000, "median " + median);
+        assertEquals(100_000, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    void extractionIsVisibleOverJmx() throws Exception {
+        PipelineMetrics.registerMBean();
+        PipelineMetrics.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(PipelineMetrics.OBJECT_NAME);
+        long rowsBefore = (Long) server.getAttribute(name, "RowsRead");
+        long pointsBefore = (Long) server.getAttribute(name, "DataPointsEmitted");
+        long cacheMissesBefore = (Long) server.getAttribute(name, "ExtractionCacheMisses");
+
+        CSVTable table = new CSVTable("""
+                a,b - x,c - y
+                p,1,2
+                q,3,4
+                """);
+        TableDescription description = TableDescription.fromString("""
+                {
+                    "fields": [
+                        {"field": "y", "range": "A2:A"},
+                        {"field": "x", "range": "B1:1", "pattern": "(.*) - .*"},
+                        {"field": "value", "range": "B2:"}
+                    ]
+                }
+                """);
+        new TableToDatasetAdapter(table, description).getData();
+
+        assertEquals(rowsBefore + 3, server.getAttribute(name, "RowsRead"));
+        assertEquals(pointsBefore + 4, server.getAttribute(name, "DataPointsEmitted"));
+        // at least the two distinct headers the pattern was applied to
+        assertTrue((Long) server.getAttribute(name, "ExtractionCacheMisses") >= cacheMissesBefore + 2);
+        TabularData stages = (TabularData) server.getAttribute(name, "Stages");
+        CompositeData csvParse = (CompositeData) stages.get(new Object[]{Stage.CSV_PARSE.getMetricName()}).get("value");
+        assertTrue((Long) csvParse.get("count") > 0);
+    }
+
+    @Test
+    void integrityErrorsAreCountedWhenAFileFailsWithOne(@TempDir Path directory) throws Exception {
+        PipelineMetrics metrics = PipelineMetrics.get();
+        long before = metrics.getDatasetIntegrityErrors();
+        new DatasetIntegrityError("thrown and caught without failing anything");
+        assertEquals(before, metrics.getDatasetIntegrityErrors());
+
+        Path broken = Files.writeString(directory.resolve("broken.csv"), "a,b,c\nq,3\n");
+        TableDescription description = TableDescription.fromString("{\"fields\": [{\"field\": \"value\", \"range\": \"B2:\"}]}");
+        try (BulkIngestion ingestion = new BulkIngestion(1, file -> description, (file, dataset) -> dataset.getData())) {
+            assertFalse(ingestion.ingest(List.of(broken)).get(0).isSuccessful());
+        }
+
+        assertEquals(before + 1, metrics.getDatasetIntegrityErrors());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ *    Copyright 2026 Metastring Foundation
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.metastringfoundation.datareader.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.metastringfoundation.data.DataPoint;
+import org.metastringfoundation.datareader.dataset.table.TableDescriptionRegistry;
+import org.metastringfoundation.datareader.output.NdjsonDataPointWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtractionServerTest {
+    private static final String DESCRIPTION = """
+            {
+                "fields": [
+                    {
+                        "field": "y",
+                        "range": "A2:A"
+                    }, {
+                        "field": "x",
+                        "range": "B1:1"
+                    }, {
+                        "field": "value",
+                        "range": "B2:"
+                    }
+                ]
+            }
+            """;
+    private static final String CSV = """
+            a,b,c
+            p,1,2
+            """;
+
+    private ExtractionServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void start() throws Exception {
+        server = new ExtractionServer(new InetSocketAddress("localhost", 0), new TableDescriptionRegistry(), 2, ExtractionServer.DEFAULT_TABLE_CACHE_BYTES);
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.close();
+    }
+
+    private HttpResponse<String> send(String method, String path, String contentType, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void extractsWithARegisteredDescriptionAndKeepsTheTableWarm() throws Exception {
+        assertEquals(204, send("PUT", "/descriptions/simple", "application/json", DESCRIPTION).statusCode());
+
+        HttpResponse<String> first = send("POST", "/extract?description=simple", "text/csv", CSV);
+        HttpResponse<String> second = send("POST", "/extract?description=simple", "text/csv", CSV);
+
+        assertEquals(200, first.statusCode());
+        assertEquals(first.body(), second.body());
+        assertEquals(2, first.body().lines().count());
+        assertTrue(first.body().contains("\"value\":\"2\""));
+        assertEquals(1, server.getTableCacheStats().hitCount());
+    }
+
+    @Test
+    void extractsWithAnInlineDescription() throws Exception {
+        String envelope = "{\"description\": " + DESCRIPTION + ", \"csv\": \"a,b,c\\np,1,2\\n\", \"withAddress\": true}";
+
+        HttpResponse<String> response = send("POST", "/extract", "application/json", envelope);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(2, response.body().lines().count());
+        assertTrue(response.body().contains("\"meta.addressInDataFile.row\""));
+    }
+
+    @Test
+    void reportsUnknownDescriptionsAndBadRequests() throws Exception {
+        assertEquals(404, send("POST", "/extract?description=missing", "text/csv", CSV).statusCode());
+        assertEquals(400, send("POST", "/extract", "text/csv", CSV).statusCode());
+        assertEquals(405, send("POST", "/health", null, "").statusCode());
+    }
+
+    @Test
+    void endsAStreamThatFailsPartWayWithAnErrorRecord() throws Exception {
+        Iterable<DataPoint> failingAfterOne = () -> new Iterator<>() {
+            private boolean given;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public DataPoint next() {
+                if (given) {
+                    throw new IllegalStateException("broken cell");
+                }
+                given = true;
+                return DataPoint.of("value", "1");
+            }
+        };
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        try (NdjsonDataPointWriter writer = new NdjsonDataPointWriter(body)) {
+            assertEquals(1, ExtractionServer.stream(failingAfterOne, writer));
+        }
+
+        List<String> lines = body.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("{\"value\":\"1\"}", lines.get(0));
+        assertEquals("{\"error\":\"java.lang.IllegalStateException: broken cell\"}", lines.get(1));
+    }
+
+    @Test
+    void servesNoMoreRequestsAtOnceThanItsParallelism() throws Exception {
+        try (ExtractionServer serial = new ExtractionServer(new InetSocketAddress("localhost", 0), new TableDescriptionRegistry(), 1, ExtractionServer.DEFAULT_TABLE_CACHE_BYTES)) {
+            serial.start();
+            serial.registerDescription("simple", new TableDescriptionRegistry().get(DESCRIPTION));
+            URI health = URI.create("http://localhost:" + serial.getPort() + "/health");
+            byte[] csv = CSV.getBytes(StandardCharsets.UTF_8);
+
+            try (Socket slowUpload = new Socket("localhost", serial.getPort())) {
+                OutputStream upload = slowUpload.getOutputStream();
+                upload.write(("POST /extract?description=simple HTTP/1.1\r\nHost: localhost\r\nContent-Length: " + csv.length + "\r\n\r\n")
+                        .getBytes(StandardCharsets.US_ASCII));
+                upload.write(csv, 0, 4);
+                upload.flush();
+
+                CompletableFuture<HttpResponse<String>> waiting = client.sendAsync(HttpRequest.newBuilder(health).build(), HttpResponse.BodyHandlers.ofString());
+                assertThrows(TimeoutException.class, () -> waiting.get(500, TimeUnit.MILLISECONDS));
+
+                upload.write(csv, 4, csv.length - 4);
+                upload.flush();
+                assertEquals(200, waiting.get(10, TimeUnit.SECONDS).statusCode());
+            }
+        }
+    }
+}